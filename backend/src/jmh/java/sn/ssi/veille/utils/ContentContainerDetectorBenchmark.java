@@ -0,0 +1,84 @@
+package sn.ssi.veille.utils;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Détection du conteneur principal : ancienne heuristique (un
+ * {@code select("p")} par div) contre {@link ContentContainerDetector}, sur
+ * une page de presse profondément imbriquée (enveloppes, blocs de liens,
+ * commentaires).
+ * <p>
+ * Lancement : {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=ContentContainerDetectorBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentContainerDetectorBenchmark {
+
+    /** Profondeur d'imbrication des div d'enveloppe */
+    @Param({ "10", "60", "200" })
+    private int depth;
+
+    /** Blocs (paragraphes, liens, commentaires) sous l'enveloppe */
+    @Param({ "50", "400" })
+    private int blocks;
+
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        StringBuilder html = new StringBuilder("<html><body>");
+        html.append("<div class=\"wrap\">".repeat(depth));
+        for (int i = 0; i < blocks; i++) {
+            html.append("<div class=\"row\"><div class=\"cell\">");
+            switch (i % 4) {
+                case 0 -> html.append("<p><a href=\"/tag/").append(i).append("\">Rubrique ").append(i)
+                        .append(" de la veille sécurité</a></p>");
+                case 1 -> html.append("<p>Commentaire ").append(i)
+                        .append(" : merci pour cet article, très utile pour notre équipe.</p>");
+                default -> html.append("<p>La vulnérabilité ").append(i)
+                        .append(", corrigée dans la dernière version, permet une exécution de code à distance.</p>");
+            }
+            html.append("</div></div>");
+        }
+        html.append("</div>".repeat(depth)).append("</body></html>");
+        document = Jsoup.parse(html.toString());
+    }
+
+    @Benchmark
+    public Element legacyMostParagraphs() {
+        Element bestDiv = null;
+        int maxParagraphs = 0;
+        for (Element div : document.select("div")) {
+            int pCount = div.select("p").size();
+            if (pCount > maxParagraphs) {
+                maxParagraphs = pCount;
+                bestDiv = div;
+            }
+        }
+        return bestDiv;
+    }
+
+    @Benchmark
+    public Element singlePassScoring() {
+        return ContentContainerDetector.findBest(document.body());
+    }
+}
@@ -0,0 +1,80 @@
+package sn.ssi.veille.utils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Débit du nettoyage de texte : chaînes de replaceAll historiques contre
+ * {@link TextSanitizer}, sur un texte de page extraite (indentation, lignes
+ * vides, tabulations, phrases parasites, quelques scripts).
+ * <p>
+ * Lancement : {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=TextSanitizerBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextSanitizerBenchmark {
+
+    /** Taille du texte en caractères (article RSS → page complète Playwright) */
+    @Param({ "4096", "262144", "2097152" })
+    private int size;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder sb = new StringBuilder(size + 256);
+        while (sb.length() < size) {
+            sb.append("    Une vulnérabilité affecte le composant ").append(random.nextInt(10_000))
+                    .append(",\t\tcorrigée dans la version ").append(random.nextInt(20)).append(".\n");
+            switch (random.nextInt(12)) {
+                case 0 -> sb.append("\n \n\t\n\n");
+                case 1 -> sb.append("Read more about this advisory\n");
+                case 2 -> sb.append("<script>track('view');</script> javascript:void(0)\n");
+                default -> sb.append("Détails : exécution de code à distance sans authentification.\n");
+            }
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public String cleanTextRegex() {
+        String cleaned = text.replaceAll("[\\t\\u00A0]+", " ");
+        cleaned = cleaned.replaceAll("\\n\\s*\\n\\s*\\n+", "\n\n");
+        cleaned = cleaned.replaceAll("(?m)^[ \\t]+$", "");
+        cleaned = cleaned.replaceAll("(?m)^[ \\t]+", "");
+        cleaned = cleaned.replaceAll("(?i)(read more|continue reading|also read|share this post).*", "");
+        return cleaned.trim();
+    }
+
+    @Benchmark
+    public String cleanTextSinglePass() {
+        return TextSanitizer.cleanText(text);
+    }
+
+    @Benchmark
+    public String stripScriptsRegex() {
+        return text.replaceAll("<script.*?>.*?</script>", "").replaceAll("javascript:", "");
+    }
+
+    @Benchmark
+    public String stripScriptsSinglePass() {
+        return TextSanitizer.stripScripts(text);
+    }
+}
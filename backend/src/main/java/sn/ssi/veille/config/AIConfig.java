@@ -18,4 +18,53 @@ public class AIConfig {
     private String model;
     private String embeddingModel;
     private Long timeout = 60000L;
+
+    /**
+     * Intervalle de la sonde de santé (GET /v1/models) en arrière-plan.
+     */
+    private long healthCheckIntervalMs = 15_000;
+
+    private long healthCheckTimeoutMs = 2_000;
+
+    /**
+     * Échecs consécutifs de vraies requêtes avant d'ouvrir le disjoncteur.
+     */
+    private int circuitFailureThreshold = 5;
+
+    /**
+     * Durée pendant laquelle le disjoncteur ouvert refuse les requêtes.
+     */
+    private long circuitOpenMs = 30_000;
+
+    /**
+     * Nombre maximal de textes par requête /v1/embeddings.
+     */
+    private int embeddingBatchSize = 64;
+
+    /**
+     * Attente maximale d'un embedding unitaire avant l'envoi de son lot.
+     */
+    private long embeddingBatchLingerMs = 5;
+
+    /**
+     * Cache des embeddings (mémoire + collection embedding_cache).
+     */
+    private boolean embeddingCacheEnabled = true;
+
+    /**
+     * Nombre de vecteurs gardés en mémoire.
+     */
+    private int embeddingCacheSize = 5_000;
+
+    /**
+     * Requêtes simultanées au plus chez le fournisseur (une seule instance
+     * LM Studio sature vite).
+     */
+    private int dispatchMaxConcurrent = 2;
+
+    /**
+     * Requêtes en attente au plus par voie de priorité ; au-delà elles sont
+     * refusées.
+     */
+    private int dispatchMaxQueueDepth = 100;
 }
@@ -16,6 +16,7 @@ public class PromptConfig {
     private Cleaning cleaning = new Cleaning();
     private Summary summary = new Summary();
     private Clustering clustering = new Clustering();
+    private Fused fused = new Fused();
 
     @Data
     public static class Enrichment {
@@ -36,4 +37,9 @@ public class PromptConfig {
     public static class Clustering {
         private String system;
     }
+
+    @Data
+    public static class Fused {
+        private String system;
+    }
 }
@@ -0,0 +1,356 @@
+package sn.ssi.veille.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Paramètres du moteur de collecte (prefix "scraping").
+ */
+@Configuration
+@ConfigurationProperties(prefix = "scraping")
+@Data
+public class ScrapingConfig {
+
+    /**
+     * Nombre maximum de sources scrapées en parallèle (tous hôtes confondus).
+     */
+    private int maxConcurrentSources = 8;
+
+    /**
+     * Nombre maximum de sources scrapées en parallèle sur un même hôte.
+     */
+    private int maxConcurrentPerHost = 2;
+
+    /**
+     * Requêtes simultanées pour le détail des items d'une API (ex: Hacker News).
+     */
+    private int apiFanOutConcurrency = 16;
+
+    /**
+     * Délai maximum par item ; un item trop lent est ignoré.
+     */
+    private long apiItemTimeoutMs = 5_000;
+
+    /**
+     * Entrées consécutives déjà en base après lesquelles la lecture d'un flux
+     * RSS/Atom s'arrête (le reste du flux est plus ancien).
+     */
+    private int feedStopAfterKnownEntries = 3;
+
+    /**
+     * Nombre de jobs de scraping conservés (consultables) en mémoire.
+     */
+    private int maxRetainedJobs = 50;
+
+    /**
+     * Ancienneté maximale (jours) d'un article au contenu identique dont on
+     * réutilise le contenu nettoyé et l'enrichissement.
+     */
+    private int fingerprintReuseDays = 30;
+
+    private Scheduler scheduler = new Scheduler();
+    private Dedup dedup = new Dedup();
+    private Pipeline pipeline = new Pipeline();
+    private BrowserPool browserPool = new BrowserPool();
+    private Nvd nvd = new Nvd();
+    private Throttling throttling = new Throttling();
+    private Journal journal = new Journal();
+    private Fetch fetch = new Fetch();
+    private Strategy strategy = new Strategy();
+    private Proxy proxy = new Proxy();
+    private ExtractionCache extractionCache = new ExtractionCache();
+
+    @Data
+    public static class Scheduler {
+        /**
+         * Active la collecte planifiée (nextSyncAt / frequenceScraping).
+         */
+        private boolean enabled = true;
+
+        /**
+         * Nombre maximum de sources échues lancées par tick.
+         */
+        private int maxSourcesPerTick = 20;
+    }
+
+    @Data
+    public static class Dedup {
+        /**
+         * Volume d'URLs attendu pour dimensionner le filtre de Bloom.
+         */
+        private long expectedUrls = 500_000;
+
+        /**
+         * Taux de faux positifs visé (confirmés ensuite par une requête $in).
+         */
+        private double falsePositiveRate = 0.01;
+    }
+
+    /**
+     * Étages du pipeline d'ingestion : chaque étage a sa file bornée et ses
+     * workers, un étage lent ne ralentit que lui-même.
+     */
+    @Data
+    public static class Pipeline {
+        private StageSettings extract = new StageSettings(8, 200);
+        private StageSettings clean = new StageSettings(2, 100);
+        private StageSettings persist = new StageSettings(2, 200);
+        private StageSettings enrich = new StageSettings(2, 200);
+        private StageSettings cluster = new StageSettings(4, 200);
+        private StageSettings correlate = new StageSettings(2, 200);
+
+        /**
+         * Articles regroupés par le clustering : leurs embeddings partent en
+         * une seule requête.
+         */
+        private int clusterBatchSize = 16;
+
+        /**
+         * Attente maximale pour compléter un lot de clustering.
+         */
+        private long clusterBatchLingerMs = 250;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StageSettings {
+        private int workers = 2;
+        private int queueCapacity = 100;
+    }
+
+    /**
+     * Navigateurs Chromium partagés par le scraping HTML et l'extraction.
+     */
+    @Data
+    public static class BrowserPool {
+        /**
+         * Nombre de navigateurs gardés chauds, soit le nombre maximum de pages
+         * ouvertes en même temps.
+         */
+        private int size = 2;
+
+        /**
+         * Pages servies par un navigateur avant son recyclage.
+         */
+        private int maxPagesPerBrowser = 50;
+
+        /**
+         * Attente maximale d'un navigateur libre.
+         */
+        private long acquireTimeoutMs = 60_000;
+    }
+
+    /**
+     * Collecte incrémentale NIST NVD (API CVE 2.0).
+     */
+    @Data
+    public static class Nvd {
+        /**
+         * Taille de page (maximum accepté par l'API : 2000).
+         */
+        private int resultsPerPage = 2000;
+
+        /**
+         * Profondeur de la première synchronisation, en jours.
+         */
+        private int initialLookbackDays = 7;
+
+        /**
+         * Écart entre deux requêtes sans clé API (5 requêtes / 30 s).
+         */
+        private long requestSpacingMs = 6_000;
+
+        /**
+         * Écart entre deux requêtes avec clé API (50 requêtes / 30 s).
+         */
+        private long requestSpacingWithKeyMs = 600;
+    }
+
+    /**
+     * Limitation de débit et reprises des requêtes sortantes. Le débit par
+     * source et le nombre de reprises viennent de la source elle-même
+     * (rateLimitPerMinute, retryCount).
+     */
+    @Data
+    public static class Throttling {
+        /**
+         * Débit maximum par hôte, toutes sources confondues.
+         */
+        private int perHostPerMinute = 120;
+
+        /**
+         * Débit par hôte spécifique (ex: API sans limite stricte).
+         */
+        private Map<String, Integer> hostLimits = new HashMap<>();
+
+        /**
+         * Reprises pour les requêtes sans source (ex: extraction de contenu).
+         */
+        private int defaultRetries = 2;
+
+        /**
+         * Délai de la première reprise, doublé à chaque tentative.
+         */
+        private long baseBackoffMs = 500;
+
+        /**
+         * Délai maximum entre deux reprises.
+         */
+        private long maxBackoffMs = 30_000;
+    }
+
+    /**
+     * Client HTTP partagé de l'extraction de contenu (connexions réutilisées).
+     */
+    @Data
+    public static class Fetch {
+        private long connectTimeoutMs = 5_000;
+
+        private long requestTimeoutMs = 15_000;
+
+        /**
+         * Taille maximale d'une page décompressée ; au-delà elle est tronquée.
+         */
+        private int maxBodyBytes = 5 * 1024 * 1024;
+
+        /**
+         * Clients (pools de connexions) gardés ouverts pour les proxies.
+         */
+        private int maxProxyClients = 16;
+    }
+
+    /**
+     * Mémoire des stratégies d'extraction par domaine (Jsoup direct, proxy,
+     * Playwright).
+     */
+    @Data
+    public static class Strategy {
+        private boolean enabled = true;
+
+        /**
+         * Tentatives minimum avant de pouvoir sauter une stratégie.
+         */
+        private int minSamples = 5;
+
+        /**
+         * Taux de succès récent en dessous duquel la stratégie est sautée.
+         */
+        private double failureThreshold = 0.25;
+
+        /**
+         * Poids d'une nouvelle tentative dans les moyennes mobiles.
+         */
+        private double ewmaAlpha = 0.3;
+
+        /**
+         * Délai avant de retenter une stratégie sautée.
+         */
+        private int reprobeAfterMinutes = 60;
+
+        private long flushIntervalMs = 30_000;
+    }
+
+    /**
+     * Santé des proxies rotatifs.
+     */
+    @Data
+    public static class Proxy {
+        /**
+         * Poids d'une nouvelle mesure dans le score (succès, latence).
+         */
+        private double ewmaAlpha = 0.3;
+
+        /**
+         * Quarantaine après un premier échec, doublée à chaque échec répété.
+         */
+        private long baseQuarantineMs = 30_000;
+
+        private long maxQuarantineMs = 30 * 60 * 1000L;
+
+        /**
+         * Teste les proxies avant de les ajouter à la rotation.
+         */
+        private boolean validationEnabled = true;
+
+        /**
+         * URL de contrôle (locale ou distante), doit répondre en 2xx.
+         */
+        private String checkUrl = "http://www.gstatic.com/generate_204";
+
+        private long validationTimeoutMs = 3_000;
+
+        /**
+         * Tests de proxies simultanés (threads virtuels).
+         */
+        private int validationConcurrency = 256;
+
+        /**
+         * Proxies gardés après validation (les plus rapides).
+         */
+        private int maxPoolSize = 300;
+
+        /**
+         * Intervalle de revalidation du pool en arrière-plan.
+         */
+        private long revalidateIntervalMs = 5 * 60 * 1000L;
+    }
+
+    /**
+     * Cache des contenus extraits, par URL canonique (mémoire puis disque).
+     */
+    @Data
+    public static class ExtractionCache {
+        private boolean enabled = true;
+
+        /**
+         * Contenus gardés en mémoire (LRU).
+         */
+        private int maxEntries = 2_000;
+
+        /**
+         * Durée de validité d'un contenu extrait.
+         */
+        private int ttlHours = 24;
+
+        /**
+         * Répertoire du cache disque (un fichier gzip par URL).
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/veille-extraction-cache";
+    }
+
+    /**
+     * Journal de collecte (collection scrape_journal) : étape atteinte par
+     * chaque source et chaque article, pour reprendre après un redémarrage.
+     */
+    @Data
+    public static class Journal {
+        /**
+         * Active l'écriture du journal et la reprise au démarrage.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Identifiant de l'instance (vide : nom d'hôte). Une instance reprend
+         * ses propres entrées au démarrage.
+         */
+        private String nodeId = "";
+
+        /**
+         * Délai sans mise à jour après lequel les entrées d'une autre instance
+         * sont considérées abandonnées et reprises.
+         */
+        private int staleAfterMinutes = 30;
+
+        /**
+         * Reprises maximum d'une entrée ; au-delà elle est abandonnée.
+         */
+        private int maxResumeAttempts = 3;
+    }
+}
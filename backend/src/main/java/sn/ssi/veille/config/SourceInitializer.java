@@ -159,6 +159,7 @@ public class SourceInitializer {
                                                         .sourceType(SourceType.COMMUNITY)
                                                         .categorieParDefaut(categories.get("CYBERSECURITY").getId())
                                                         .description("Actualités tech et startup via YCombinator")
+                                                        .rateLimitPerMinute(600)
                                                         .trustScore(8).active(true).priorite(6).build(),
                                         Source.builder().nomSource("NIST NVD")
                                                         .url("https://services.nvd.nist.gov/rest/json/cves/2.0")
@@ -166,6 +167,7 @@ public class SourceInitializer {
                                                         .sourceType(SourceType.OFFICIAL)
                                                         .categorieParDefaut(categories.get("CYBERSECURITY").getId())
                                                         .description("National Vulnerability Database (CVEs)")
+                                                        .rateLimitPerMinute(10)
                                                         .trustScore(10).active(false).priorite(10).build(),
                                         Source.builder().nomSource("CERT-FR Alertes")
                                                         .url("https://www.cert.ssi.gouv.fr/alerte/feed/")
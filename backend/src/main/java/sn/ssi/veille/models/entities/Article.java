@@ -126,6 +126,13 @@ public class Article {
      */
     private java.util.List<Double> vector;
 
+    /**
+     * Empreinte du contenu (titre + texte normalisés) : reconnaît un même
+     * article republié sous une autre URL.
+     */
+    @Indexed
+    private String contentFingerprint;
+
     /**
      * L'histoire (Cluster) auquel l'article appartient.
      */
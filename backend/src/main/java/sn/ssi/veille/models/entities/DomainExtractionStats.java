@@ -0,0 +1,76 @@
+package sn.ssi.veille.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Statistiques d'extraction de contenu par domaine et par stratégie, pour
+ * commencer chaque extraction par la stratégie la moins coûteuse qui
+ * fonctionne sur ce domaine.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "domain_extraction_stats")
+public class DomainExtractionStats {
+
+    /**
+     * Nom d'hôte (ex: "www.bleepingcomputer.com").
+     */
+    @Id
+    private String domain;
+
+    @Builder.Default
+    private Map<Tier, TierStats> tiers = new EnumMap<>(Tier.class);
+
+    private LocalDateTime updatedAt;
+
+    /**
+     * Stratégies d'extraction, de la moins coûteuse à la plus coûteuse.
+     */
+    public enum Tier {
+        /** Jsoup sans proxy */
+        DIRECT,
+        /** Jsoup avec proxy rotatif */
+        PROXY,
+        /** Navigateur Playwright */
+        BROWSER
+    }
+
+    /**
+     * Résultats d'une stratégie sur le domaine.
+     */
+    @Data
+    @Builder(toBuilder = true)
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TierStats {
+        private long attempts;
+
+        private long successes;
+
+        /**
+         * Taux de succès récent (moyenne mobile exponentielle, 0 à 1).
+         */
+        @Builder.Default
+        private double successRate = 1.0;
+
+        /**
+         * Durée récente d'une tentative en ms (moyenne mobile exponentielle).
+         */
+        private double latencyMs;
+
+        private LocalDateTime lastAttemptAt;
+
+        private LocalDateTime lastSuccessAt;
+    }
+}
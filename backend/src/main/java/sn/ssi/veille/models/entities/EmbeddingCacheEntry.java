@@ -0,0 +1,40 @@
+package sn.ssi.veille.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Embedding déjà calculé, adressé par son contenu : l'identifiant est le
+ * hash du modèle et du texte normalisé.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "embedding_cache")
+public class EmbeddingCacheEntry {
+
+    /**
+     * SHA-256 de (modèle, texte normalisé).
+     */
+    @Id
+    private String key;
+
+    /**
+     * Modèle d'embedding qui a produit le vecteur.
+     */
+    @Indexed
+    private String model;
+
+    private List<Double> vector;
+
+    private LocalDateTime createdAt;
+}
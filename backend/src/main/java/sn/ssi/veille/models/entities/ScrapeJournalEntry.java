@@ -0,0 +1,98 @@
+package sn.ssi.veille.models.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrée du journal de collecte : dernière étape terminée pour une source ou
+ * un article. L'entrée est supprimée quand le traitement est complet ; celles
+ * qui restent après un arrêt sont reprises au démarrage.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "scrape_journal")
+public class ScrapeJournalEntry {
+
+    /**
+     * "source:{sourceId}" ou "article:{UUID de l'URL d'origine}" (une entrée
+     * par élément).
+     */
+    @Id
+    private String id;
+
+    private Kind kind;
+
+    private Step step;
+
+    private String sourceId;
+
+    /**
+     * URL d'origine de l'article.
+     */
+    private String url;
+
+    /**
+     * Identifiant de l'article une fois sauvegardé.
+     */
+    private String articleId;
+
+    /**
+     * Article collecté, conservé tant qu'il n'est pas sauvegardé.
+     */
+    private Article article;
+
+    /**
+     * Résumé RSS (repli si l'extraction ne donne rien).
+     */
+    private String rssDescription;
+
+    /**
+     * Contenu extrait, conservé tant que l'article n'est pas sauvegardé.
+     */
+    private String extractedContent;
+
+    /**
+     * Instance qui a écrit l'entrée.
+     */
+    private String nodeId;
+
+    /**
+     * Nombre de reprises déjà tentées.
+     */
+    private int attempts;
+
+    @Indexed
+    private LocalDateTime updatedAt;
+
+    public enum Kind {
+        SOURCE,
+        ARTICLE
+    }
+
+    /**
+     * Dernière étape terminée.
+     */
+    public enum Step {
+        /** Source : collecte en cours */
+        FETCHING,
+        /** Article : collecté, transmis au pipeline */
+        FETCHED,
+        /** Article : contenu complet extrait */
+        EXTRACTED,
+        /** Article : sauvegardé en base */
+        PERSISTED,
+        /** Article : enrichi par l'IA */
+        ENRICHED,
+        /** Article : rattaché à une story */
+        CLUSTERED
+    }
+}
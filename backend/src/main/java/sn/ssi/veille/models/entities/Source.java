@@ -74,6 +74,25 @@ public class Source {
     /** Date de la prochaine synchronisation prévue */
     private LocalDateTime nextSyncAt;
 
+    /** Dernier ETag renvoyé par le flux (requête conditionnelle If-None-Match) */
+    private String feedEtag;
+
+    /** Dernier Last-Modified renvoyé par le flux (requête conditionnelle If-Modified-Since) */
+    private String feedLastModified;
+
+    /** Collecte incrémentale : date (UTC) jusqu'à laquelle tout a été collecté (ex: lastModEndDate NVD) */
+    private LocalDateTime syncWatermark;
+
+    /** Point de reprise : fenêtre en cours de collecte (UTC) */
+    private LocalDateTime checkpointWindowStart;
+
+    /** Point de reprise : fin de la fenêtre en cours de collecte (UTC) */
+    private LocalDateTime checkpointWindowEnd;
+
+    /** Point de reprise : index de la prochaine page dans la fenêtre en cours */
+    @Builder.Default
+    private int checkpointStartIndex = 0;
+
     // ==================== AUTHENTIFICATION ====================
 
     /** Clé API si la source nécessite une authentification */
@@ -157,6 +176,12 @@ public class Source {
     /** Sélecteur CSS pour extraire la date */
     private String selectorDate;
 
+    // ==================== IA ====================
+
+    /** Nettoyage et enrichissement IA en une seule requête (au lieu de deux) */
+    @Builder.Default
+    private boolean fusedAiMode = false;
+
     // ==================== TIMESTAMPS ====================
 
     /** Date de création */
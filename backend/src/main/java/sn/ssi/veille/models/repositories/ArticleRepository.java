@@ -20,8 +20,20 @@ public interface ArticleRepository extends MongoRepository<Article, String> {
 
         boolean existsByUrlOrigine(String urlOrigine);
 
+        // Déduplication par lot : une seule requête $in, projection sur l'URL
+        @org.springframework.data.mongodb.repository.Query(value = "{ 'urlOrigine': { '$in': ?0 } }", fields = "{ 'urlOrigine': 1 }")
+        java.util.List<Article> findUrlsIn(java.util.Collection<String> urls);
+
+        // Chargement du filtre de Bloom au démarrage (curseur, projection sur l'URL)
+        @org.springframework.data.mongodb.repository.Query(value = "{}", fields = "{ 'urlOrigine': 1 }")
+        java.util.stream.Stream<Article> streamAllUrls();
+
         java.util.List<Article> findByDatePublicationAfter(java.time.LocalDateTime date);
 
+        // Article récent au contenu identique (republication, syndication)
+        java.util.Optional<Article> findFirstByContentFingerprintAndDatePublicationAfterOrderByDatePublicationDesc(
+                        String contentFingerprint, java.time.LocalDateTime date);
+
         // Recherche simple
         Page<Article> findByTitreContainingIgnoreCaseOrContenuContainingIgnoreCase(String titre, String contenu,
                         Pageable pageable);
@@ -0,0 +1,9 @@
+package sn.ssi.veille.models.repositories;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import sn.ssi.veille.models.entities.DomainExtractionStats;
+
+@Repository
+public interface DomainExtractionStatsRepository extends MongoRepository<DomainExtractionStats, String> {
+}
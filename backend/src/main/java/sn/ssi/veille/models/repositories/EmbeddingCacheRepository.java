@@ -0,0 +1,16 @@
+package sn.ssi.veille.models.repositories;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import sn.ssi.veille.models.entities.EmbeddingCacheEntry;
+
+@Repository
+public interface EmbeddingCacheRepository extends MongoRepository<EmbeddingCacheEntry, String> {
+
+    /**
+     * Supprime les vecteurs produits par un autre modèle que celui indiqué.
+     *
+     * @return Le nombre d'entrées supprimées.
+     */
+    long deleteByModelNot(String model);
+}
@@ -0,0 +1,15 @@
+package sn.ssi.veille.models.repositories;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ScrapeJournalRepository extends MongoRepository<ScrapeJournalEntry, String> {
+
+    // Entrées non terminées, antérieures à une date (ex: démarrage de l'instance)
+    List<ScrapeJournalEntry> findByKindAndUpdatedAtBefore(ScrapeJournalEntry.Kind kind, LocalDateTime date);
+}
@@ -34,6 +34,14 @@ public interface AIService {
      */
     CompletableFuture<java.util.List<Double>> getEmbeddings(String text);
 
+    /**
+     * Génère les embeddings de plusieurs textes en un minimum de requêtes.
+     *
+     * @param texts Les textes à vectoriser.
+     * @return Un vecteur par texte, dans le même ordre (vide en cas d'échec).
+     */
+    CompletableFuture<List<List<Double>>> getEmbeddings(List<String> texts);
+
     /**
      * Nettoie et reformate un texte brut en utilisant l'IA.
      * Corrige la grammaire, supprime le bruit, et structure en paragraphes.
@@ -43,6 +51,27 @@ public interface AIService {
      */
     CompletableFuture<String> cleanContent(String rawText);
 
+    /**
+     * Nettoie le texte brut et enrichit l'article en une seule requête
+     * (contenu nettoyé, catégorie, gravité, tags et résumé court), au lieu de
+     * {@link #cleanContent(String)} puis {@link #enrichArticle(Article)}.
+     *
+     * @param article L'article à enrichir (modifié en place).
+     * @param rawText Le texte brut issu du scraping.
+     * @return true si la réponse a été appliquée ; false si l'appelant doit
+     *         repasser par les deux appels séparés.
+     */
+    CompletableFuture<Boolean> cleanAndEnrichArticle(Article article, String rawText);
+
+    /**
+     * Compare sur un même contenu le mode en deux appels (nettoyage puis
+     * enrichissement) et le mode fusionné : durée et jetons consommés.
+     *
+     * @param content Le contenu brut de test.
+     * @return Une mesure par mode.
+     */
+    List<ModeBenchmark> benchmarkFusedMode(String content);
+
     /**
      * Génère un résumé à la demande (lazy-load).
      * Ne fonctionne que si le contenu de l'article est suffisant.
@@ -56,4 +85,16 @@ public interface AIService {
      * Génère une synthèse (Titre + Résumé) à partir d'une liste d'articles.
      */
     CompletableFuture<String> generateStorySynthesis(List<Article> articles);
+
+    /**
+     * Mesure d'un mode d'appel IA sur un article.
+     */
+    record ModeBenchmark(
+            String mode,
+            int requests,
+            long latencyMs,
+            long promptTokens,
+            long completionTokens,
+            boolean success) {
+    }
 }
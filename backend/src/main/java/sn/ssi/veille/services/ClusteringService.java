@@ -1,6 +1,7 @@
 package sn.ssi.veille.services;
 
 import sn.ssi.veille.models.entities.Article;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -16,4 +17,14 @@ public interface ClusteringService {
      * @return L'article mis à jour (avec Embedding et StoryId).
      */
     CompletableFuture<Article> processClustering(Article article);
+
+    /**
+     * Traite plusieurs articles : les embeddings manquants sont demandés en
+     * un minimum de requêtes, puis chaque article est rattaché à un cluster,
+     * dans l'ordre.
+     *
+     * @param articles Les articles à traiter.
+     * @return Les articles mis à jour, dans le même ordre.
+     */
+    CompletableFuture<List<Article>> processClustering(List<Article> articles);
 }
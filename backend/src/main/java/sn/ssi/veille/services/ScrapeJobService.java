@@ -0,0 +1,127 @@
+package sn.ssi.veille.services;
+
+import sn.ssi.veille.models.entities.Source;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Service de gestion des jobs de scraping asynchrones.
+ * <p>
+ * Une demande de scraping retourne immédiatement un job ; la collecte se fait
+ * en arrière-plan et son avancement (par source) est consultable ou suivi en
+ * direct. Une source déjà en cours dans un autre job n'est pas relancée : elle
+ * est rattachée au job existant.
+ */
+public interface ScrapeJobService {
+
+    /**
+     * Soumet le scraping de toutes les sources actives.
+     *
+     * @return L'état initial du job (ou du job existant si tout est déjà en cours).
+     */
+    ScrapeJobStatus submitAllSources();
+
+    /**
+     * Soumet le scraping d'une source.
+     *
+     * @param sourceId L'identifiant de la source.
+     * @return L'état initial du job (ou du job existant si la source est déjà en cours).
+     */
+    ScrapeJobStatus submitSource(String sourceId);
+
+    /**
+     * Soumet le scraping d'un lot de sources.
+     *
+     * @param sources Les sources à scraper.
+     * @param trigger L'origine de la demande (ex: "api", "scheduler").
+     * @return L'état initial du job (ou du job existant si tout est déjà en cours).
+     */
+    ScrapeJobStatus submitSources(List<Source> sources, String trigger);
+
+    /**
+     * Retourne l'état d'un job.
+     *
+     * @param jobId L'identifiant du job.
+     * @return L'état du job, vide s'il est inconnu ou expiré.
+     */
+    Optional<ScrapeJobStatus> getJob(String jobId);
+
+    /**
+     * Retourne les jobs récents, du plus récent au plus ancien.
+     */
+    List<ScrapeJobStatus> getRecentJobs();
+
+    /**
+     * Futur complété à la fin du job.
+     *
+     * @param jobId L'identifiant du job.
+     * @return Le futur de l'état final, vide si le job est inconnu.
+     */
+    Optional<CompletableFuture<ScrapeJobStatus>> completion(String jobId);
+
+    /**
+     * Abonne un écouteur aux changements d'état d'un job.
+     *
+     * @param jobId    L'identifiant du job.
+     * @param listener Appelé à chaque avancement, et une dernière fois à la fin.
+     * @return Une action de désabonnement.
+     */
+    Runnable subscribe(String jobId, Consumer<ScrapeJobStatus> listener);
+
+    /**
+     * État d'un job de scraping.
+     */
+    enum JobState {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * État d'une source dans un job.
+     */
+    enum SourceState {
+        PENDING, DONE, FAILED, SKIPPED, COALESCED
+    }
+
+    /**
+     * Instantané d'un job de scraping. articlesQueued compte les articles
+     * transmis au pipeline d'ingestion, pas encore forcément sauvegardés.
+     */
+    record ScrapeJobStatus(
+            String jobId,
+            String trigger,
+            JobState state,
+            boolean coalesced,
+            LocalDateTime submittedAt,
+            LocalDateTime startedAt,
+            LocalDateTime finishedAt,
+            int totalSources,
+            int completedSources,
+            int failedSources,
+            int articlesQueued,
+            String error,
+            List<SourceProgress> sources) {
+
+        public boolean isFinished() {
+            return state == JobState.COMPLETED || state == JobState.FAILED;
+        }
+
+        /**
+         * Avancement d'une source.
+         *
+         * @param coalescedInto Job qui traite déjà la source (état COALESCED).
+         */
+        public record SourceProgress(
+                String sourceId,
+                String sourceName,
+                SourceState state,
+                int articlesQueued,
+                long durationMs,
+                String error,
+                String coalescedInto) {
+        }
+    }
+}
@@ -4,6 +4,7 @@ import sn.ssi.veille.models.entities.Article;
 import sn.ssi.veille.models.entities.Source;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service responsable de la collecte (scraping) d'articles depuis différentes
@@ -19,10 +20,45 @@ public interface ScrapingService {
      * Déclenche le scraping de toutes les sources actives configurées.
      * Cette méthode est généralement appelée par une tâche planifiée.
      *
-     * @return Le nombre total d'articles collectés avec succès.
+     * @return Le nombre d'articles nouveaux transmis au pipeline d'ingestion
+     *         (la sauvegarde se fait ensuite, de façon asynchrone).
      */
     int scrapeAllSources();
 
+    /**
+     * Scrape toutes les sources actives en parallèle (un thread virtuel par
+     * source, avec limites globale et par hôte) et retourne le détail du run.
+     *
+     * @return Le rapport du run avec les temps par source.
+     */
+    ScrapingRunReport runAllSources();
+
+    /**
+     * Scrape en parallèle un lot de sources donné, dans l'ordre de la liste.
+     * Utilisé par le planificateur pour ne lancer que les sources échues.
+     *
+     * @param sources Les sources à scraper (les sources invalides sont ignorées).
+     * @return Le rapport du run avec les temps par source.
+     */
+    ScrapingRunReport runSources(List<Source> sources);
+
+    /**
+     * Comme {@link #runSources(List)}, en signalant la fin de chaque source.
+     *
+     * @param sources      Les sources à scraper.
+     * @param onSourceDone Appelé (depuis le thread de la source) à la fin de chacune.
+     * @return Le rapport du run avec les temps par source.
+     */
+    ScrapingRunReport runSources(List<Source> sources, Consumer<ScrapingRunReport.SourceTiming> onSourceDone);
+
+    /**
+     * Retourne l'état de chaque étage de la collecte (fetch, extraction,
+     * nettoyage, sauvegarde, enrichissement, clustering, corrélation).
+     *
+     * @return La profondeur de file et le débit de chaque étage.
+     */
+    List<PipelineStageStats> getPipelineStats();
+
     /**
      * Déclenche le scraping pour une source spécifique donnée par son identifiant.
      *
@@ -83,6 +119,15 @@ public interface ScrapingService {
      */
     Article testAI(String content);
 
+    /**
+     * Compare le mode IA en deux appels (nettoyage puis enrichissement) et le
+     * mode fusionné sur un contenu arbitraire.
+     *
+     * @param content Le contenu texte brut.
+     * @return La durée et les jetons consommés par mode.
+     */
+    List<AIService.ModeBenchmark> benchmarkAI(String content);
+
     /**
      * Génère un rapport complet sur l'état du système de scraping.
      * Utile pour le monitoring et la détection d'erreurs.
@@ -108,4 +153,40 @@ public interface ScrapingService {
                 java.time.LocalDateTime lastSuccessfulSync) {
         }
     }
+
+    /**
+     * Rapport d'un run de scraping parallèle. Les articles comptés sont ceux
+     * transmis au pipeline d'ingestion à la fin de la collecte ; le pipeline
+     * peut encore en écarter ou échouer à les sauvegarder.
+     */
+    record ScrapingRunReport(
+            int totalArticlesQueued,
+            int sourcesProcessed,
+            int failedSources,
+            long durationMs,
+            java.util.List<SourceTiming> timings) {
+        public record SourceTiming(
+                String sourceId,
+                String sourceName,
+                String host,
+                int articlesQueued,
+                long durationMs,
+                boolean success,
+                String error) {
+        }
+    }
+
+    /**
+     * État d'un étage de la collecte.
+     */
+    record PipelineStageStats(
+            String stage,
+            int queueDepth,
+            int queueCapacity,
+            int workers,
+            long processed,
+            long failed,
+            long processedLastMinute,
+            double avgLatencyMs) {
+    }
 }
@@ -38,19 +38,22 @@ public class ArticleServiceImpl implements ArticleService {
     private final CrossReferenceService crossReferenceService;
     private final AIService aiService;
     private final sn.ssi.veille.services.ClusteringService clusteringService;
+    private final UrlDeduplicationService urlDeduplicationService;
 
     public ArticleServiceImpl(ArticleRepository articleRepository,
             SourceRepository sourceRepository,
             CategorieRepository categorieRepository,
             CrossReferenceService crossReferenceService,
             AIService aiService,
-            sn.ssi.veille.services.ClusteringService clusteringService) {
+            sn.ssi.veille.services.ClusteringService clusteringService,
+            UrlDeduplicationService urlDeduplicationService) {
         this.articleRepository = articleRepository;
         this.sourceRepository = sourceRepository;
         this.categorieRepository = categorieRepository;
         this.crossReferenceService = crossReferenceService;
         this.aiService = aiService;
         this.clusteringService = clusteringService;
+        this.urlDeduplicationService = urlDeduplicationService;
     }
 
     @Override
@@ -70,6 +73,7 @@ public class ArticleServiceImpl implements ArticleService {
                 .build();
 
         Article saved = articleRepository.save(article);
+        urlDeduplicationService.register(article.getUrlOrigine());
 
         // Trigger correlation
         try {
@@ -240,6 +244,7 @@ public class ArticleServiceImpl implements ArticleService {
             article.setAuteur(request.auteur());
 
         Article updated = articleRepository.save(article);
+        urlDeduplicationService.register(article.getUrlOrigine());
 
         // Trigger correlation
         try {
@@ -326,6 +331,7 @@ public class ArticleServiceImpl implements ArticleService {
                         source.getLastError(),
                         source.getLastErrorAt(),
                         source.getConsecutiveFailures(),
+                        source.isFusedAiMode(),
                         source.getCreatedAt());
             }
         }
@@ -0,0 +1,161 @@
+package sn.ssi.veille.services.implementation;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool de navigateurs Chromium (Playwright) partagé.
+ * <p>
+ * Les navigateurs sont lancés à la première demande puis gardés chauds. Chaque
+ * demande reçoit un {@link BrowserContext} isolé (cookies, cache, proxy), fermé
+ * après usage. Un navigateur est recyclé après un nombre de pages configuré ou
+ * en cas de crash.
+ * <p>
+ * Playwright n'étant pas thread-safe, un navigateur n'est utilisé que par un
+ * seul thread à la fois : la taille du pool borne donc le nombre de pages
+ * ouvertes simultanément.
+ */
+@Slf4j
+@Service
+public class BrowserPoolService {
+
+    private static final List<String> LAUNCH_ARGS = List.of(
+            "--disable-blink-features=AutomationControlled",
+            "--disable-dev-shm-usage",
+            "--no-sandbox");
+
+    private final ScrapingConfig.BrowserPool settings;
+    private final BlockingQueue<Slot> idleSlots;
+
+    private volatile boolean closed = false;
+
+    /**
+     * Traitement exécuté sur une page du pool.
+     */
+    @FunctionalInterface
+    public interface PageTask<T> {
+        T run(Page page) throws Exception;
+    }
+
+    public BrowserPoolService(ScrapingConfig scrapingConfig) {
+        this.settings = scrapingConfig.getBrowserPool();
+        int size = Math.max(1, settings.getSize());
+        this.idleSlots = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            idleSlots.add(new Slot(i));
+        }
+    }
+
+    /**
+     * Exécute un traitement sur une page neuve, dans un contexte isolé.
+     * Bloque tant qu'aucun navigateur n'est libre (dans la limite du timeout).
+     *
+     * @param contextOptions Options du contexte (User-Agent, proxy...), peut être null.
+     * @param task           Le traitement à exécuter.
+     * @return Le résultat du traitement.
+     */
+    public <T> T withPage(Browser.NewContextOptions contextOptions, PageTask<T> task) throws Exception {
+        Slot slot = idleSlots.poll(settings.getAcquireTimeoutMs(), TimeUnit.MILLISECONDS);
+        if (slot == null) {
+            throw new IllegalStateException("Aucun navigateur disponible après "
+                    + settings.getAcquireTimeoutMs() + " ms");
+        }
+
+        try {
+            Browser browser = slot.browser();
+            try (BrowserContext context = browser.newContext(
+                    contextOptions != null ? contextOptions : new Browser.NewContextOptions())) {
+                Page page = context.newPage();
+                return task.run(page);
+            } catch (PlaywrightException e) {
+                // Navigateur crashé ou déconnecté : relancé à la prochaine demande
+                if (!browser.isConnected()) {
+                    log.warn("🎭 Navigateur {} déconnecté, recyclage : {}", slot.id, e.getMessage());
+                    slot.close();
+                }
+                throw e;
+            } finally {
+                if (++slot.pagesServed >= settings.getMaxPagesPerBrowser()) {
+                    log.debug("🎭 Navigateur {} recyclé après {} pages", slot.id, slot.pagesServed);
+                    slot.close();
+                }
+            }
+        } finally {
+            if (closed) {
+                slot.close();
+            }
+            idleSlots.add(slot);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        closed = true;
+        for (Slot slot : idleSlots) {
+            slot.close();
+        }
+    }
+
+    /**
+     * Un emplacement du pool : une instance Playwright et son navigateur,
+     * lancés à la demande.
+     */
+    private static final class Slot {
+
+        private final int id;
+        private Playwright playwright;
+        private Browser browser;
+        private int pagesServed;
+
+        Slot(int id) {
+            this.id = id;
+        }
+
+        Browser browser() {
+            if (browser == null || !browser.isConnected()) {
+                close();
+                long start = System.currentTimeMillis();
+                playwright = Playwright.create();
+                browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
+                        .setHeadless(true)
+                        .setArgs(LAUNCH_ARGS));
+                pagesServed = 0;
+                log.info("🎭 Navigateur {} lancé en {} ms", id, System.currentTimeMillis() - start);
+            }
+            return browser;
+        }
+
+        void close() {
+            try {
+                if (browser != null) {
+                    browser.close();
+                }
+            } catch (Exception e) {
+                log.debug("Fermeture navigateur {} : {}", id, e.getMessage());
+            }
+            try {
+                if (playwright != null) {
+                    playwright.close();
+                }
+            } catch (Exception e) {
+                log.debug("Fermeture Playwright {} : {}", id, e.getMessage());
+            }
+            browser = null;
+            playwright = null;
+            pagesServed = 0;
+        }
+    }
+}
@@ -11,6 +11,7 @@ import sn.ssi.veille.services.StoryService;
 import sn.ssi.veille.utils.VectorUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -28,85 +29,139 @@ public class ClusteringServiceImpl implements ClusteringService {
 
     @Override
     public CompletableFuture<Article> processClustering(Article article) {
-        // On vectorise Titre + Résumé pour plus de précision
-        String contentToEmbed = (article.getTitre() + " " + (article.getResume() != null ? article.getResume() : ""))
-                .trim();
+        String contentToEmbed = textToEmbed(article);
 
         if (contentToEmbed.isEmpty()) {
             return CompletableFuture.completedFuture(article);
         }
 
-        return aiService.getEmbeddings(contentToEmbed).thenApply(vector -> {
-            if (vector.isEmpty()) {
-                log.warn("⚠️ Embedding vide/Offline pour : '{}'. Création Story unique par défaut.",
-                        article.getTitre());
-                // Fallback: On crée une Story même sans IA pour que l'article soit visible
-                articleRepository.save(article);
-                storyService.createStoryFromCluster(List.of(article));
-                return article;
+        // Vecteur déjà connu (article identique réutilisé) : pas de nouvel appel IA
+        CompletableFuture<List<Double>> embedding = hasVector(article)
+                ? CompletableFuture.completedFuture(article.getVector())
+                : aiService.getEmbeddings(contentToEmbed);
+
+        return embedding.thenApply(vector -> assignCluster(article, vector));
+    }
+
+    @Override
+    public CompletableFuture<List<Article>> processClustering(List<Article> articles) {
+        // Une seule demande d'embeddings pour tous les articles sans vecteur
+        List<String> texts = new ArrayList<>();
+        for (Article article : articles) {
+            String text = textToEmbed(article);
+            if (!text.isEmpty() && !hasVector(article)) {
+                texts.add(text);
             }
+        }
+        CompletableFuture<List<List<Double>>> embeddings = texts.isEmpty()
+                ? CompletableFuture.completedFuture(List.of())
+                : aiService.getEmbeddings(texts);
+
+        return embeddings.thenApply(vectors -> {
+            List<Article> results = new ArrayList<>(articles.size());
+            int next = 0;
+            for (Article article : articles) {
+                String text = textToEmbed(article);
+                if (text.isEmpty()) {
+                    results.add(article);
+                    continue;
+                }
+                List<Double> vector = hasVector(article) ? article.getVector()
+                        : next < vectors.size() ? vectors.get(next++) : List.of();
+                try {
+                    results.add(assignCluster(article, vector));
+                } catch (Exception e) {
+                    // Un article en échec ne bloque pas le reste du lot
+                    log.error("⚠️ Clustering failed for {}: {}", article.getId(), e.getMessage());
+                    results.add(article);
+                }
+            }
+            return results;
+        });
+    }
 
-            article.setVector(vector);
+    // On vectorise Titre + Résumé pour plus de précision
+    private static String textToEmbed(Article article) {
+        return (article.getTitre() + " " + (article.getResume() != null ? article.getResume() : "")).trim();
+    }
 
-            // Chercher les articles récents (24h) pour comparaison
-            LocalDateTime limit = LocalDateTime.now().minusHours(24);
-            List<Article> candidates = articleRepository.findByDatePublicationAfter(limit);
+    private static boolean hasVector(Article article) {
+        return article.getVector() != null && !article.getVector().isEmpty();
+    }
 
-            Article bestMatch = null;
-            double bestScore = -1.0;
+    /**
+     * Rattache l'article à la Story la plus proche, ou en crée une.
+     */
+    private Article assignCluster(Article article, List<Double> vector) {
+        if (vector.isEmpty()) {
+            log.warn("⚠️ Embedding vide/Offline pour : '{}'. Création Story unique par défaut.",
+                    article.getTitre());
+            // Fallback: On crée une Story même sans IA pour que l'article soit visible
+            articleRepository.save(article);
+            storyService.createStoryFromCluster(List.of(article));
+            return article;
+        }
 
-            for (Article candidate : candidates) {
-                // Skip self (si déjà en base avec ID) et ceux sans vecteur
-                if (candidate.getId() != null && candidate.getId().equals(article.getId()))
-                    continue;
-                if (candidate.getVector() == null || candidate.getVector().isEmpty())
-                    continue;
+        article.setVector(vector);
 
-                double score = VectorUtils.cosineSimilarity(article.getVector(), candidate.getVector());
-                if (score > bestScore) {
-                    bestScore = score;
-                    bestMatch = candidate;
-                }
+        // Chercher les articles récents (24h) pour comparaison
+        LocalDateTime limit = LocalDateTime.now().minusHours(24);
+        List<Article> candidates = articleRepository.findByDatePublicationAfter(limit);
+
+        Article bestMatch = null;
+        double bestScore = -1.0;
+
+        for (Article candidate : candidates) {
+            // Skip self (si déjà en base avec ID) et ceux sans vecteur
+            if (candidate.getId() != null && candidate.getId().equals(article.getId()))
+                continue;
+            if (candidate.getVector() == null || candidate.getVector().isEmpty())
+                continue;
+
+            double score = VectorUtils.cosineSimilarity(article.getVector(), candidate.getVector());
+            if (score > bestScore) {
+                bestScore = score;
+                bestMatch = candidate;
             }
+        }
 
-            if (bestMatch != null && bestScore >= SIMILARITY_THRESHOLD) {
-                // On rejoint un cluster existant
-                if (bestMatch.getStory() == null) {
-                    // Le candidat n'a pas encore de Story, on en crée une avec les deux articles
-                    // NOTE: Il faut sauvegarder 'article' avant de l'ajouter à une story pour avoir
-                    // un ID
-                    articleRepository.save(article);
+        if (bestMatch != null && bestScore >= SIMILARITY_THRESHOLD) {
+            // On rejoint un cluster existant
+            if (bestMatch.getStory() == null) {
+                // Le candidat n'a pas encore de Story, on en crée une avec les deux articles
+                // NOTE: Il faut sauvegarder 'article' avant de l'ajouter à une story pour avoir
+                // un ID
+                articleRepository.save(article);
 
-                    log.info("🆕 CREATING STORY: '{}' & '{}' (Score: {})", article.getTitre(), bestMatch.getTitre(),
-                            String.format("%.2f", bestScore));
+                log.info("🆕 CREATING STORY: '{}' & '{}' (Score: {})", article.getTitre(), bestMatch.getTitre(),
+                        String.format("%.2f", bestScore));
 
-                    storyService.createStoryFromCluster(List.of(bestMatch, article));
+                storyService.createStoryFromCluster(List.of(bestMatch, article));
+            } else {
+                // On rejoint la Story existante
+                // Check if story is present (DBRef might load it lazily or eagerly)
+                if (bestMatch.getStory() != null) {
+                    String storyId = bestMatch.getStory().getId();
+                    log.info("🔗 JOINED STORY: '{}' -> Story {} (Score: {})", article.getTitre(),
+                            storyId, String.format("%.2f", bestScore));
+
+                    // On sauvegarde d'abord l'article pour qu'il ait un ID
+                    articleRepository.save(article);
+                    storyService.addArticleToStory(storyId, article);
                 } else {
-                    // On rejoint la Story existante
-                    // Check if story is present (DBRef might load it lazily or eagerly)
-                    if (bestMatch.getStory() != null) {
-                        String storyId = bestMatch.getStory().getId();
-                        log.info("🔗 JOINED STORY: '{}' -> Story {} (Score: {})", article.getTitre(),
-                                storyId, String.format("%.2f", bestScore));
-
-                        // On sauvegarde d'abord l'article pour qu'il ait un ID
-                        articleRepository.save(article);
-                        storyService.addArticleToStory(storyId, article);
-                    } else {
-                        log.warn("Article {} has match but Story is null, treating as new cluster potential",
-                                bestMatch.getTitre());
-                        // Fallback logic if needed, or just save
-                        articleRepository.save(article);
-                    }
+                    log.warn("Article {} has match but Story is null, treating as new cluster potential",
+                            bestMatch.getTitre());
+                    // Fallback logic if needed, or just save
+                    articleRepository.save(article);
                 }
-            } else {
-                // Pas de cluster trouvé -> On crée une NOUVELLE Story pour cet article unique
-                log.info("📢 No match found for '{}'. Creating new Single-Source Story.", article.getTitre());
-                articleRepository.save(article);
-                storyService.createStoryFromCluster(List.of(article));
             }
+        } else {
+            // Pas de cluster trouvé -> On crée une NOUVELLE Story pour cet article unique
+            log.info("📢 No match found for '{}'. Creating new Single-Source Story.", article.getTitre());
+            articleRepository.save(article);
+            storyService.createStoryFromCluster(List.of(article));
+        }
 
-            return article;
-        });
+        return article;
     }
 }
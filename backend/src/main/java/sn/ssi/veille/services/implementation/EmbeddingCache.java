@@ -0,0 +1,186 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.AIConfig;
+import sn.ssi.veille.models.entities.EmbeddingCacheEntry;
+import sn.ssi.veille.models.repositories.EmbeddingCacheRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Cache des embeddings, adressé par contenu : clé = SHA-256 du modèle et du
+ * texte normalisé (Unicode NFC, espaces réduits).
+ * <p>
+ * Deux niveaux : une LRU bornée en mémoire, puis la collection
+ * embedding_cache (survit aux redémarrages). Le modèle fait partie de la clé :
+ * après un changement de {@code ai.provider.embedding-model}, les anciens
+ * vecteurs ne sont plus jamais servis, et ils sont supprimés au démarrage.
+ */
+@Slf4j
+@Service
+public class EmbeddingCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final EmbeddingCacheRepository repository;
+    private final AIConfig aiConfig;
+    private final Map<String, List<Double>> memory;
+
+    public EmbeddingCache(EmbeddingCacheRepository repository, AIConfig aiConfig) {
+        this.repository = repository;
+        this.aiConfig = aiConfig;
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Double>> eldest) {
+                return size() > Math.max(1, aiConfig.getEmbeddingCacheSize());
+            }
+        };
+    }
+
+    /**
+     * Supprime les vecteurs d'un ancien modèle d'embedding.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void purgeOtherModels() {
+        if (!aiConfig.isEmbeddingCacheEnabled()) {
+            return;
+        }
+        try {
+            long purged = repository.deleteByModelNot(model());
+            if (purged > 0) {
+                log.info("🧹 Cache d'embeddings : {} vecteurs d'un autre modèle supprimés", purged);
+            }
+        } catch (Exception e) {
+            log.warn("Cache d'embeddings : purge échouée: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param text Le texte.
+     * @return Le vecteur en cache, ou null.
+     */
+    public List<Double> get(String text) {
+        return getAll(List.of(text)).get(text);
+    }
+
+    /**
+     * Cherche plusieurs textes : mémoire d'abord, puis une seule requête en
+     * base pour les absents.
+     *
+     * @param texts Les textes.
+     * @return Les vecteurs trouvés, par texte (les absents sont omis).
+     */
+    public Map<String, List<Double>> getAll(List<String> texts) {
+        Map<String, List<Double>> found = new HashMap<>();
+        if (!aiConfig.isEmbeddingCacheEnabled() || texts.isEmpty()) {
+            return found;
+        }
+        String model = model();
+        List<String> keys = texts.stream().map(text -> keyOf(model, text)).toList();
+        Map<String, List<String>> missing = new HashMap<>();
+        synchronized (memory) {
+            for (int i = 0; i < texts.size(); i++) {
+                String text = texts.get(i);
+                String key = keys.get(i);
+                List<Double> vector = memory.get(key);
+                if (vector != null) {
+                    found.put(text, vector);
+                } else {
+                    missing.computeIfAbsent(key, k -> new ArrayList<>()).add(text);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        try {
+            for (EmbeddingCacheEntry entry : repository.findAllById(missing.keySet())) {
+                List<String> requested = missing.get(entry.getKey());
+                if (requested == null || entry.getVector() == null || entry.getVector().isEmpty()) {
+                    continue;
+                }
+                requested.forEach(text -> found.put(text, entry.getVector()));
+                synchronized (memory) {
+                    memory.put(entry.getKey(), entry.getVector());
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Cache d'embeddings : lecture échouée: {}", e.getMessage());
+        }
+        return found;
+    }
+
+    public void put(String text, List<Double> vector) {
+        putAll(Map.of(text, vector));
+    }
+
+    /**
+     * Met des vecteurs en cache. L'écriture en base se fait sur un thread
+     * virtuel : l'appelant peut être un thread réseau du client IA.
+     */
+    public void putAll(Map<String, List<Double>> vectors) {
+        if (!aiConfig.isEmbeddingCacheEnabled()) {
+            return;
+        }
+        String model = model();
+        LocalDateTime now = LocalDateTime.now();
+        List<EmbeddingCacheEntry> entries = new ArrayList<>();
+        vectors.forEach((text, vector) -> {
+            if (vector != null && !vector.isEmpty()) {
+                entries.add(EmbeddingCacheEntry.builder()
+                        .key(keyOf(model, text))
+                        .model(model)
+                        .vector(vector)
+                        .createdAt(now)
+                        .build());
+            }
+        });
+        if (entries.isEmpty()) {
+            return;
+        }
+        synchronized (memory) {
+            entries.forEach(entry -> memory.put(entry.getKey(), entry.getVector()));
+        }
+        Thread.ofVirtual().name("embedding-cache-write").start(() -> {
+            try {
+                repository.saveAll(entries);
+            } catch (Exception e) {
+                log.warn("Cache d'embeddings : écriture de {} vecteurs échouée: {}", entries.size(), e.getMessage());
+            }
+        });
+    }
+
+    private String model() {
+        return aiConfig.getEmbeddingModel() != null ? aiConfig.getEmbeddingModel() : aiConfig.getModel();
+    }
+
+    static String normalize(String text) {
+        return WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC)).replaceAll(" ").trim();
+    }
+
+    static String keyOf(String model, String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(String.valueOf(model).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalize(text).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.utils.CanonicalUrl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache des contenus extraits, par URL canonique.
+ * <p>
+ * Deux niveaux : une LRU bornée en mémoire, puis un fichier gzip par URL sur
+ * disque (survit aux redémarrages). Les deux expirent après le TTL. Les
+ * demandes simultanées pour une même URL partagent une seule extraction. Les
+ * extractions vides ne sont pas mises en cache, pour pouvoir être retentées.
+ */
+@Slf4j
+@Service
+public class ExtractionCache {
+
+    private final ScrapingConfig.ExtractionCache settings;
+    private final Map<String, CachedContent> memory;
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private record CachedContent(String content, long storedAt) {
+    }
+
+    public ExtractionCache(ScrapingConfig scrapingConfig) {
+        this.settings = scrapingConfig.getExtractionCache();
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedContent> eldest) {
+                return size() > Math.max(1, settings.getMaxEntries());
+            }
+        };
+    }
+
+    /**
+     * Retourne le contenu en cache, ou l'extrait (une seule fois pour des
+     * appels simultanés) et le met en cache.
+     *
+     * @param url       L'URL de l'article.
+     * @param extractor L'extraction réelle (null si rien d'exploitable).
+     * @return Le contenu, ou null.
+     */
+    public String getOrExtract(String url, Supplier<String> extractor) {
+        if (!settings.isEnabled() || url == null) {
+            return extractor.get();
+        }
+        String key = CanonicalUrl.of(url);
+        String cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            log.debug("Extraction déjà en cours pour {}, résultat partagé", key);
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+        try {
+            // Un appel concurrent a pu terminer entre la lecture et la réservation
+            String content = lookup(key);
+            if (content == null) {
+                content = extractor.get();
+                if (content != null && !content.isBlank()) {
+                    store(key, content);
+                }
+            }
+            mine.complete(content);
+            return content;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private String lookup(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            CachedContent entry = memory.get(key);
+            if (entry != null) {
+                if (!isExpired(entry.storedAt(), now)) {
+                    return entry.content();
+                }
+                memory.remove(key);
+            }
+        }
+        CachedContent fromDisk = readDisk(key, now);
+        if (fromDisk == null) {
+            return null;
+        }
+        synchronized (memory) {
+            memory.put(key, fromDisk);
+        }
+        return fromDisk.content();
+    }
+
+    private void store(String key, String content) {
+        CachedContent entry = new CachedContent(content, System.currentTimeMillis());
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        writeDisk(key, content);
+    }
+
+    // ===== Disque =====
+
+    private CachedContent readDisk(String key, long now) {
+        Path file = fileFor(key);
+        try {
+            long storedAt = Files.getLastModifiedTime(file).toMillis();
+            if (isExpired(storedAt, now)) {
+                Files.deleteIfExists(file);
+                return null;
+            }
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+                return new CachedContent(new String(in.readAllBytes(), StandardCharsets.UTF_8), storedAt);
+            }
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("Cache d'extraction : lecture de {} échouée: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, String content) {
+        Path file = fileFor(key);
+        try {
+            Files.createDirectories(file.getParent());
+            // Écriture dans un fichier temporaire puis renommage : jamais de fichier partiel
+            Path tmp = Files.createTempFile(file.getParent(), "extract", ".tmp");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp))) {
+                out.write(content.getBytes(StandardCharsets.UTF_8));
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Cache d'extraction : écriture de {} échouée: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Supprime les fichiers expirés du cache disque.
+     */
+    @Scheduled(fixedDelay = 3_600_000, initialDelay = 600_000)
+    public void purgeExpired() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(settings.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        int purged = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                try {
+                    if (isExpired(Files.getLastModifiedTime(file).toMillis(), now) && Files.deleteIfExists(file)) {
+                        purged++;
+                    }
+                } catch (IOException e) {
+                    log.debug("Cache d'extraction : purge de {} échouée: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cache d'extraction : purge impossible: {}", e.getMessage());
+        }
+        if (purged > 0) {
+            log.info("🧹 Cache d'extraction : {} contenus expirés supprimés", purged);
+        }
+    }
+
+    private boolean isExpired(long storedAt, long now) {
+        return now - storedAt > Duration.ofHours(settings.getTtlHours()).toMillis();
+    }
+
+    private Path fileFor(String key) {
+        return Path.of(settings.getDirectory(), sha256(key) + ".txt.gz");
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package sn.ssi.veille.services.implementation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.DomainExtractionStats;
+import sn.ssi.veille.models.entities.DomainExtractionStats.Tier;
+import sn.ssi.veille.models.entities.DomainExtractionStats.TierStats;
+import sn.ssi.veille.models.repositories.DomainExtractionStatsRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mémoire des stratégies d'extraction par domaine.
+ * <p>
+ * Chaque tentative (Jsoup direct, Jsoup + proxy, Playwright) met à jour le
+ * taux de succès et la durée de la stratégie pour le domaine. Une stratégie
+ * qui échoue presque toujours est sautée : un domaine protégé par Cloudflare
+ * passe directement au navigateur au lieu de payer deux délais d'expiration
+ * par article. Une stratégie sautée est retentée périodiquement pour qu'un
+ * domaine puisse redescendre vers une stratégie moins coûteuse.
+ * <p>
+ * Les statistiques sont gardées en mémoire et écrites en base par lots
+ * (collection domain_extraction_stats), puis rechargées au démarrage.
+ */
+@Slf4j
+@Service
+public class ExtractionStrategyService {
+
+    private static final List<Tier> ALL_TIERS = List.of(Tier.values());
+
+    private final DomainExtractionStatsRepository statsRepository;
+    private final ScrapingConfig.Strategy settings;
+
+    private final Map<String, DomainExtractionStats> domains = new ConcurrentHashMap<>();
+
+    /** Domaines modifiés depuis la dernière écriture */
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    public ExtractionStrategyService(DomainExtractionStatsRepository statsRepository, ScrapingConfig scrapingConfig) {
+        this.statsRepository = statsRepository;
+        this.settings = scrapingConfig.getStrategy();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        try {
+            statsRepository.findAll().forEach(stats -> domains.putIfAbsent(stats.getDomain(), stats));
+            log.info("Stratégies d'extraction : {} domaines chargés", domains.size());
+        } catch (Exception e) {
+            log.warn("Stratégies d'extraction : chargement échoué: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Stratégies à essayer pour une URL, dans l'ordre.
+     * <p>
+     * Commence par la stratégie la moins coûteuse qui fonctionne sur le
+     * domaine ; les stratégies en échec sont omises, sauf quand leur re-test
+     * est dû. Playwright, dernier recours, est toujours présent.
+     */
+    public List<Tier> plan(String url) {
+        if (!settings.isEnabled()) {
+            return ALL_TIERS;
+        }
+        DomainExtractionStats stats = statsFor(RequestThrottler.hostOf(url));
+        LocalDateTime now = LocalDateTime.now();
+        List<Tier> plan = new ArrayList<>(ALL_TIERS.size());
+        synchronized (stats) {
+            for (Tier tier : ALL_TIERS) {
+                TierStats tierStats = stats.getTiers().get(tier);
+                if (tier == Tier.BROWSER || !isFailing(tierStats)) {
+                    plan.add(tier);
+                } else if (isReprobeDue(tierStats, now)) {
+                    // Réservé tout de suite : un seul re-test à la fois par domaine
+                    tierStats.setLastAttemptAt(now);
+                    plan.add(tier);
+                    log.debug("Re-test de la stratégie {} pour {}", tier, stats.getDomain());
+                }
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Enregistre le résultat d'une tentative.
+     *
+     * @param url       L'URL de l'article.
+     * @param tier      La stratégie utilisée.
+     * @param success   Contenu exploitable obtenu.
+     * @param latencyMs Durée de la tentative.
+     */
+    public void record(String url, Tier tier, boolean success, long latencyMs) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        DomainExtractionStats stats = statsFor(RequestThrottler.hostOf(url));
+        double alpha = settings.getEwmaAlpha();
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (stats) {
+            TierStats tierStats = stats.getTiers().computeIfAbsent(tier, t -> new TierStats());
+            boolean wasFailing = isFailing(tierStats);
+
+            double rate = (1 - alpha) * tierStats.getSuccessRate() + alpha * (success ? 1.0 : 0.0);
+            if (success && wasFailing) {
+                // Re-test réussi : la stratégie est remise en service
+                rate = Math.max(rate, settings.getFailureThreshold());
+            }
+            tierStats.setSuccessRate(rate);
+            tierStats.setLatencyMs(tierStats.getAttempts() == 0
+                    ? latencyMs
+                    : (1 - alpha) * tierStats.getLatencyMs() + alpha * latencyMs);
+            tierStats.setAttempts(tierStats.getAttempts() + 1);
+            tierStats.setLastAttemptAt(now);
+            if (success) {
+                tierStats.setSuccesses(tierStats.getSuccesses() + 1);
+                tierStats.setLastSuccessAt(now);
+            }
+            stats.setUpdatedAt(now);
+
+            boolean failing = isFailing(tierStats);
+            if (failing != wasFailing) {
+                log.info("{} Stratégie {} {} pour {} (succès {}%)", failing ? "⏭️" : "✅", tier,
+                        failing ? "sautée" : "rétablie", stats.getDomain(), Math.round(rate * 100));
+            }
+        }
+        dirty.add(stats.getDomain());
+    }
+
+    /**
+     * Écrit en base les domaines modifiés.
+     */
+    @Scheduled(fixedDelayString = "${scraping.strategy.flush-interval-ms:30000}", initialDelay = 30_000)
+    @PreDestroy
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<DomainExtractionStats> snapshots = new ArrayList<>();
+        for (String domain : List.copyOf(dirty)) {
+            dirty.remove(domain);
+            DomainExtractionStats stats = domains.get(domain);
+            if (stats != null) {
+                synchronized (stats) {
+                    snapshots.add(copyOf(stats));
+                }
+            }
+        }
+        try {
+            statsRepository.saveAll(snapshots);
+        } catch (Exception e) {
+            snapshots.forEach(stats -> dirty.add(stats.getDomain()));
+            log.warn("Stratégies d'extraction : écriture de {} domaines échouée: {}", snapshots.size(),
+                    e.getMessage());
+        }
+    }
+
+    private DomainExtractionStats statsFor(String domain) {
+        return domains.computeIfAbsent(domain, d -> DomainExtractionStats.builder().domain(d).build());
+    }
+
+    private boolean isFailing(TierStats tierStats) {
+        return tierStats != null
+                && tierStats.getAttempts() >= settings.getMinSamples()
+                && tierStats.getSuccessRate() < settings.getFailureThreshold();
+    }
+
+    private boolean isReprobeDue(TierStats tierStats, LocalDateTime now) {
+        return tierStats.getLastAttemptAt() == null
+                || tierStats.getLastAttemptAt().plusMinutes(settings.getReprobeAfterMinutes()).isBefore(now);
+    }
+
+    private static DomainExtractionStats copyOf(DomainExtractionStats stats) {
+        Map<Tier, TierStats> tiers = new EnumMap<>(Tier.class);
+        stats.getTiers().forEach((tier, tierStats) -> tiers.put(tier, tierStats.toBuilder().build()));
+        return DomainExtractionStats.builder()
+                .domain(stats.getDomain())
+                .tiers(tiers)
+                .updatedAt(stats.getUpdatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,260 @@
+package sn.ssi.veille.services.implementation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.jsoup.UnsupportedMimeTypeException;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.services.implementation.ProxyRotatorService.ProxyInfo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Client HTTP partagé pour l'extraction des articles ({@link HttpClient} du JDK).
+ * <p>
+ * Un seul client pour les requêtes directes (et un par proxy) : connexions
+ * keep-alive par hôte, HTTP/2 quand le serveur le propose, sessions TLS et
+ * résolution DNS réutilisées d'une URL à l'autre. Les réponses gzip/deflate
+ * sont décompressées et le corps est plafonné avant d'être rendu à Jsoup.
+ */
+@Slf4j
+@Service
+public class HttpFetchClient {
+
+    private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8";
+    private static final String ACCEPT_JSON = "application/json,text/plain;q=0.9,*/*;q=0.1";
+
+    /** Types XML acceptés en plus de text/* (même règle que Jsoup.connect) */
+    private static final Pattern XML_CONTENT_TYPE = Pattern.compile("(application|text)/\\w*\\+?xml.*",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern JSON_CONTENT_TYPE = Pattern.compile("application/[\\w.-]*\\+json.*");
+
+    private final ScrapingConfig.Fetch settings;
+    private final HttpClient directClient;
+
+    /** Clients par proxy, les moins récemment utilisés sont fermés au-delà de maxProxyClients */
+    private final Map<String, HttpClient> proxyClients;
+
+    public HttpFetchClient(ScrapingConfig scrapingConfig) {
+        this.settings = scrapingConfig.getFetch();
+        this.directClient = newClient(null);
+        this.proxyClients = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, HttpClient> eldest) {
+                if (size() > Math.max(1, settings.getMaxProxyClients())) {
+                    // Arrêt sans attente : les requêtes en cours se terminent
+                    eldest.getValue().shutdown();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Page récupérée.
+     *
+     * @param uri     L'URL finale (après redirections), base des liens relatifs.
+     * @param body    Le corps décompressé (tronqué à maxBodyBytes).
+     * @param charset Le charset annoncé par le serveur (null si absent).
+     */
+    public record FetchedPage(URI uri, int status, String contentType, String charset, byte[] body,
+            boolean truncated) {
+    }
+
+    /**
+     * Récupère une page.
+     *
+     * @param url       L'URL.
+     * @param userAgent Le User-Agent à présenter.
+     * @param proxy     Le proxy (null : connexion directe).
+     * @return La page, corps décompressé.
+     * @throws HttpStatusException Si le serveur répond par un statut d'erreur (>= 400).
+     * @throws UnsupportedMimeTypeException Si la réponse n'est ni du texte ni
+     *         du XML (PDF, image...).
+     */
+    public FetchedPage fetch(String url, String userAgent, ProxyInfo proxy) throws IOException, InterruptedException {
+        return fetch(url, userAgent, proxy, ACCEPT, HttpFetchClient::isSupported);
+    }
+
+    /**
+     * Récupère une réponse JSON (ex: API publique de Reddit).
+     *
+     * @throws UnsupportedMimeTypeException Si la réponse n'est ni du JSON ni
+     *         du texte.
+     */
+    public FetchedPage fetchJson(String url, String userAgent, ProxyInfo proxy)
+            throws IOException, InterruptedException {
+        return fetch(url, userAgent, proxy, ACCEPT_JSON, HttpFetchClient::isJson);
+    }
+
+    private FetchedPage fetch(String url, String userAgent, ProxyInfo proxy, String accept,
+            Predicate<String> allowedType) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(settings.getRequestTimeoutMs()))
+                .header("User-Agent", userAgent)
+                .header("Accept", accept)
+                .header("Accept-Language", "en-US,en;q=0.5")
+                // Pas de brotli : non décodable avec le JDK seul
+                .header("Accept-Encoding", "gzip, deflate")
+                .header("DNT", "1")
+                .header("Upgrade-Insecure-Requests", "1")
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response = clientFor(proxy).send(request, HttpResponse.BodyHandlers.ofInputStream());
+        int status = response.statusCode();
+        if (status >= 400) {
+            // Libère la connexion sans lire le corps
+            response.body().close();
+            throw new HttpStatusException("HTTP error fetching URL", status, url);
+        }
+
+        String contentType = response.headers().firstValue("Content-Type").orElse(null);
+        if (!allowedType.test(contentType)) {
+            response.body().close();
+            throw new UnsupportedMimeTypeException("Type de contenu non supporté", contentType, url);
+        }
+        String encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+        long limit = settings.getMaxBodyBytes();
+
+        try (InputStream body = decode(response.body(), encoding)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            byte[] buffer = new byte[8192];
+            boolean truncated = false;
+            int n;
+            while ((n = body.read(buffer)) > 0) {
+                int allowed = (int) Math.min(n, limit - out.size());
+                out.write(buffer, 0, allowed);
+                if (allowed < n) {
+                    truncated = true;
+                    log.warn("Réponse tronquée à {} octets pour {}", limit, url);
+                    break;
+                }
+            }
+            return new FetchedPage(response.uri(), status, contentType, charsetOf(contentType), out.toByteArray(),
+                    truncated);
+        }
+    }
+
+    private HttpClient clientFor(ProxyInfo proxy) {
+        if (proxy == null) {
+            return directClient;
+        }
+        synchronized (proxyClients) {
+            return proxyClients.computeIfAbsent(proxy.key(), key -> newClient(proxy));
+        }
+    }
+
+    private HttpClient newClient(ProxyInfo proxy) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofMillis(settings.getConnectTimeoutMs()))
+                .executor(Executors.newVirtualThreadPerTaskExecutor());
+        if (proxy != null) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(proxy.host(), proxy.port())));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Décompression selon Content-Encoding. "deflate" est normalement au
+     * format zlib, mais certains serveurs envoient du deflate brut.
+     */
+    static InputStream decode(InputStream in, String encoding) throws IOException {
+        return switch (encoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(in, 8192);
+            case "deflate" -> {
+                PushbackInputStream pushback = new PushbackInputStream(in, 2);
+                int cmf = pushback.read();
+                int flg = pushback.read();
+                if (flg >= 0) {
+                    pushback.unread(flg);
+                }
+                if (cmf >= 0) {
+                    pushback.unread(cmf);
+                }
+                boolean zlib = cmf >= 0 && flg >= 0 && (cmf & 0x0F) == 8 && ((cmf << 8) | flg) % 31 == 0;
+                yield new InflaterInputStream(pushback, new Inflater(!zlib), 8192) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            inf.end(); // Inflater fourni : non libéré par close()
+                        }
+                    }
+                };
+            }
+            default -> in;
+        };
+    }
+
+    /**
+     * text/*, application/xhtml+xml, application/xml et variantes +xml. Une
+     * réponse sans Content-Type est acceptée, comme avec Jsoup.
+     */
+    static boolean isSupported(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.trim();
+        return type.regionMatches(true, 0, "text/", 0, 5) || XML_CONTENT_TYPE.matcher(type).matches();
+    }
+
+    /**
+     * application/json et variantes +json, ou texte.
+     */
+    static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return true;
+        }
+        String type = contentType.trim().toLowerCase(Locale.ROOT);
+        return type.startsWith("application/json") || JSON_CONTENT_TYPE.matcher(type).matches()
+                || type.startsWith("text/");
+    }
+
+    static String charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String trimmed = param.trim();
+            if (trimmed.regionMatches(true, 0, "charset=", 0, 8)) {
+                String value = trimmed.substring(8).trim().replace("\"", "");
+                return value.isEmpty() ? null : value;
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        directClient.close();
+        synchronized (proxyClients) {
+            proxyClients.values().forEach(HttpClient::close);
+            proxyClients.clear();
+        }
+    }
+}
@@ -0,0 +1,518 @@
+package sn.ssi.veille.services.implementation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.config.ScrapingConfig.StageSettings;
+import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry.Step;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.models.repositories.ArticleRepository;
+import sn.ssi.veille.models.repositories.SourceRepository;
+import sn.ssi.veille.services.AIService;
+import sn.ssi.veille.services.ClusteringService;
+import sn.ssi.veille.services.ContentExtractionService;
+import sn.ssi.veille.services.CrossReferenceService;
+import sn.ssi.veille.services.ScrapingService.PipelineStageStats;
+import sn.ssi.veille.utils.ContentFingerprint;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline d'ingestion des articles collectés :
+ * extraction → nettoyage → sauvegarde → enrichissement → clustering → corrélation.
+ * <p>
+ * Chaque étage a sa propre file bornée et ses propres workers (threads
+ * virtuels). Une file pleine bloque l'étage précédent : un LLM lent ralentit
+ * son étage sans saturer la mémoire ni bloquer la récupération des flux
+ * au-delà de la capacité des files.
+ * <p>
+ * Chaque étape terminée est inscrite au {@link ScrapeJournal} ; au démarrage,
+ * les articles interrompus reprennent à l'étage suivant leur dernière étape.
+ * <p>
+ * Un article dont l'empreinte de contenu correspond à un article récent
+ * (republication, syndication) reprend son contenu nettoyé et son
+ * enrichissement : ni extraction ni appel LLM.
+ */
+@Slf4j
+@Service
+public class IngestionPipeline {
+
+    private final ArticleRepository articleRepository;
+    private final AIService aiService;
+    private final ClusteringService clusteringService;
+    private final CrossReferenceService crossReferenceService;
+    private final ContentExtractionService contentExtractionService;
+    private final UrlDeduplicationService urlDeduplicationService;
+    private final ScrapeJournal scrapeJournal;
+    private final SourceRepository sourceRepository;
+    private final int fingerprintReuseDays;
+
+    private final Stage extract;
+    private final Stage clean;
+    private final Stage persist;
+    private final Stage enrich;
+    private final Stage cluster;
+    private final Stage correlate;
+    private final List<Stage> stages;
+
+    /** URLs soumises mais pas encore sauvegardées (évite un double traitement entre deux runs) */
+    private final Set<String> inFlightUrls = ConcurrentHashMap.newKeySet();
+
+    private final List<Thread> workers = new ArrayList<>();
+
+    public IngestionPipeline(ArticleRepository articleRepository,
+            AIService aiService,
+            ClusteringService clusteringService,
+            CrossReferenceService crossReferenceService,
+            ContentExtractionService contentExtractionService,
+            UrlDeduplicationService urlDeduplicationService,
+            ScrapeJournal scrapeJournal,
+            SourceRepository sourceRepository,
+            ScrapingConfig scrapingConfig) {
+        this.articleRepository = articleRepository;
+        this.aiService = aiService;
+        this.clusteringService = clusteringService;
+        this.crossReferenceService = crossReferenceService;
+        this.contentExtractionService = contentExtractionService;
+        this.urlDeduplicationService = urlDeduplicationService;
+        this.scrapeJournal = scrapeJournal;
+        this.sourceRepository = sourceRepository;
+        this.fingerprintReuseDays = scrapingConfig.getFingerprintReuseDays();
+
+        ScrapingConfig.Pipeline settings = scrapingConfig.getPipeline();
+        this.extract = new Stage("extract", settings.getExtract(), this::extract);
+        this.clean = new Stage("clean", settings.getClean(), this::clean);
+        this.persist = new Stage("persist", settings.getPersist(), this::persist);
+        this.enrich = new Stage("enrich", settings.getEnrich(), this::enrich);
+        this.cluster = new Stage("cluster", settings.getCluster(), settings.getClusterBatchSize(),
+                settings.getClusterBatchLingerMs(), this::cluster);
+        this.correlate = new Stage("correlate", settings.getCorrelate(), this::correlate);
+        this.stages = List.of(extract, clean, persist, enrich, cluster, correlate);
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (!workers.isEmpty()) {
+            return;
+        }
+        for (Stage stage : stages) {
+            for (int i = 0; i < stage.workers; i++) {
+                workers.add(Thread.ofVirtual()
+                        .name("pipeline-" + stage.name + "-" + i)
+                        .start(stage::runWorker));
+            }
+        }
+        log.info("Pipeline d'ingestion démarré ({} workers)", workers.size());
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        workers.forEach(Thread::interrupt);
+        workers.clear();
+    }
+
+    /**
+     * Soumet un nouvel article au pipeline. Bloque si la file d'extraction est
+     * pleine (backpressure sur la collecte).
+     *
+     * @param article L'article nettoyé (XSS), non encore sauvegardé.
+     * @param source  La source d'origine.
+     * @return false si l'URL est déjà en cours de traitement.
+     */
+    public boolean submit(Article article, Source source) {
+        String url = article.getUrlOrigine();
+        if (url != null && !inFlightUrls.add(url)) {
+            return false;
+        }
+        if (article.getContentFingerprint() == null) {
+            article.setContentFingerprint(ContentFingerprint.of(article.getTitre(), article.getContenu()));
+        }
+        try {
+            scrapeJournal.articleFetched(article, source);
+            extract.put(new Job(article, source, article.getContenu()));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(article);
+            return false;
+        }
+    }
+
+    /**
+     * Reprend, hors du thread de démarrage, les articles restés dans le
+     * journal lors d'un arrêt précédent.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeFromJournalAsync() {
+        Thread.ofVirtual().name("pipeline-resume").start(this::resumeFromJournal);
+    }
+
+    public void resumeFromJournal() {
+        List<ScrapeJournalEntry> entries = scrapeJournal.claimPending(ScrapeJournalEntry.Kind.ARTICLE);
+        int resumed = 0;
+        for (ScrapeJournalEntry entry : entries) {
+            try {
+                if (resume(entry)) {
+                    resumed++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Reprise de {} impossible: {}", entry.getUrl(), e.getMessage());
+            }
+        }
+        if (!entries.isEmpty()) {
+            log.info("♻️ Pipeline : {}/{} articles interrompus repris depuis le journal", resumed, entries.size());
+        }
+    }
+
+    /**
+     * Replace un article à l'étage qui suit sa dernière étape terminée.
+     *
+     * @return false si l'article n'est plus récupérable ou déjà en cours.
+     */
+    private boolean resume(ScrapeJournalEntry entry) throws InterruptedException {
+        Source source = entry.getSourceId() != null
+                ? sourceRepository.findById(entry.getSourceId()).orElse(null)
+                : null;
+
+        if (entry.getStep() == Step.FETCHED || entry.getStep() == Step.EXTRACTED) {
+            // Pas encore sauvegardé : l'article est dans le journal
+            Article article = entry.getArticle();
+            if (article == null || (article.getUrlOrigine() != null && !inFlightUrls.add(article.getUrlOrigine()))) {
+                return false;
+            }
+            Job job = new Job(article, source, entry.getRssDescription());
+            if (entry.getStep() == Step.FETCHED) {
+                extract.put(job);
+            } else if (entry.getExtractedContent() != null) {
+                clean.put(job.withExtracted(entry.getExtractedContent()));
+            } else {
+                persist.put(job);
+            }
+            return true;
+        }
+
+        // Déjà sauvegardé : on repart de la version en base
+        Article article = entry.getArticleId() != null
+                ? articleRepository.findById(entry.getArticleId()).orElse(null)
+                : null;
+        if (article == null) {
+            scrapeJournal.articleCompleted(Article.builder().urlOrigine(entry.getUrl()).build());
+            return false;
+        }
+        Job job = new Job(article, source, entry.getRssDescription());
+        switch (entry.getStep()) {
+            case PERSISTED -> enrich.put(job);
+            case ENRICHED -> cluster.put(job);
+            case CLUSTERED -> correlate.put(job);
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * État des étages : profondeur de file, workers et débit.
+     */
+    public List<PipelineStageStats> getStats() {
+        return stages.stream().map(Stage::snapshot).toList();
+    }
+
+    // ===== Étages =====
+
+    /**
+     * Extraction du contenu complet ; seul un contenu plus long que le résumé
+     * RSS passe par le nettoyage.
+     */
+    private void extract(Job job) throws InterruptedException {
+        Article article = job.article();
+        if (reuseTwin(article)) {
+            persist.put(job);
+            return;
+        }
+        try {
+            String fullContent = contentExtractionService.extractFullContent(article.getUrlOrigine()).join();
+            if (fullContent != null && fullContent
+                    .length() > (article.getContenu() != null ? article.getContenu().length() : 0)) {
+                String extracted = ScrapingServiceImpl.sanitizeContent(fullContent);
+                scrapeJournal.articleExtracted(article, job.source(), job.rssDescription(), extracted);
+                clean.put(job.withExtracted(extracted));
+                return;
+            }
+            scrapeJournal.articleExtracted(article, job.source(), job.rssDescription(), null);
+        } catch (Exception e) {
+            log.warn("Echec extraction contenu pour {}: {}", article.getUrlOrigine(), e.getMessage());
+        }
+        persist.put(job);
+    }
+
+    /**
+     * Reprend le contenu nettoyé d'un article récent de même empreinte, ainsi
+     * que son enrichissement (tags, gravité, catégorie, vecteur) s'il a été
+     * enrichi.
+     *
+     * @return true si un article identique a été trouvé.
+     */
+    private boolean reuseTwin(Article article) {
+        if (article.getContentFingerprint() == null) {
+            return false;
+        }
+        Article twin;
+        try {
+            twin = articleRepository.findFirstByContentFingerprintAndDatePublicationAfterOrderByDatePublicationDesc(
+                    article.getContentFingerprint(), LocalDateTime.now().minusDays(fingerprintReuseDays))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("Recherche par empreinte échouée pour {}: {}", article.getUrlOrigine(), e.getMessage());
+            return false;
+        }
+        if (twin == null) {
+            return false;
+        }
+
+        if (twin.getContenu() != null && !twin.getContenu().isBlank()) {
+            article.setContenu(twin.getContenu());
+        }
+        boolean enriched = twin.getVector() != null && !twin.getVector().isEmpty();
+        if (enriched) {
+            article.setTags(twin.getTags());
+            article.setGravite(twin.getGravite());
+            article.setCategorieId(twin.getCategorieId());
+            article.setVector(twin.getVector());
+        }
+        log.info("♻️ {} identique à l'article {} : contenu{} réutilisé", article.getUrlOrigine(), twin.getId(),
+                enriched ? " et enrichissement" : "");
+        return true;
+    }
+
+    private void clean(Job job) throws InterruptedException {
+        String cleanText = job.extracted();
+
+        // Mode fusionné (par source) : nettoyage + enrichissement en une requête
+        if (job.source() != null && job.source().isFusedAiMode() && aiService.isAvailable()
+                && cleanText != null && !cleanText.isBlank()) {
+            try {
+                if (aiService.cleanAndEnrichArticle(job.article(), cleanText).join()) {
+                    persist.put(job.withAiEnriched());
+                    return;
+                }
+            } catch (Exception e) {
+                log.warn("Echec du mode IA fusionné, repli sur nettoyage + enrichissement: {}", e.getMessage());
+            }
+        }
+
+        // AI Premium Cleaning (Fix encoding & boilerplate)
+        if (aiService.isAvailable()) {
+            try {
+                log.debug("Nettoyage IA en cours pour {}...", job.article().getTitre());
+                cleanText = aiService.cleanContent(cleanText).join();
+            } catch (Exception e) {
+                log.warn("Echec nettoyage IA (fallback regex): {}", e.getMessage());
+            }
+        }
+
+        // Sécurité finale : ne jamais écraser avec du vide
+        if (cleanText != null && !cleanText.isBlank()) {
+            job.article().setContenu(cleanText);
+        }
+        persist.put(job);
+    }
+
+    private void persist(Job job) throws InterruptedException {
+        Article article = job.article();
+        try {
+            // FALLBACK RSS : Si contenu toujours vide, garder le résumé RSS
+            String rssDescription = job.rssDescription();
+            if ((article.getContenu() == null || article.getContenu().isBlank())
+                    && rssDescription != null && !rssDescription.isBlank()) {
+                article.setContenu(rssDescription);
+                log.info("📝 Fallback RSS pour {} (résumé conservé)", article.getTitre());
+            }
+
+            Article saved = articleRepository.save(article);
+            urlDeduplicationService.register(article.getUrlOrigine());
+
+            // Enrichissement repris d'un article identique, ou déjà fait par le
+            // mode fusionné : directement au clustering
+            if (job.aiEnriched() || (article.getVector() != null && !article.getVector().isEmpty())) {
+                scrapeJournal.articleReached(saved, Step.ENRICHED);
+                cluster.put(new Job(saved, job.source(), rssDescription));
+            }
+            // Enrichissement IA (Post-traitement)
+            else if (aiService.isAvailable()) {
+                scrapeJournal.articleReached(saved, Step.PERSISTED);
+                enrich.put(new Job(saved, job.source(), rssDescription));
+            } else {
+                scrapeJournal.articleCompleted(article);
+            }
+        } finally {
+            release(article);
+        }
+    }
+
+    private void enrich(Job job) throws InterruptedException {
+        // Enrichissement (Catégories, Tags, Gravité) ; un échec arrête la chaîne
+        Article enriched = aiService.enrichArticle(job.article()).join();
+        articleRepository.save(enriched);
+        scrapeJournal.articleReached(enriched, Step.ENRICHED);
+        cluster.put(new Job(enriched, job.source(), job.rssDescription()));
+    }
+
+    /**
+     * Clustering (Calcul Vectoriel + Story Grouping) par lots : les embeddings
+     * du lot partent en une seule requête.
+     */
+    private void cluster(List<Job> jobs) throws InterruptedException {
+        List<Article> clustered = jobs.stream().map(Job::article).toList();
+        try {
+            clustered = clusteringService.processClustering(clustered).join();
+        } catch (Exception e) {
+            log.error("⚠️ Clustering failed for {} articles: {}", jobs.size(), e.getMessage());
+        }
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            Article article = i < clustered.size() ? clustered.get(i) : job.article();
+            scrapeJournal.articleReached(article, Step.CLUSTERED);
+            correlate.put(new Job(article, job.source(), job.rssDescription()));
+        }
+    }
+
+    private void correlate(Job job) {
+        // Cross-referencing (Corrélation par Tags)
+        crossReferenceService.processCorrelations(job.article());
+        scrapeJournal.articleCompleted(job.article());
+    }
+
+    private void release(Article article) {
+        if (article.getUrlOrigine() != null) {
+            inFlightUrls.remove(article.getUrlOrigine());
+        }
+    }
+
+    // ===== Infrastructure =====
+
+    private record Job(Article article, Source source, String rssDescription, String extracted,
+            boolean aiEnriched) {
+
+        Job(Article article, Source source, String rssDescription) {
+            this(article, source, rssDescription, null, false);
+        }
+
+        Job withExtracted(String content) {
+            return new Job(article, source, rssDescription, content, false);
+        }
+
+        Job withAiEnriched() {
+            return new Job(article, source, rssDescription, extracted, true);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StageHandler {
+        void handle(Job job) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface BatchHandler {
+        void handle(List<Job> jobs) throws Exception;
+    }
+
+    private static final class Stage {
+
+        private final String name;
+        private final int workers;
+        private final int capacity;
+        private final BlockingQueue<Job> queue;
+        private final int batchSize;
+        private final long lingerNanos;
+        private final BatchHandler handler;
+        private final StageMetrics metrics = new StageMetrics();
+
+        Stage(String name, StageSettings settings, StageHandler handler) {
+            this(name, settings, 1, 0, jobs -> handler.handle(jobs.getFirst()));
+        }
+
+        /**
+         * Étage par lots : un worker prend jusqu'à batchSize articles, en
+         * attendant au plus lingerMs que le lot se complète.
+         */
+        Stage(String name, StageSettings settings, int batchSize, long lingerMs, BatchHandler handler) {
+            this.name = name;
+            this.workers = Math.max(1, settings.getWorkers());
+            this.capacity = Math.max(1, settings.getQueueCapacity());
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.batchSize = Math.max(1, batchSize);
+            this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+            this.handler = handler;
+        }
+
+        void put(Job job) throws InterruptedException {
+            queue.put(job);
+        }
+
+        void runWorker() {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Job> jobs;
+                try {
+                    jobs = takeBatch();
+                } catch (InterruptedException e) {
+                    return;
+                }
+
+                long start = System.nanoTime();
+                try {
+                    handler.handle(jobs);
+                    long share = (System.nanoTime() - start) / jobs.size();
+                    jobs.forEach(job -> metrics.recordSuccess(share));
+                } catch (InterruptedException e) {
+                    return;
+                } catch (Exception e) {
+                    long share = (System.nanoTime() - start) / jobs.size();
+                    jobs.forEach(job -> metrics.recordFailure(share));
+                    log.error("Erreur étage {} pour {}: {}", name,
+                            jobs.size() == 1 ? jobs.getFirst().article().getUrlOrigine() : jobs.size() + " articles",
+                            e.getMessage());
+                }
+            }
+        }
+
+        private List<Job> takeBatch() throws InterruptedException {
+            List<Job> jobs = new ArrayList<>(batchSize);
+            jobs.add(queue.take());
+            long deadline = System.nanoTime() + lingerNanos;
+            while (jobs.size() < batchSize) {
+                queue.drainTo(jobs, batchSize - jobs.size());
+                long remaining = deadline - System.nanoTime();
+                if (jobs.size() >= batchSize || remaining <= 0) {
+                    break;
+                }
+                Job next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                jobs.add(next);
+            }
+            return jobs;
+        }
+
+        PipelineStageStats snapshot() {
+            return metrics.snapshot(name, queue.size(), capacity, workers);
+        }
+    }
+}
@@ -1,9 +1,6 @@
 package sn.ssi.veille.services.implementation;
 
 import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserType;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.options.LoadState;
 import com.microsoft.playwright.options.Proxy;
 import lombok.RequiredArgsConstructor;
@@ -11,13 +8,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import sn.ssi.veille.models.entities.DomainExtractionStats.Tier;
 import sn.ssi.veille.services.ContentExtractionService;
 import sn.ssi.veille.services.implementation.ProxyRotatorService.ProxyInfo;
+import sn.ssi.veille.utils.ContentContainerDetector;
+import sn.ssi.veille.utils.TextSanitizer;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
 @Slf4j
@@ -25,95 +26,121 @@ import java.util.concurrent.CompletableFuture;
 @RequiredArgsConstructor
 public class JsoupContentExtractionService implements ContentExtractionService {
 
-    private static final int TIMEOUT_MS = 15000;
-
     private final ProxyRotatorService proxyRotator;
+    private final BrowserPoolService browserPool;
+    private final RequestThrottler requestThrottler;
+    private final HttpFetchClient httpFetchClient;
+    private final ExtractionStrategyService extractionStrategy;
+    private final ExtractionCache extractionCache;
 
     @Override
     @Async
     public CompletableFuture<String> extractFullContent(String url) {
+        // Cache par URL canonique ; appels simultanés pour la même URL partagés
+        return CompletableFuture.completedFuture(extractionCache.getOrExtract(url, () -> extract(url)));
+    }
+
+    private String extract(String url) {
         // Stratégie spécifique pour Reddit via API JSON (contournement antibot)
         if (url.contains("reddit.com")) {
             String jsonContent = extractFromRedditJson(url);
             if (jsonContent != null && !jsonContent.isEmpty()) {
-                return CompletableFuture.completedFuture(cleanText(jsonContent));
+                return cleanText(jsonContent);
             }
         }
 
         String userAgent = proxyRotator.getRandomUserAgent();
 
-        // === ÉTAPE 1 : Jsoup SANS proxy (rapide, léger) ===
+        // Stratégies dans l'ordre retenu pour le domaine (les moins coûteuses
+        // qui fonctionnent d'abord, Playwright en dernier recours)
+        for (Tier tier : extractionStrategy.plan(url)) {
+            if (tier == Tier.PROXY && !proxyRotator.hasProxies()) {
+                continue;
+            }
+            long start = System.nanoTime();
+            String result = switch (tier) {
+                case DIRECT -> extractDirect(url, userAgent);
+                case PROXY -> extractWithProxy(url, userAgent);
+                case BROWSER -> extractBrowser(url, userAgent);
+            };
+            boolean success = result != null;
+            extractionStrategy.record(url, tier, success, (System.nanoTime() - start) / 1_000_000);
+            if (success) {
+                return result;
+            }
+        }
+
+        // === Tout a échoué ===
+        log.warn("❌ Extraction impossible pour {} (toutes stratégies épuisées)", url);
+        return null;
+    }
+
+    /**
+     * Étape 1 : Jsoup SANS proxy (rapide, léger).
+     */
+    private String extractDirect(String url, String userAgent) {
         try {
-            String result = extractWithJsoup(url, userAgent, null);
+            String result = requestThrottler.execute(null, url, () -> extractWithJsoup(url, userAgent, null));
             if (result != null && result.length() >= 300) {
-                return CompletableFuture.completedFuture(result);
+                return result;
             }
             log.debug("Jsoup direct insuffisant ({} chars) pour {}", result != null ? result.length() : 0, url);
         } catch (Exception e) {
             log.debug("Jsoup direct échoué pour {} : {}", url, e.getMessage());
         }
+        return null;
+    }
 
-        // === ÉTAPE 2 : Jsoup AVEC proxy rotatif ===
-        if (proxyRotator.hasProxies()) {
-            ProxyInfo proxy = proxyRotator.getNext();
-            if (proxy != null) {
-                try {
-                    log.info("🔄 Tentative Jsoup+Proxy ({}) pour {}", proxy.key(), url);
-                    String result = extractWithJsoup(url, userAgent, proxy);
-                    if (result != null && result.length() >= 300) {
-                        return CompletableFuture.completedFuture(result);
-                    }
-                    proxyRotator.markBad(proxy); // Proxy pas efficace
-                } catch (Exception e) {
-                    proxyRotator.markBad(proxy);
-                    log.debug("Jsoup+Proxy échoué pour {} : {}", url, e.getMessage());
-                }
+    /**
+     * Étape 2 : Jsoup AVEC proxy rotatif.
+     */
+    private String extractWithProxy(String url, String userAgent) {
+        ProxyInfo proxy = proxyRotator.getNext();
+        if (proxy == null) {
+            return null;
+        }
+        try {
+            log.info("🔄 Tentative Jsoup+Proxy ({}) pour {}", proxy.key(), url);
+            long start = System.nanoTime();
+            String result = requestThrottler.execute(null, url, () -> extractWithJsoup(url, userAgent, proxy));
+            if (result != null && result.length() >= 300) {
+                proxyRotator.markGood(proxy, (System.nanoTime() - start) / 1_000_000);
+                return result;
             }
+            proxyRotator.markBad(proxy); // Proxy pas efficace
+        } catch (Exception e) {
+            proxyRotator.markBad(proxy);
+            log.debug("Jsoup+Proxy échoué pour {} : {}", url, e.getMessage());
         }
+        return null;
+    }
 
-        // === ÉTAPE 3 : Playwright AVEC proxy (navigateur complet) ===
+    /**
+     * Étape 3 : Playwright AVEC proxy (navigateur complet).
+     */
+    private String extractBrowser(String url, String userAgent) {
         log.info("🎭 Fallback Playwright pour {}", url);
         String playwrightResult = extractWithPlaywright(url, userAgent);
-        if (playwrightResult != null && !playwrightResult.isBlank()) {
-            return CompletableFuture.completedFuture(playwrightResult);
-        }
-
-        // === ÉTAPE 4 : Tout a échoué ===
-        log.warn("❌ Extraction impossible pour {} (toutes stratégies épuisées)", url);
-        return CompletableFuture.completedFuture(null);
+        return playwrightResult != null && !playwrightResult.isBlank() ? playwrightResult : null;
     }
 
     /**
-     * Extraction via Jsoup, avec ou sans proxy.
+     * Extraction via le client HTTP partagé (avec ou sans proxy), analyse
+     * par Jsoup.
      */
-    private String extractWithJsoup(String url, String userAgent, ProxyInfo proxy) throws IOException {
-        var connection = Jsoup.connect(url)
-                .userAgent(userAgent)
-                .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
-                .header("Accept-Language", "en-US,en;q=0.5")
-                .header("Accept-Encoding", "gzip, deflate")
-                .header("Accept-Charset", "utf-8") // Request UTF-8 explicitly
-                .header("DNT", "1")
-                .header("Upgrade-Insecure-Requests", "1")
-                .timeout(TIMEOUT_MS)
-                .followRedirects(true);
-
-        // Appliquer le proxy si disponible
-        if (proxy != null) {
-            connection.proxy(proxy.host(), proxy.port());
-        }
-
-        // Force execution to handle charset manually if needed
-        org.jsoup.Connection.Response response = connection.execute();
+    private String extractWithJsoup(String url, String userAgent, ProxyInfo proxy)
+            throws IOException, InterruptedException {
+        HttpFetchClient.FetchedPage page = httpFetchClient.fetch(url, userAgent, proxy);
 
         // Fix encoding: if charset is not explicitly set by server, assume UTF-8
         // (common modern web)
         // or check for "ISO-8859-1" default which is often wrong for modern sites
-        if (response.charset() == null || response.charset().equalsIgnoreCase("ISO-8859-1")) {
-            response.charset("UTF-8");
+        String charset = page.charset();
+        if (charset == null || charset.equalsIgnoreCase("ISO-8859-1")) {
+            charset = "UTF-8";
         }
 
-        Document doc = response.parse();
+        Document doc = Jsoup.parse(new ByteArrayInputStream(page.body()), charset, page.uri().toString());
 
         // Nettoyage initial (supprimer les éléments inutiles)
         doc.select(
@@ -149,15 +176,13 @@ public class JsoupContentExtractionService implements ContentExtractionService {
 
             log.info("Tentative extraction Reddit via API JSON : {}", jsonUrl);
 
-            // Appel HTTP simple (Jsoup ignoreContentType pour récupérer le JSON)
-            org.jsoup.Connection.Response response = Jsoup.connect(jsonUrl)
-                    .userAgent(proxyRotator.getRandomUserAgent())
-                    .ignoreContentType(true)
-                    .execute();
+            // Appel HTTP simple via le client partagé (connexion réutilisée)
+            String redditUrl = jsonUrl;
+            HttpFetchClient.FetchedPage page = requestThrottler.execute(null, redditUrl,
+                    () -> httpFetchClient.fetchJson(redditUrl, proxyRotator.getRandomUserAgent(), null));
 
             // Force UTF-8 for JSON content (Reddit API is UTF-8)
-            response.charset("UTF-8");
-            String jsonResponse = response.body();
+            String jsonResponse = new String(page.body(), StandardCharsets.UTF_8);
 
             com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
             com.fasterxml.jackson.databind.JsonNode root = mapper.readTree(jsonResponse);
@@ -204,51 +229,45 @@ public class JsoupContentExtractionService implements ContentExtractionService {
      * dynamiques/protégés. Utilise un proxy rotatif si disponible.
      */
     private String extractWithPlaywright(String url, String userAgent) {
-        try (Playwright playwright = Playwright.create()) {
-
-            var launchOptions = new BrowserType.LaunchOptions()
-                    .setHeadless(true)
-                    .setArgs(java.util.List.of(
-                            "--disable-blink-features=AutomationControlled",
-                            "--disable-dev-shm-usage",
-                            "--no-sandbox"));
-
-            // Configurer proxy Playwright si disponible
-            ProxyInfo proxy = proxyRotator.getNext();
-            if (proxy != null) {
-                launchOptions.setProxy(new Proxy("http://" + proxy.key()));
-                log.info("🎭 Playwright avec proxy {} pour {}", proxy.key(), url);
-            }
+        // Contexte isolé avec User-Agent réaliste et proxy rotatif si disponible
+        var contextOptions = new Browser.NewContextOptions()
+                .setUserAgent(userAgent)
+                .setViewportSize(1920, 1080)
+                .setLocale("en-US");
 
-            Browser browser = playwright.chromium().launch(launchOptions);
-
-            // Context avec User-Agent réaliste
-            com.microsoft.playwright.BrowserContext context = browser.newContext(new Browser.NewContextOptions()
-                    .setUserAgent(userAgent)
-                    .setViewportSize(1920, 1080)
-                    .setLocale("en-US"));
+        ProxyInfo proxy = proxyRotator.getNext();
+        if (proxy != null) {
+            contextOptions.setProxy(new Proxy("http://" + proxy.key()));
+            log.info("🎭 Playwright avec proxy {} pour {}", proxy.key(), url);
+        }
 
-            Page page = context.newPage();
+        try {
+            // Jeton pris avant d'emprunter une page : l'attente ne bloque pas un navigateur du pool
+            requestThrottler.acquire(null, url);
+            String html = browserPool.withPage(contextOptions, page -> {
+                // Bloquer les ressources lourdes (images, CSS, fonts) pour aller plus vite
+                page.route("**/*.{png,jpg,jpeg,gif,svg,css,woff,woff2,ttf}", route -> route.abort());
 
-            // Bloquer les ressources lourdes (images, CSS, fonts) pour aller plus vite
-            page.route("**/*.{png,jpg,jpeg,gif,svg,css,woff,woff2,ttf}", route -> route.abort());
+                // Timeout plus généreux pour le chargement complet
+                page.setDefaultTimeout(30000);
 
-            // Timeout plus généreux pour le chargement complet
-            page.setDefaultTimeout(30000);
+                log.debug("Playwright navigation vers {}", url);
+                page.navigate(url);
 
-            log.debug("Playwright navigation vers {}", url);
-            page.navigate(url);
+                // Tenter d'attendre que le réseau soit calme
+                try {
+                    page.waitForLoadState(LoadState.NETWORKIDLE);
+                    Thread.sleep(1500); // Wait a bit more for rendering
+                } catch (Exception e) {
+                    log.debug("Playwright waitForLoadState timeout, tentative d'extraction quand même.");
+                }
 
-            // Tenter d'attendre que le réseau soit calme
-            try {
-                page.waitForLoadState(LoadState.NETWORKIDLE);
-                Thread.sleep(1500); // Wait a bit more for rendering
-            } catch (Exception e) {
-                log.debug("Playwright waitForLoadState timeout, tentative d'extraction quand même.");
+                // Récupérer le HTML final rendu par JS
+                return page.content();
+            });
+            if (html == null) {
+                return null;
             }
-
-            // Récupérer le HTML final rendu par JS
-            String html = page.content();
             log.info("Playwright a récupéré {} caractères HTML avant nettoyage pour {}", html.length(), url);
 
             Document doc = Jsoup.parse(html);
@@ -261,8 +280,6 @@ public class JsoupContentExtractionService implements ContentExtractionService {
 
             String text = (mainContent != null) ? mainContent.wholeText() : doc.body().wholeText();
 
-            browser.close();
-
             text = cleanText(text);
 
             // Vérifier si c'est une page challenge Cloudflare
@@ -286,27 +303,10 @@ public class JsoupContentExtractionService implements ContentExtractionService {
      * - Remplace les multiples sauts de ligne par un seul double saut
      * - Supprime les espaces insécables et tabulations excessives
      * - Retire les lignes "parasites" communes (Share, Read more...)
+     * Le tout en une seule passe sur le texte (voir {@link TextSanitizer#cleanText}).
      */
     private String cleanText(String text) {
-        if (text == null)
-            return "";
-
-        // 1. Normalisation des espaces (mais garde les sauts de ligne)
-        String cleaned = text.replaceAll("[\\t\\u00A0]+", " ");
-
-        // 2. Gestion des sauts de ligne
-        cleaned = cleaned.replaceAll("\\n\\s*\\n\\s*\\n+", "\n\n");
-
-        // 3. Suppression des lignes vides ou avec juste des espaces
-        cleaned = cleaned.replaceAll("(?m)^[ \\t]+$", "");
-
-        // 4. Alignement à gauche
-        cleaned = cleaned.replaceAll("(?m)^[ \\t]+", "");
-
-        // 5. Filtrage de phrases parasites courantes
-        cleaned = cleaned.replaceAll("(?i)(read more|continue reading|also read|share this post).*", "");
-
-        return cleaned.trim();
+        return TextSanitizer.cleanText(text);
     }
 
     /**
@@ -328,19 +328,8 @@ public class JsoupContentExtractionService implements ContentExtractionService {
         if (commonId != null)
             return commonId;
 
-        // Priorité 3 : Le div qui contient le plus de paragraphes
-        Elements divs = doc.select("div");
-        Element bestDiv = null;
-        int maxParagraphs = 0;
-
-        for (Element div : divs) {
-            int pCount = div.select("p").size();
-            if (pCount > maxParagraphs) {
-                maxParagraphs = pCount;
-                bestDiv = div;
-            }
-        }
-
-        return bestDiv;
+        // Priorité 3 : Score de contenu (paragraphes, texte, densité de liens) en
+        // un seul parcours du DOM
+        return ContentContainerDetector.findBest(doc.body());
     }
 }
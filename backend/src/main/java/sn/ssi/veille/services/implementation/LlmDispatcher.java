@@ -0,0 +1,197 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.AIConfig;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Répartiteur des requêtes vers le fournisseur IA : concurrence bornée et
+ * files par priorité.
+ * <p>
+ * Au plus {@code dispatchMaxConcurrent} requêtes sont en cours chez le
+ * fournisseur. Les autres attendent dans la file de leur voie ; une place
+ * libérée va toujours à la voie la plus prioritaire non vide : un résumé
+ * demandé par un utilisateur passe devant l'enrichissement d'une grosse
+ * collecte, qui passe devant le nettoyage et les tâches de fond. Une voie dont
+ * la file est pleine refuse les nouvelles requêtes
+ * ({@link RejectedExecutionException}) au lieu de laisser l'attente grandir.
+ */
+@Slf4j
+@Service
+public class LlmDispatcher {
+
+    /**
+     * Voies, de la plus prioritaire à la moins prioritaire.
+     */
+    public enum Lane {
+        /** Requêtes attendues par un utilisateur (résumé à la demande) */
+        INTERACTIVE,
+        /** Enrichissement et embeddings des articles collectés */
+        ENRICHMENT,
+        /** Nettoyage, synthèses et rattrapages */
+        BACKGROUND
+    }
+
+    /**
+     * État d'une voie.
+     */
+    public record LaneStats(
+            Lane lane,
+            int queueDepth,
+            int maxQueueDepth,
+            long dispatched,
+            long rejected,
+            double avgWaitMs,
+            double maxWaitMs) {
+    }
+
+    private record Task<T>(Supplier<CompletableFuture<T>> call, CompletableFuture<T> result, long enqueuedAt) {
+
+        void start() {
+            CompletableFuture<T> request;
+            try {
+                request = call.get();
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            request.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(value);
+                }
+            });
+        }
+    }
+
+    private static final class LaneState {
+        private final ArrayDeque<Task<?>> queue = new ArrayDeque<>();
+        private final LongAdder dispatched = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+    }
+
+    private final int maxConcurrent;
+    private final int maxQueueDepth;
+    private final Map<Lane, LaneState> lanes = new EnumMap<>(Lane.class);
+
+    /** Requêtes en cours chez le fournisseur (protégé par this) */
+    private int inFlight;
+
+    public LlmDispatcher(AIConfig aiConfig) {
+        this.maxConcurrent = Math.max(1, aiConfig.getDispatchMaxConcurrent());
+        this.maxQueueDepth = Math.max(0, aiConfig.getDispatchMaxQueueDepth());
+        for (Lane lane : Lane.values()) {
+            lanes.put(lane, new LaneState());
+        }
+    }
+
+    /**
+     * Soumet une requête. Elle part immédiatement si une place est libre,
+     * sinon attend son tour dans sa voie.
+     *
+     * @param lane La voie de la requête.
+     * @param call Lance la requête (appelé une seule fois, au départ).
+     * @return Le résultat de la requête, ou un échec
+     *         {@link RejectedExecutionException} si la file de la voie est
+     *         pleine.
+     */
+    public <T> CompletableFuture<T> submit(Lane lane, Supplier<CompletableFuture<T>> call) {
+        Task<T> task = new Task<>(call, new CompletableFuture<>(), System.nanoTime());
+        LaneState state = lanes.get(lane);
+        synchronized (this) {
+            if (state.queue.size() >= maxQueueDepth && inFlight >= maxConcurrent) {
+                state.rejected.increment();
+                log.debug("File IA {} pleine ({} en attente), requête refusée", lane, state.queue.size());
+                return CompletableFuture.failedFuture(new RejectedExecutionException(
+                        "File IA " + lane + " pleine (" + maxQueueDepth + " requêtes en attente)"));
+            }
+            state.queue.addLast(task);
+        }
+        drain();
+        return task.result();
+    }
+
+    /**
+     * Lance les requêtes en attente tant qu'il reste des places, par ordre de
+     * priorité. Les appels se font hors du verrou.
+     */
+    private void drain() {
+        List<Task<?>> toStart = new ArrayList<>();
+        long now = System.nanoTime();
+        synchronized (this) {
+            while (inFlight < maxConcurrent) {
+                Task<?> next = pollHighestPriority(now);
+                if (next == null) {
+                    break;
+                }
+                inFlight++;
+                toStart.add(next);
+            }
+        }
+        for (Task<?> task : toStart) {
+            task.result().whenComplete((value, error) -> release());
+            task.start();
+        }
+    }
+
+    private Task<?> pollHighestPriority(long now) {
+        for (LaneState state : lanes.values()) {
+            Task<?> task = state.queue.pollFirst();
+            if (task != null) {
+                long waited = now - task.enqueuedAt();
+                state.dispatched.increment();
+                state.waitNanos.add(waited);
+                state.maxWaitNanos.accumulateAndGet(waited, Math::max);
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    /**
+     * @return Le nombre de requêtes en cours chez le fournisseur.
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return L'état de chaque voie, de la plus prioritaire à la moins
+     *         prioritaire.
+     */
+    public List<LaneStats> getStats() {
+        List<LaneStats> stats = new ArrayList<>();
+        for (Map.Entry<Lane, LaneState> entry : lanes.entrySet()) {
+            LaneState state = entry.getValue();
+            int depth;
+            synchronized (this) {
+                depth = state.queue.size();
+            }
+            long dispatched = state.dispatched.sum();
+            double avgWaitMs = dispatched == 0 ? 0.0 : state.waitNanos.sum() / 1_000_000.0 / dispatched;
+            stats.add(new LaneStats(entry.getKey(), depth, maxQueueDepth, dispatched, state.rejected.sum(),
+                    avgWaitMs, state.maxWaitNanos.get() / 1_000_000.0));
+        }
+        return stats;
+    }
+}
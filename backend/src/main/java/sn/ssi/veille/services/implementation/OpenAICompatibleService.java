@@ -1,12 +1,17 @@
 package sn.ssi.veille.services.implementation;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 import sn.ssi.veille.config.AIConfig;
 import sn.ssi.veille.config.PromptConfig;
 import sn.ssi.veille.models.entities.Article;
@@ -14,7 +19,13 @@ import sn.ssi.veille.models.entities.Categorie;
 import sn.ssi.veille.models.entities.Gravite;
 import sn.ssi.veille.models.repositories.CategorieRepository;
 import sn.ssi.veille.services.AIService;
+import sn.ssi.veille.services.implementation.LlmDispatcher.Lane;
+import sn.ssi.veille.utils.CircuitBreaker;
+import sn.ssi.veille.utils.MicroBatcher;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
@@ -23,14 +34,25 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class OpenAICompatibleService implements AIService {
 
+    /** Contenu nettoyé (comme le nettoyage seul) + enrichissement et résumé */
+    private static final int FUSED_MAX_TOKENS = 4500;
+
     private final WebClient webClient;
     private final AIConfig aiConfig;
     private final PromptConfig promptConfig;
     private final CategorieRepository categorieRepository;
     private final ObjectMapper objectMapper;
+    private final CircuitBreaker circuitBreaker;
+    private final MicroBatcher<String, List<Double>> embeddingBatcher;
+    private final EmbeddingCache embeddingCache;
+    private final LlmDispatcher llmDispatcher;
+
+    /** Dernier résultat de la sonde de santé */
+    private volatile boolean providerUp;
+    private volatile boolean probed;
 
     public OpenAICompatibleService(WebClient.Builder webClientBuilder, AIConfig aiConfig, PromptConfig promptConfig,
-            CategorieRepository categorieRepository) {
+            CategorieRepository categorieRepository, EmbeddingCache embeddingCache, LlmDispatcher llmDispatcher) {
 
         reactor.netty.http.client.HttpClient httpClient = reactor.netty.http.client.HttpClient.create()
                 .responseTimeout(java.time.Duration.ofMillis(aiConfig.getTimeout()));
@@ -52,24 +74,81 @@ public class OpenAICompatibleService implements AIService {
         this.aiConfig = aiConfig;
         this.promptConfig = promptConfig;
         this.categorieRepository = categorieRepository;
+        this.embeddingCache = embeddingCache;
+        this.llmDispatcher = llmDispatcher;
         this.objectMapper = new ObjectMapper();
+        this.circuitBreaker = new CircuitBreaker(aiConfig.getCircuitFailureThreshold(), aiConfig.getCircuitOpenMs());
+        this.embeddingBatcher = new MicroBatcher<>(aiConfig.getEmbeddingBatchSize(),
+                aiConfig.getEmbeddingBatchLingerMs(), this::requestEmbeddings);
     }
 
+    /**
+     * Disponibilité du fournisseur : lecture de l'état mis en cache par la
+     * sonde périodique ({@link #probeHealth()}) et du disjoncteur. Seul le
+     * tout premier appel, avant toute sonde, interroge le fournisseur.
+     */
     @Override
     public boolean isAvailable() {
+        if (!probed) {
+            probeHealth();
+        }
+        return providerUp && circuitBreaker.allowRequest();
+    }
+
+    /**
+     * Sonde de santé en arrière-plan (GET /v1/models).
+     */
+    @Scheduled(fixedDelayString = "${ai.provider.health-check-interval-ms:15000}", initialDelay = 0)
+    public void probeHealth() {
+        boolean up;
         try {
-            // Real ping to check if Provider is up
-            return webClient.get()
+            up = webClient.get()
                     .uri("/v1/models")
                     .retrieve()
                     .toBodilessEntity()
                     .map(response -> response.getStatusCode().is2xxSuccessful())
-                    .blockOptional(java.time.Duration.ofSeconds(2))
+                    .blockOptional(java.time.Duration.ofMillis(aiConfig.getHealthCheckTimeoutMs()))
                     .orElse(false);
         } catch (Exception e) {
             log.debug("AI Provider n'est pas accessible : {}", e.getMessage());
-            return false;
+            up = false;
+        }
+        if (probed && up != providerUp) {
+            log.info(up ? "✅ Fournisseur IA de nouveau disponible" : "⚠️ Fournisseur IA indisponible");
         }
+        providerUp = up;
+        probed = true;
+    }
+
+    /**
+     * Passe une requête par le répartiteur (concurrence bornée, priorités).
+     * La requête n'est émise qu'à son départ de la file.
+     */
+    private <T> CompletableFuture<T> dispatch(Lane lane, Mono<T> request) {
+        return llmDispatcher.submit(lane, request::toFuture);
+    }
+
+    /**
+     * Comptabilise le résultat des vraies requêtes dans le disjoncteur.
+     */
+    private <T> Mono<T> tracked(Mono<T> request) {
+        return request
+                .doOnSuccess(result -> {
+                    if (circuitBreaker.recordSuccess()) {
+                        log.info("✅ Disjoncteur IA refermé");
+                    }
+                })
+                .doOnError(ex -> {
+                    // Une requête refusée (4xx) ne dit rien de la santé du fournisseur
+                    if (ex instanceof WebClientResponseException wcre && wcre.getStatusCode().is4xxClientError()
+                            && wcre.getStatusCode().value() != 429) {
+                        return;
+                    }
+                    if (circuitBreaker.recordFailure()) {
+                        log.warn("⚡ Disjoncteur IA ouvert pour {} ms après des échecs répétés : {}",
+                                aiConfig.getCircuitOpenMs(), ex.getMessage());
+                    }
+                });
     }
 
     @Override
@@ -82,7 +161,7 @@ public class OpenAICompatibleService implements AIService {
         String systemPrompt = promptConfig.getEnrichment().getSystem();
         String prompt = buildPrompt(article);
 
-        return webClient.post()
+        return dispatch(Lane.ENRICHMENT, webClient.post()
                 .uri("/v1/chat/completions")
                 .bodyValue(Map.of(
                         "model", aiConfig.getModel(),
@@ -94,8 +173,8 @@ public class OpenAICompatibleService implements AIService {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                 })
-                .map(response -> parseAIResponse(response, article))
-                .toFuture()
+                .transform(this::tracked)
+                .map(response -> parseAIResponse(response, article)))
                 .exceptionally(ex -> {
                     log.error("AI Enrichment Failed for '{}': {}", article.getTitre(), ex.getMessage());
                     return article;
@@ -144,12 +223,7 @@ public class OpenAICompatibleService implements AIService {
             article.setGravite(mapGravity(result.gravity));
 
             // Gestion Catégorie
-            if (result.category != null) {
-                String catName = result.category.trim();
-                Categorie cat = categorieRepository.findByNomCategorie(catName)
-                        .orElseGet(() -> createCategory(catName));
-                article.setCategorieId(cat.getId());
-            }
+            applyCategory(article, result.category);
 
             log.info("Article enrichi par IA : {} (Gravité: {})", article.getTitre(), article.getGravite());
 
@@ -159,6 +233,15 @@ public class OpenAICompatibleService implements AIService {
         return article;
     }
 
+    private void applyCategory(Article article, String category) {
+        if (category != null && !category.isBlank()) {
+            String catName = category.trim();
+            Categorie cat = categorieRepository.findByNomCategorie(catName)
+                    .orElseGet(() -> createCategory(catName));
+            article.setCategorieId(cat.getId());
+        }
+    }
+
     private Gravite mapGravity(int level) {
         return Gravite.fromNiveau(level);
     }
@@ -173,47 +256,134 @@ public class OpenAICompatibleService implements AIService {
                 .build());
     }
 
+    /**
+     * Embedding unitaire : cache d'abord, puis le micro-batcher, qui regroupe
+     * les appels simultanés (pipeline, API) en une seule requête.
+     */
     @Override
     public CompletableFuture<List<Double>> getEmbeddings(String text) {
+        if (text == null || text.isBlank()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        List<Double> cached = embeddingCache.get(text);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
         if (!isAvailable()) {
             return CompletableFuture.completedFuture(List.of());
         }
+        return embeddingBatcher.submit(text)
+                .exceptionally(ex -> {
+                    log.error("Erreur génération embedding: {}", ex.getMessage());
+                    return List.of();
+                });
+    }
 
-        return webClient.post()
+    @Override
+    public CompletableFuture<List<List<Double>>> getEmbeddings(List<String> texts) {
+        List<List<Double>> results = new ArrayList<>(Collections.nCopies(texts.size(), List.<Double>of()));
+
+        // Les textes vides ne partent pas (certains fournisseurs rejettent tout le lot)
+        List<String> valid = texts.stream().filter(text -> text != null && !text.isBlank()).toList();
+        Map<String, List<Double>> cached = embeddingCache.getAll(valid);
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < texts.size(); i++) {
+            String text = texts.get(i);
+            if (text == null || text.isBlank()) {
+                continue;
+            }
+            List<Double> hit = cached.get(text);
+            if (hit != null) {
+                results.set(i, hit);
+            } else {
+                positions.add(i);
+            }
+        }
+        if (positions.isEmpty() || !isAvailable()) {
+            return CompletableFuture.completedFuture(results);
+        }
+
+        int batchSize = Math.max(1, aiConfig.getEmbeddingBatchSize());
+        List<CompletableFuture<Void>> requests = new ArrayList<>();
+        for (int from = 0; from < positions.size(); from += batchSize) {
+            List<Integer> chunk = positions.subList(from, Math.min(positions.size(), from + batchSize));
+            List<String> input = chunk.stream().map(texts::get).toList();
+            requests.add(requestEmbeddings(input)
+                    .thenAccept(embeddings -> {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            results.set(chunk.get(i), embeddings.get(i));
+                        }
+                    })
+                    .exceptionally(ex -> {
+                        log.error("Erreur génération embeddings ({} textes): {}", input.size(), ex.getMessage());
+                        return null;
+                    }));
+        }
+        return CompletableFuture.allOf(requests.toArray(CompletableFuture[]::new))
+                .thenApply(done -> results);
+    }
+
+    /**
+     * Une requête /v1/embeddings pour plusieurs textes (entrée tableau).
+     *
+     * @return Un vecteur par texte, dans l'ordre ; échoue si la réponse est
+     *         incomplète.
+     */
+    private CompletableFuture<List<List<Double>>> requestEmbeddings(List<String> input) {
+        log.debug("Embeddings : requête groupée de {} textes", input.size());
+        return dispatch(Lane.ENRICHMENT, webClient.post()
                 .uri("/v1/embeddings")
                 .bodyValue(Map.of(
                         "model",
                         aiConfig.getEmbeddingModel() != null ? aiConfig.getEmbeddingModel() : aiConfig.getModel(),
-                        "input", text))
+                        "input", input))
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                 })
-                .map(response -> {
-                    List<Double> embedding = parseEmbeddingResponse((Map<String, Object>) response);
-                    return embedding;
-                })
-                .toFuture()
-                .exceptionally(ex -> {
-                    log.error("Erreur génération embedding: {}", ex.getMessage());
-                    return List.of();
-                });
+                .transform(this::tracked)
+                .map(response -> parseEmbeddingResponse(response, input.size()))
+                .doOnNext(embeddings -> remember(input, embeddings)));
     }
 
-    private List<Double> parseEmbeddingResponse(Map<String, Object> response) {
-        try {
-            List<Map<String, Object>> data = (List<Map<String, Object>>) response.get("data");
-            if (data != null && !data.isEmpty()) {
-                Object embeddingObj = data.get(0).get("embedding");
-                if (embeddingObj instanceof List) {
-                    return ((List<?>) embeddingObj).stream()
-                            .map(obj -> ((Number) obj).doubleValue())
-                            .toList();
-                }
+    private void remember(List<String> input, List<List<Double>> embeddings) {
+        Map<String, List<Double>> vectors = new HashMap<>();
+        for (int i = 0; i < input.size(); i++) {
+            vectors.put(input.get(i), embeddings.get(i));
+        }
+        embeddingCache.putAll(vectors);
+    }
+
+    /**
+     * Remet les vecteurs dans l'ordre des entrées grâce au champ "index"
+     * (l'ordre de "data" n'est pas garanti par tous les fournisseurs).
+     */
+    @SuppressWarnings("unchecked")
+    private List<List<Double>> parseEmbeddingResponse(Map<String, Object> response, int expected) {
+        List<Map<String, Object>> data = (List<Map<String, Object>>) response.get("data");
+        if (data == null || data.size() != expected) {
+            throw new IllegalStateException("Réponse d'embeddings incomplète : "
+                    + (data == null ? 0 : data.size()) + "/" + expected);
+        }
+        List<List<Double>> embeddings = new ArrayList<>(Collections.nCopies(expected, null));
+        for (int i = 0; i < data.size(); i++) {
+            Map<String, Object> item = data.get(i);
+            int index = item.get("index") instanceof Number n ? n.intValue() : i;
+            if (!(item.get("embedding") instanceof List<?> vector) || index < 0 || index >= expected) {
+                throw new IllegalStateException("Embedding invalide à la position " + i);
             }
-        } catch (Exception e) {
-            log.error("Erreur parsing embeddings: {}", e.getMessage());
+            embeddings.set(index, vector.stream()
+                    .map(obj -> ((Number) obj).doubleValue())
+                    .toList());
         }
-        return List.of();
+        if (embeddings.contains(null)) {
+            throw new IllegalStateException("Index d'embeddings en double");
+        }
+        return embeddings;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        embeddingBatcher.close();
     }
 
     @Override
@@ -224,7 +394,7 @@ public class OpenAICompatibleService implements AIService {
 
         String systemPrompt = promptConfig.getCleaning().getSystem();
 
-        return webClient.post()
+        return dispatch(Lane.BACKGROUND, webClient.post()
                 .uri("/v1/chat/completions")
                 .bodyValue(Map.of(
                         "model", aiConfig.getModel(),
@@ -237,17 +407,150 @@ public class OpenAICompatibleService implements AIService {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                 })
+                .transform(this::tracked)
                 .map(response -> {
                     String cleaned = extractContent(response);
                     return (cleaned != null && !cleaned.isBlank()) ? cleaned : rawText;
-                })
-                .toFuture()
+                }))
                 .exceptionally(ex -> {
                     log.error("AI Cleaning Failed: {}", ex.getMessage());
                     return rawText;
                 });
     }
 
+    /**
+     * Mode fusionné : une seule complétion renvoie le contenu nettoyé et
+     * l'enrichissement (prompt prompts.fused.system, sortie JSON).
+     */
+    @Override
+    public CompletableFuture<Boolean> cleanAndEnrichArticle(Article article, String rawText) {
+        if (!isAvailable() || rawText == null || rawText.isBlank()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return dispatch(Lane.ENRICHMENT, chat(promptConfig.getFused().getSystem(), buildFusedPrompt(article, rawText),
+                0.1, FUSED_MAX_TOKENS))
+                .thenApply(response -> applyFusedResponse(response, article, rawText))
+                .exceptionally(ex -> {
+                    log.error("AI Fused Cleaning/Enrichment Failed for '{}': {}", article.getTitre(), ex.getMessage());
+                    return false;
+                });
+    }
+
+    private String buildFusedPrompt(Article article, String rawText) {
+        return String.format("""
+                Title: %s
+                Content: %s
+                """, article.getTitre(), rawText.substring(0, Math.min(rawText.length(), 6000)));
+    }
+
+    private boolean applyFusedResponse(Map<String, Object> response, Article article, String rawText) {
+        FusedResult result;
+        try {
+            String content = cleanJsonBlock(extractContent(response));
+            if (content == null) {
+                return false;
+            }
+            result = objectMapper.readValue(content, FusedResult.class);
+        } catch (Exception e) {
+            log.error("Erreur de parsing IA (mode fusionné) pour l'article '{}': {}", article.getTitre(),
+                    e.getMessage());
+            return false;
+        }
+
+        // Sécurité : ne jamais écraser avec du vide
+        article.setContenu(result.content != null && !result.content.isBlank() ? result.content.trim() : rawText);
+        article.setTags(result.tags);
+        article.setGravite(mapGravity(result.gravity));
+        applyCategory(article, result.category);
+        if (result.summary != null && !result.summary.isBlank()
+                && (article.getAiSummary() == null || article.getAiSummary().isBlank())) {
+            article.setAiSummary(result.summary.trim());
+        }
+        log.info("Article nettoyé et enrichi par IA en un appel : {} (Gravité: {})", article.getTitre(),
+                article.getGravite());
+        return true;
+    }
+
+    /**
+     * Exécute les deux modes sur le même contenu, l'un après l'autre, hors du
+     * répartiteur (la mesure ne doit pas inclure d'attente en file).
+     */
+    @Override
+    public List<ModeBenchmark> benchmarkFusedMode(String content) {
+        if (!isAvailable() || content == null || content.isBlank()) {
+            return List.of();
+        }
+        Article probe = Article.builder().titre("Benchmark IA").contenu(content).build();
+        return List.of(benchmarkTwoCalls(probe, content), benchmarkFused(probe, content));
+    }
+
+    private ModeBenchmark benchmarkTwoCalls(Article probe, String content) {
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> cleaning = chat(promptConfig.getCleaning().getSystem(),
+                    content.substring(0, Math.min(content.length(), 6000)), 0.1, 4000).toFuture().join();
+            String cleaned = extractContent(cleaning);
+            probe.setContenu(cleaned != null ? cleaned : content);
+            Map<String, Object> enrichment = chat(promptConfig.getEnrichment().getSystem(), buildPrompt(probe),
+                    0.1, 2000).toFuture().join();
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+            return new ModeBenchmark("two-calls", 2, latencyMs,
+                    usage(cleaning, "prompt_tokens") + usage(enrichment, "prompt_tokens"),
+                    usage(cleaning, "completion_tokens") + usage(enrichment, "completion_tokens"), cleaned != null);
+        } catch (Exception e) {
+            log.warn("Benchmark IA (deux appels) échoué: {}", e.getMessage());
+            return new ModeBenchmark("two-calls", 2, (System.nanoTime() - start) / 1_000_000, 0, 0, false);
+        }
+    }
+
+    private ModeBenchmark benchmarkFused(Article probe, String content) {
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> response = chat(promptConfig.getFused().getSystem(),
+                    buildFusedPrompt(probe, content), 0.1, FUSED_MAX_TOKENS).toFuture().join();
+            long latencyMs = (System.nanoTime() - start) / 1_000_000;
+            Article copy = Article.builder().titre(probe.getTitre()).build();
+            boolean parsed = applyFusedResponse(response, copy, content);
+            return new ModeBenchmark("fused", 1, latencyMs, usage(response, "prompt_tokens"),
+                    usage(response, "completion_tokens"), parsed);
+        } catch (Exception e) {
+            log.warn("Benchmark IA (mode fusionné) échoué: {}", e.getMessage());
+            return new ModeBenchmark("fused", 1, (System.nanoTime() - start) / 1_000_000, 0, 0, false);
+        }
+    }
+
+    /**
+     * Jetons consommés, lus dans le champ "usage" de la réponse (0 si absent).
+     */
+    private static long usage(Map<String, Object> response, String field) {
+        if (response != null && response.get("usage") instanceof Map<?, ?> counts
+                && counts.get(field) instanceof Number tokens) {
+            return tokens.longValue();
+        }
+        return 0;
+    }
+
+    /**
+     * Complétion de chat brute (réponse complète, champ "usage" compris).
+     */
+    private Mono<Map<String, Object>> chat(String systemPrompt, String userContent, double temperature,
+            int maxTokens) {
+        return webClient.post()
+                .uri("/v1/chat/completions")
+                .bodyValue(Map.of(
+                        "model", aiConfig.getModel(),
+                        "messages", List.of(
+                                Map.of("role", "system", "content", systemPrompt),
+                                Map.of("role", "user", "content", userContent)),
+                        "temperature", temperature,
+                        "max_tokens", maxTokens))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
+                })
+                .transform(this::tracked);
+    }
+
     @Override
     public CompletableFuture<String> generateSummary(String contenu) {
         if (!isAvailable() || contenu == null || contenu.length() < 200) {
@@ -256,7 +559,7 @@ public class OpenAICompatibleService implements AIService {
 
         String systemPrompt = promptConfig.getSummary().getSystem();
 
-        return webClient.post()
+        return dispatch(Lane.INTERACTIVE, webClient.post()
                 .uri("/v1/chat/completions")
                 .bodyValue(Map.of(
                         "model", aiConfig.getModel(),
@@ -269,11 +572,11 @@ public class OpenAICompatibleService implements AIService {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                 })
+                .transform(this::tracked)
                 .map(response -> {
                     String summary = extractContent(response);
                     return (summary != null && !summary.isBlank()) ? summary : null;
-                })
-                .toFuture()
+                }))
                 .exceptionally(ex -> {
                     log.error("Génération résumé échouée: {}", ex.getMessage());
                     return null;
@@ -310,7 +613,7 @@ public class OpenAICompatibleService implements AIService {
 
         String systemPrompt = promptConfig.getClustering().getSystem();
 
-        return webClient.post()
+        return dispatch(Lane.BACKGROUND, webClient.post()
                 .uri("/v1/chat/completions")
                 .bodyValue(Map.of(
                         "model", aiConfig.getModel(),
@@ -322,11 +625,11 @@ public class OpenAICompatibleService implements AIService {
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<Map<String, Object>>() {
                 })
+                .transform(this::tracked)
                 .map(response -> {
                     String content = extractContent(response);
                     return cleanJsonBlock(content);
-                })
-                .toFuture()
+                }))
                 .exceptionally(ex -> {
                     log.error("Erreur synthèse Story: {}", ex.getMessage());
                     return null;
@@ -355,4 +658,13 @@ public class OpenAICompatibleService implements AIService {
         public int gravity;
         public String[] tags;
     }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private static class FusedResult {
+        public String content;
+        public String category;
+        public int gravity;
+        public String[] tags;
+        public String summary;
+    }
 }
@@ -3,18 +3,28 @@ package sn.ssi.veille.services.implementation;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.services.implementation.ProxyValidator.ValidatedProxy;
 
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service de rotation de proxies gratuits pour contourner les anti-bots.
- * Récupère une liste de proxies HTTP depuis ProxyScrape et les fait tourner.
+ * Récupère une liste de proxies HTTP depuis ProxyScrape, ne garde que ceux
+ * qui passent la validation ({@link ProxyValidator}) et les fait tourner.
+ * <p>
+ * Chaque proxy a un taux de succès et une latence (moyennes mobiles
+ * exponentielles) ; la sélection favorise les proxies sains et rapides. Un
+ * proxy défaillant est mis en quarantaine temporaire au lieu d'être
+ * blacklisté jusqu'au prochain rafraîchissement.
  */
 @Slf4j
 @Service
@@ -22,8 +32,24 @@ public class ProxyRotatorService {
 
     private static final String PROXY_API = "https://api.proxyscrape.com/v4/free-proxy-list/get?request=display_proxies&proxy_format=protocolipport&format=text&timeout=5000";
 
-    private final CopyOnWriteArrayList<ProxyInfo> proxies = new CopyOnWriteArrayList<>();
-    private final Set<String> blacklisted = Collections.synchronizedSet(new HashSet<>());
+    /** Tirages maximum avant le parcours complet */
+    private static final int MAX_DRAWS = 8;
+
+    /** Latence supposée d'un proxy jamais mesuré */
+    private static final double PRIOR_LATENCY_MS = 2_000;
+
+    private final ScrapingConfig.Proxy settings;
+    private final ProxyValidator proxyValidator;
+
+    /** Rafraîchissement et revalidation ne se chevauchent pas */
+    private final Object refreshLock = new Object();
+
+    /** Tâches planifiées en cours sur leur thread virtuel (pas de second lancement) */
+    private final AtomicBoolean refreshRunning = new AtomicBoolean();
+    private final AtomicBoolean revalidationRunning = new AtomicBoolean();
+
+    /** Pool courant, remplacé en bloc au rafraîchissement (lecture sans verrou) */
+    private volatile Pool pool = new Pool(new ProxyState[0], Map.of(), new AtomicInteger());
 
     // Pool de User-Agents réalistes (2024-2025)
     private static final List<String> USER_AGENTS = List.of(
@@ -35,31 +61,75 @@ public class ProxyRotatorService {
             "Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/122.0.0.0 Safari/537.36",
             "Mozilla/5.0 (Macintosh; Intel Mac OS X 14_3) AppleWebKit/605.1.15 (KHTML, like Gecko) Version/17.2 Safari/605.1.15");
 
+    public ProxyRotatorService(ScrapingConfig scrapingConfig, ProxyValidator proxyValidator) {
+        this.settings = scrapingConfig.getProxy();
+        this.proxyValidator = proxyValidator;
+    }
+
     /**
-     * Retourne un proxy aléatoire non-blacklisté.
+     * Retourne un proxy disponible (hors quarantaine), de préférence sain et
+     * rapide : deux proxies tirés au hasard, le meilleur score l'emporte
+     * ("power of two choices"). Temps constant, sans verrou.
      * 
      * @return ProxyInfo ou null si aucun proxy disponible
      */
     public ProxyInfo getNext() {
-        List<ProxyInfo> available = proxies.stream()
-                .filter(p -> !blacklisted.contains(p.key()))
-                .toList();
+        ProxyState[] states = pool.states();
+        if (states.length == 0) {
+            log.debug("Aucun proxy disponible (liste vide)");
+            return null;
+        }
 
-        if (available.isEmpty()) {
-            log.debug("Aucun proxy disponible (liste vide ou tous blacklistés)");
+        long now = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ProxyState best = null;
+        int candidates = 0;
+        for (int draw = 0; draw < MAX_DRAWS && candidates < 2; draw++) {
+            ProxyState candidate = states[random.nextInt(states.length)];
+            if (candidate.isAvailable(now)) {
+                candidates++;
+                if (best == null || candidate.score() > best.score()) {
+                    best = candidate;
+                }
+            }
+        }
+        if (best == null && activeCount() > 0) {
+            // Presque tout le pool en quarantaine : parcours complet (cas rare)
+            for (ProxyState candidate : states) {
+                if (candidate.isAvailable(now) && (best == null || candidate.score() > best.score())) {
+                    best = candidate;
+                }
+            }
+        }
+        if (best == null) {
+            log.debug("Aucun proxy disponible (tous en quarantaine)");
             return null;
         }
+        return best.info;
+    }
 
-        return available.get(ThreadLocalRandom.current().nextInt(available.size()));
+    /**
+     * Enregistre un succès : met à jour le score du proxy et réduit sa
+     * pénalité de quarantaine.
+     *
+     * @param latencyMs Durée de la requête passée par le proxy.
+     */
+    public void markGood(ProxyInfo proxy, long latencyMs) {
+        ProxyState state = proxy != null ? pool.byKey().get(proxy.key()) : null;
+        if (state != null) {
+            state.recordSuccess(latencyMs, settings.getEwmaAlpha());
+        }
     }
 
     /**
-     * Marque un proxy comme défaillant (blacklisté temporairement).
+     * Marque un proxy comme défaillant : score dégradé et mise en quarantaine
+     * temporaire, d'autant plus longue que les échecs se répètent.
      */
     public void markBad(ProxyInfo proxy) {
-        if (proxy != null) {
-            blacklisted.add(proxy.key());
-            log.debug("Proxy blacklisté: {}", proxy.key());
+        ProxyState state = proxy != null ? pool.byKey().get(proxy.key()) : null;
+        if (state != null) {
+            long quarantineMs = state.recordFailure(System.nanoTime(), settings);
+            log.debug("Proxy {} en quarantaine pour {} ms", proxy.key(), quarantineMs);
         }
     }
 
@@ -74,21 +144,96 @@ public class ProxyRotatorService {
      * Vérifie si des proxies sont disponibles.
      */
     public boolean hasProxies() {
-        return proxies.stream().anyMatch(p -> !blacklisted.contains(p.key()));
+        return activeCount() > 0;
     }
 
     /**
-     * Nombre de proxies actifs (non blacklistés).
+     * Nombre de proxies actifs (hors quarantaine). Les quarantaines expirées
+     * sont levées quand le proxy est tiré : la valeur peut être légèrement
+     * sous-estimée.
      */
     public int activeCount() {
-        return (int) proxies.stream().filter(p -> !blacklisted.contains(p.key())).count();
+        Pool current = pool;
+        return Math.max(0, current.states().length - current.quarantined().get());
+    }
+
+    /**
+     * Remplace la liste de proxies. Les scores des proxies déjà connus sont
+     * conservés.
+     */
+    public void loadProxies(List<ProxyInfo> newProxies) {
+        replacePool(newProxies, Map.of());
     }
 
     /**
-     * Rafraîchit la liste de proxies toutes les 10 minutes.
-     * Aussi appelé au démarrage (initialDelay=0).
+     * Remplace la liste par des proxies validés ; la latence mesurée sert de
+     * première mesure du score.
+     */
+    private void admit(List<ValidatedProxy> validated) {
+        Map<String, Long> measured = new HashMap<>();
+        validated.forEach(v -> measured.put(v.proxy().key(), v.latencyMs()));
+        replacePool(validated.stream().map(ValidatedProxy::proxy).toList(), measured);
+    }
+
+    private void replacePool(List<ProxyInfo> newProxies, Map<String, Long> measuredLatency) {
+        Pool current = pool;
+        Map<String, ProxyState> byKey = new LinkedHashMap<>();
+        AtomicInteger quarantined = new AtomicInteger();
+        long now = System.nanoTime();
+        for (ProxyInfo proxy : newProxies) {
+            if (byKey.containsKey(proxy.key())) {
+                continue;
+            }
+            Long latency = measuredLatency.get(proxy.key());
+            ProxyState state = current.byKey().get(proxy.key());
+            if (state == null) {
+                state = new ProxyState(proxy, latency != null ? latency : PRIOR_LATENCY_MS);
+            } else if (latency != null) {
+                state.recordSuccess(latency, settings.getEwmaAlpha());
+            }
+            // Chaque pool a son compteur : un proxy retiré ne touche plus au nouveau
+            state.attach(quarantined, now);
+            byKey.put(proxy.key(), state);
+        }
+        pool = new Pool(byKey.values().toArray(ProxyState[]::new), Map.copyOf(byKey), quarantined);
+    }
+
+    /**
+     * Rafraîchit la liste de proxies toutes les 10 minutes (premier passage
+     * 5 s après le démarrage). La validation peut durer plusieurs secondes :
+     * elle tourne sur un thread virtuel pour ne pas bloquer le thread unique
+     * du planificateur (collectes, sonde de santé IA).
      */
     @Scheduled(fixedDelay = 600_000, initialDelay = 5000)
+    public void scheduleRefresh() {
+        runOffScheduler("proxy-refresh", refreshRunning, this::refreshProxies);
+    }
+
+    /**
+     * Revalidation périodique, hors du thread du planificateur.
+     */
+    @Scheduled(fixedDelayString = "${scraping.proxy.revalidate-interval-ms:300000}", initialDelay = 300_000)
+    public void scheduleRevalidation() {
+        runOffScheduler("proxy-revalidate", revalidationRunning, this::revalidateProxies);
+    }
+
+    private void runOffScheduler(String name, AtomicBoolean running, Runnable task) {
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Tâche {} encore en cours, passage ignoré", name);
+            return;
+        }
+        Thread.ofVirtual().name(name).start(() -> {
+            try {
+                task.run();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Récupère la liste de proxies et admet ceux qui passent la validation.
+     */
     public void refreshProxies() {
         try {
             HttpClient client = HttpClient.newBuilder()
@@ -125,10 +270,9 @@ public class ProxyRotatorService {
                 }
 
                 if (!newProxies.isEmpty()) {
-                    proxies.clear();
-                    proxies.addAll(newProxies);
-                    blacklisted.clear(); // Reset blacklist on refresh
-                    log.info("🔄 Proxies rafraîchis : {} proxies disponibles", newProxies.size());
+                    synchronized (refreshLock) {
+                        admitNewProxies(newProxies);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -136,6 +280,135 @@ public class ProxyRotatorService {
         }
     }
 
+    /**
+     * Teste les proxies déjà dans la rotation et retire ceux qui ne répondent
+     * plus.
+     */
+    public void revalidateProxies() {
+        if (!settings.isValidationEnabled()) {
+            return;
+        }
+        synchronized (refreshLock) {
+            ProxyState[] states = pool.states();
+            if (states.length == 0) {
+                return;
+            }
+            List<ValidatedProxy> validated = proxyValidator
+                    .validate(Arrays.stream(states).map(state -> state.info).toList());
+            if (validated.isEmpty()) {
+                // Probablement un problème réseau local : pool conservé
+                log.warn("Revalidation des proxies : aucun ne répond, pool conservé");
+                return;
+            }
+            admit(validated);
+            log.info("🔄 Proxies revalidés : {}/{} conservés", validated.size(), states.length);
+        }
+    }
+
+    private void admitNewProxies(List<ProxyInfo> newProxies) {
+        if (!settings.isValidationEnabled()) {
+            loadProxies(newProxies);
+            log.info("🔄 Proxies rafraîchis : {} proxies disponibles", newProxies.size());
+            return;
+        }
+        List<ValidatedProxy> validated = proxyValidator.validate(new LinkedHashSet<>(newProxies));
+        if (validated.isEmpty()) {
+            log.warn("Aucun des {} proxies récupérés ne répond, pool conservé", newProxies.size());
+            return;
+        }
+        admit(validated.subList(0, Math.min(validated.size(), Math.max(1, settings.getMaxPoolSize()))));
+        log.info("🔄 Proxies rafraîchis : {} proxies validés disponibles (sur {})", pool.states().length,
+                newProxies.size());
+    }
+
+    /**
+     * @param quarantined Proxies de ce pool en quarantaine.
+     */
+    private record Pool(ProxyState[] states, Map<String, ProxyState> byKey, AtomicInteger quarantined) {
+    }
+
+    /**
+     * Santé d'un proxy. Les lectures (sélection) se font sans verrou ; les
+     * mises à jour, rares, sont synchronisées par proxy.
+     */
+    private static final class ProxyState {
+
+        private final ProxyInfo info;
+
+        /** Compteur de quarantaine du pool auquel le proxy appartient (protégé par this) */
+        private AtomicInteger quarantinedCounter = new AtomicInteger();
+
+        private volatile double successRate = 1.0;
+        private volatile double latencyMs;
+        private volatile long quarantinedUntil;
+        private volatile boolean inQuarantine;
+
+        /** Échecs récents, réduits à chaque succès */
+        private int strikes;
+
+        ProxyState(ProxyInfo info, double initialLatencyMs) {
+            this.info = info;
+            this.latencyMs = initialLatencyMs;
+        }
+
+        /**
+         * Rattache le proxy au compteur d'un nouveau pool ; une quarantaine
+         * expirée est levée au passage.
+         */
+        synchronized void attach(AtomicInteger counter, long now) {
+            if (inQuarantine && now - quarantinedUntil >= 0) {
+                inQuarantine = false;
+            }
+            quarantinedCounter = counter;
+            if (inQuarantine) {
+                counter.incrementAndGet();
+            }
+        }
+
+        /** Succès par seconde de latence : plus haut = meilleur */
+        double score() {
+            return successRate * 1_000 / Math.max(1.0, latencyMs);
+        }
+
+        /** Disponible ; lève la quarantaine si elle a expiré */
+        boolean isAvailable(long now) {
+            if (!inQuarantine) {
+                return true;
+            }
+            if (now - quarantinedUntil < 0) {
+                return false;
+            }
+            synchronized (this) {
+                if (inQuarantine && now - quarantinedUntil >= 0) {
+                    inQuarantine = false;
+                    quarantinedCounter.decrementAndGet();
+                }
+            }
+            return true;
+        }
+
+        synchronized void recordSuccess(long latency, double alpha) {
+            successRate = (1 - alpha) * successRate + alpha;
+            latencyMs = (1 - alpha) * latencyMs + alpha * latency;
+            strikes = Math.max(0, strikes - 1);
+        }
+
+        /** @return La durée de quarantaine appliquée (ms) */
+        synchronized long recordFailure(long now, ScrapingConfig.Proxy settings) {
+            double alpha = settings.getEwmaAlpha();
+            successRate = (1 - alpha) * successRate;
+            strikes = Math.min(strikes + 1, 20);
+            long quarantineMs = Math.min(settings.getMaxQuarantineMs(),
+                    settings.getBaseQuarantineMs() << (strikes - 1));
+            quarantinedUntil = now + TimeUnit.MILLISECONDS.toNanos(quarantineMs);
+            if (!inQuarantine) {
+                inQuarantine = true;
+                quarantinedCounter.incrementAndGet();
+            }
+            return quarantineMs;
+        }
+    }
+
     /**
      * DTO pour un proxy (host + port).
      */
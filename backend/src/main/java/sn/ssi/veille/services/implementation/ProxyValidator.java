@@ -0,0 +1,116 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.services.implementation.ProxyRotatorService.ProxyInfo;
+
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Validation des proxies avant leur entrée dans la rotation.
+ * <p>
+ * Chaque proxy est testé sur une URL de contrôle avec un délai court, tous
+ * en parallèle sur des threads virtuels (nombre de tests simultanés borné).
+ * Seuls les proxies qui répondent sont retenus, classés par latence mesurée.
+ */
+@Slf4j
+@Service
+public class ProxyValidator {
+
+    private final ScrapingConfig.Proxy settings;
+
+    public ProxyValidator(ScrapingConfig scrapingConfig) {
+        this.settings = scrapingConfig.getProxy();
+    }
+
+    /**
+     * Proxy ayant passé le test.
+     *
+     * @param latencyMs Durée de la requête de contrôle.
+     */
+    public record ValidatedProxy(ProxyInfo proxy, long latencyMs) {
+    }
+
+    /**
+     * Teste les proxies.
+     *
+     * @return Les proxies valides, du plus rapide au plus lent.
+     */
+    public List<ValidatedProxy> validate(Collection<ProxyInfo> proxies) {
+        if (proxies.isEmpty()) {
+            return List.of();
+        }
+        URL checkUrl;
+        try {
+            checkUrl = URI.create(settings.getCheckUrl()).toURL();
+        } catch (Exception e) {
+            log.warn("URL de contrôle des proxies invalide ({}): {}", settings.getCheckUrl(), e.getMessage());
+            return List.of();
+        }
+
+        long start = System.currentTimeMillis();
+        ConcurrentLinkedQueue<ValidatedProxy> valid = new ConcurrentLinkedQueue<>();
+        Semaphore permits = new Semaphore(Math.max(1, settings.getValidationConcurrency()));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ProxyInfo proxy : proxies) {
+                executor.submit(() -> {
+                    permits.acquireUninterruptibly();
+                    try {
+                        long latency = probe(proxy, checkUrl);
+                        if (latency >= 0) {
+                            valid.add(new ValidatedProxy(proxy, latency));
+                        }
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } // close() attend la fin de tous les tests
+
+        List<ValidatedProxy> ranked = new ArrayList<>(valid);
+        ranked.sort(Comparator.comparingLong(ValidatedProxy::latencyMs));
+        log.info("🧪 Proxies validés : {}/{} en {} ms", ranked.size(), proxies.size(),
+                System.currentTimeMillis() - start);
+        return ranked;
+    }
+
+    /**
+     * @return La latence en ms, -1 si le proxy ne répond pas correctement.
+     */
+    private long probe(ProxyInfo proxy, URL checkUrl) {
+        HttpURLConnection connection = null;
+        long start = System.nanoTime();
+        try {
+            connection = (HttpURLConnection) checkUrl.openConnection(proxy.toJavaProxy());
+            int timeout = (int) settings.getValidationTimeoutMs();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setInstanceFollowRedirects(false);
+            connection.setUseCaches(false);
+            int status = connection.getResponseCode();
+            // Un proxy mort ou captif répond souvent par une page d'erreur ou une redirection
+            if (status < 200 || status >= 300) {
+                return -1;
+            }
+            connection.getInputStream().readAllBytes();
+            return (System.nanoTime() - start) / 1_000_000;
+        } catch (Exception e) {
+            return -1;
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
+import org.jsoup.UnsupportedMimeTypeException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.utils.TokenBucket;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limitation de débit et reprises pour toutes les requêtes sortantes de la
+ * collecte.
+ * <p>
+ * Chaque requête consomme un jeton du seau de sa source
+ * ({@code Source.rateLimitPerMinute}) et un jeton du seau de son hôte
+ * (partagé entre sources). Les erreurs transitoires (timeouts, 429, 5xx) sont
+ * rejouées jusqu'à {@code Source.retryCount} fois, avec un backoff
+ * exponentiel et une gigue aléatoire.
+ */
+@Slf4j
+@Service
+public class RequestThrottler {
+
+    private final ScrapingConfig.Throttling settings;
+
+    private final Map<String, TokenBucket> sourceBuckets = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> hostBuckets = new ConcurrentHashMap<>();
+
+    public RequestThrottler(ScrapingConfig scrapingConfig) {
+        this.settings = scrapingConfig.getThrottling();
+    }
+
+    /**
+     * Attend les jetons de la source et de l'hôte (sans reprise), par exemple
+     * avant une navigation Playwright.
+     *
+     * @param source La source (null pour une requête hors source, ex: extraction).
+     * @param url    L'URL appelée.
+     */
+    public void acquire(Source source, String url) throws InterruptedException {
+        long waitNanos = reserve(source, url);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Exécute un appel bloquant sous limitation de débit, avec reprises.
+     *
+     * @param source La source (null : seau de l'hôte et nombre de reprises par défaut).
+     * @param url    L'URL appelée.
+     * @param call   L'appel HTTP.
+     * @return Le résultat de l'appel.
+     */
+    public <T> T execute(Source source, String url, Callable<T> call) throws Exception {
+        return execute(source, source, url, call);
+    }
+
+    /**
+     * Comme {@link #execute}, mais seul le seau de l'hôte est consommé (les
+     * reprises restent celles de la source). Pour les pages suivantes d'une
+     * collecte déjà comptée sur la limite de la source et cadencée par
+     * ailleurs, ex: la pagination NVD.
+     */
+    public <T> T executeHostOnly(Source source, String url, Callable<T> call) throws Exception {
+        return execute(null, source, url, call);
+    }
+
+    private <T> T execute(Source rateSource, Source source, String url, Callable<T> call) throws Exception {
+        int retries = retriesFor(source);
+        for (int attempt = 0;; attempt++) {
+            acquire(rateSource, url);
+            try {
+                return call.call();
+            } catch (Exception e) {
+                if (attempt >= retries || !isRetryable(e)) {
+                    throw e;
+                }
+                long delayMs = backoffMs(attempt);
+                log.debug("Requête {} en échec ({}), reprise {}/{} dans {} ms",
+                        url, e.getMessage(), attempt + 1, retries, delayMs);
+                Thread.sleep(delayMs);
+            }
+        }
+    }
+
+    /**
+     * Équivalent réactif de {@link #execute} : la souscription est retardée
+     * jusqu'à disponibilité des jetons, les reprises passent par
+     * {@link Retry#backoff}.
+     */
+    public <T> Mono<T> executeReactive(Source source, String url, Supplier<Mono<T>> call) {
+        return executeReactive(source, source, url, call);
+    }
+
+    /**
+     * Comme {@link #executeReactive}, mais seul le seau de l'hôte est consommé
+     * (les reprises restent celles de la source). Pour les sous-requêtes d'une
+     * collecte déjà comptée sur la limite de la source, ex: les items Hacker
+     * News après la liste des top stories.
+     */
+    public <T> Mono<T> executeReactiveHostOnly(Source source, String url, Supplier<Mono<T>> call) {
+        return executeReactive(null, source, url, call);
+    }
+
+    private <T> Mono<T> executeReactive(Source rateSource, Source source, String url, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> Mono.delay(Duration.ofNanos(reserve(rateSource, url))).then(Mono.defer(call)))
+                .retryWhen(Retry.backoff(retriesFor(source), Duration.ofMillis(settings.getBaseBackoffMs()))
+                        .maxBackoff(Duration.ofMillis(settings.getMaxBackoffMs()))
+                        .jitter(0.5)
+                        .filter(RequestThrottler::isRetryable)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private long reserve(Source source, String url) {
+        long waitNanos = 0;
+        if (source != null && source.getId() != null) {
+            int perMinute = source.getRateLimitPerMinute();
+            TokenBucket bucket = sourceBuckets.compute(source.getId(),
+                    (id, existing) -> existing != null && existing.getPermitsPerMinute() == Math.max(1, perMinute)
+                            ? existing
+                            : newBucket(perMinute));
+            waitNanos = bucket.reserve();
+        }
+        TokenBucket hostBucket = hostBuckets.computeIfAbsent(hostOf(url),
+                h -> newBucket(settings.getHostLimits().getOrDefault(h, settings.getPerHostPerMinute())));
+        return Math.max(waitNanos, hostBucket.reserve());
+    }
+
+    private TokenBucket newBucket(int perMinute) {
+        // Rafale autorisée : l'équivalent de 10 secondes de débit
+        return new TokenBucket(perMinute, Math.max(1, perMinute / 6));
+    }
+
+    private int retriesFor(Source source) {
+        return Math.max(0, source != null ? source.getRetryCount() : settings.getDefaultRetries());
+    }
+
+    /**
+     * Backoff exponentiel plafonné avec gigue (entre 50 % et 100 % du délai).
+     */
+    long backoffMs(int attempt) {
+        long exp = settings.getBaseBackoffMs() << Math.min(attempt, 20);
+        long capped = Math.min(settings.getMaxBackoffMs(), exp);
+        return capped / 2 + ThreadLocalRandom.current().nextLong(capped / 2 + 1);
+    }
+
+    /**
+     * Erreurs transitoires : timeouts et coupures réseau, HTTP 429 et 5xx.
+     * Les erreurs définitives (DNS, connexion refusée, 4xx, type de contenu non
+     * supporté) ne sont pas rejouées.
+     */
+    static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException wcre) {
+            return isRetryableStatus(wcre.getStatusCode().value());
+        }
+        if (e instanceof HttpStatusException hse) {
+            return isRetryableStatus(hse.getStatusCode());
+        }
+        if (e instanceof WebClientRequestException && e.getCause() != null) {
+            return isRetryable(e.getCause());
+        }
+        if (e instanceof UnknownHostException || e instanceof ConnectException
+                || e instanceof MalformedURLException || e instanceof FileNotFoundException
+                || e instanceof UnsupportedMimeTypeException) {
+            return false;
+        }
+        return e instanceof IOException || e instanceof java.util.concurrent.TimeoutException;
+    }
+
+    private static boolean isRetryableStatus(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    static String hostOf(String url) {
+        if (url == null) {
+            return "";
+        }
+        try {
+            String host = URI.create(url).getHost();
+            return host != null ? host.toLowerCase() : url;
+        } catch (Exception e) {
+            return url;
+        }
+    }
+}
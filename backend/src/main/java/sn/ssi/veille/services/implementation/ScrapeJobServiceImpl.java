@@ -0,0 +1,296 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.exceptions.SourceNotFoundException;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.models.repositories.SourceRepository;
+import sn.ssi.veille.services.ScrapeJobService;
+import sn.ssi.veille.services.ScrapingService;
+import sn.ssi.veille.services.ScrapingService.ScrapingRunReport;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Implémentation du registre de jobs de scraping.
+ * Chaque job s'exécute sur un thread virtuel ; l'avancement est mis à jour à
+ * la fin de chaque source et diffusé aux abonnés.
+ * <p>
+ * Les sources soumises sont inscrites au journal de collecte jusqu'à leur fin ;
+ * celles interrompues par un arrêt sont relancées au démarrage.
+ */
+@Slf4j
+@Service
+public class ScrapeJobServiceImpl implements ScrapeJobService {
+
+    private final ScrapingService scrapingService;
+    private final SourceRepository sourceRepository;
+    private final ScrapingConfig scrapingConfig;
+    private final ScrapeJournal scrapeJournal;
+
+    /** Jobs par ordre de soumission (les plus anciens terminés sont purgés) */
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+
+    /** Source en cours → job qui la traite */
+    private final Map<String, String> runningSources = new ConcurrentHashMap<>();
+
+    public ScrapeJobServiceImpl(ScrapingService scrapingService, SourceRepository sourceRepository,
+            ScrapingConfig scrapingConfig, ScrapeJournal scrapeJournal) {
+        this.scrapingService = scrapingService;
+        this.sourceRepository = sourceRepository;
+        this.scrapingConfig = scrapingConfig;
+        this.scrapeJournal = scrapeJournal;
+    }
+
+    /**
+     * Relance les sources dont la collecte a été interrompue par un arrêt.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedSources() {
+        List<String> sourceIds = scrapeJournal.claimPending(ScrapeJournalEntry.Kind.SOURCE).stream()
+                .map(ScrapeJournalEntry::getSourceId)
+                .toList();
+        if (sourceIds.isEmpty()) {
+            return;
+        }
+
+        List<Source> sources = new ArrayList<>();
+        sourceRepository.findAllById(sourceIds).forEach(source -> {
+            if (source.isActive()) {
+                sources.add(source);
+            }
+        });
+        log.info("♻️ {} source(s) interrompue(s) relancée(s) depuis le journal", sources.size());
+        if (!sources.isEmpty()) {
+            submitSources(sources, "recovery");
+        }
+    }
+
+    @Override
+    public ScrapeJobStatus submitAllSources() {
+        return submitSources(sourceRepository.findByActiveTrue(), "api");
+    }
+
+    @Override
+    public ScrapeJobStatus submitSource(String sourceId) {
+        Source source = sourceRepository.findById(sourceId)
+                .orElseThrow(() -> new SourceNotFoundException(sourceId));
+        return submitSources(List.of(source), "api");
+    }
+
+    @Override
+    public ScrapeJobStatus submitSources(List<Source> sources, String trigger) {
+        Job job;
+        List<Source> toRun = new ArrayList<>();
+        String existingJobId = null;
+
+        synchronized (this) {
+            job = new Job(UUID.randomUUID().toString(), trigger);
+            for (Source source : sources) {
+                String owner = runningSources.putIfAbsent(source.getId(), job.id);
+                if (owner == null) {
+                    toRun.add(source);
+                    job.progress.put(source.getId(), pending(source, SourceState.PENDING, null));
+                } else if (!owner.equals(job.id)) {
+                    existingJobId = existingJobId != null ? existingJobId : owner;
+                    job.progress.put(source.getId(), pending(source, SourceState.COALESCED, owner));
+                }
+            }
+
+            // Tout est déjà en cours : on renvoie le job existant
+            if (toRun.isEmpty() && existingJobId != null && jobs.containsKey(existingJobId)) {
+                log.info("Job de scraping coalescé dans le job {}", existingJobId);
+                return jobs.get(existingJobId).snapshot(true);
+            }
+            jobs.put(job.id, job);
+            prune();
+        }
+
+        log.info("Job de scraping {} soumis ({}) : {} source(s), {} déjà en cours",
+                job.id, trigger, toRun.size(), job.progress.size() - toRun.size());
+        scrapeJournal.sourcesStarted(toRun);
+        Thread.ofVirtual().name("scrape-job-" + job.id).start(() -> run(job, toRun));
+        return job.snapshot(false);
+    }
+
+    private void run(Job job, List<Source> sources) {
+        job.state = JobState.RUNNING;
+        job.startedAt = LocalDateTime.now();
+        job.publish();
+
+        // Raison affichée pour les sources jamais lancées
+        String skipReason = "Source ignorée (données invalides)";
+        try {
+            ScrapingRunReport report = scrapingService.runSources(sources, timing -> {
+                job.record(timing);
+                runningSources.remove(timing.sourceId(), job.id);
+                scrapeJournal.sourcesFinished(List.of(timing.sourceId()));
+                job.publish();
+            });
+            log.info("Job de scraping {} terminé : {} articles transmis au pipeline, {} échec(s), {} ms",
+                    job.id, report.totalArticlesQueued(), report.failedSources(), report.durationMs());
+            job.state = JobState.COMPLETED;
+        } catch (Exception e) {
+            log.error("Job de scraping {} en échec: {}", job.id, e.getMessage());
+            job.error = e.getMessage();
+            job.state = JobState.FAILED;
+            skipReason = e instanceof InterruptedException || Thread.currentThread().isInterrupted()
+                    ? "Tâche interrompue"
+                    : "Tâche en échec : " + e.getMessage();
+        } finally {
+            for (Source source : sources) {
+                runningSources.remove(source.getId(), job.id);
+            }
+            // Sources ignorées ou job en échec : rien à reprendre
+            scrapeJournal.sourcesFinished(job.pendingSourceIds());
+            job.skipPending(skipReason);
+            job.finishedAt = LocalDateTime.now();
+            ScrapeJobStatus last = job.publish();
+            job.listeners.clear();
+            job.done.complete(last);
+        }
+    }
+
+    @Override
+    public synchronized Optional<ScrapeJobStatus> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.snapshot(false));
+    }
+
+    @Override
+    public synchronized List<ScrapeJobStatus> getRecentJobs() {
+        List<ScrapeJobStatus> recent = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            recent.add(0, job.snapshot(false));
+        }
+        return recent;
+    }
+
+    @Override
+    public synchronized Optional<CompletableFuture<ScrapeJobStatus>> completion(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(job -> job.done);
+    }
+
+    @Override
+    public Runnable subscribe(String jobId, Consumer<ScrapeJobStatus> listener) {
+        Job job;
+        synchronized (this) {
+            job = jobs.get(jobId);
+        }
+        if (job == null) {
+            throw new IllegalArgumentException("Job inconnu: " + jobId);
+        }
+
+        job.listeners.add(listener);
+        // État courant immédiatement (ou état final si le job vient de se terminer)
+        ScrapeJobStatus current = job.snapshot(false);
+        listener.accept(current);
+        if (current.isFinished()) {
+            job.listeners.remove(listener);
+        }
+        return () -> job.listeners.remove(listener);
+    }
+
+    /**
+     * Garde au plus maxRetainedJobs jobs ; seuls les jobs terminés sont purgés.
+     */
+    private void prune() {
+        int excess = jobs.size() - Math.max(1, scrapingConfig.getMaxRetainedJobs());
+        Iterator<Job> it = jobs.values().iterator();
+        while (excess > 0 && it.hasNext()) {
+            if (it.next().done.isDone()) {
+                it.remove();
+                excess--;
+            }
+        }
+    }
+
+    private static ScrapeJobStatus.SourceProgress pending(Source source, SourceState state, String owner) {
+        return new ScrapeJobStatus.SourceProgress(source.getId(), source.getNomSource(), state, 0, 0, null, owner);
+    }
+
+    /**
+     * État mutable d'un job ; les instantanés sont des records immuables.
+     */
+    private static final class Job {
+
+        private final String id;
+        private final String trigger;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final Map<String, ScrapeJobStatus.SourceProgress> progress = new LinkedHashMap<>();
+        private final List<Consumer<ScrapeJobStatus>> listeners = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<ScrapeJobStatus> done = new CompletableFuture<>();
+
+        private volatile JobState state = JobState.QUEUED;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        Job(String id, String trigger) {
+            this.id = id;
+            this.trigger = trigger;
+        }
+
+        synchronized void record(ScrapingRunReport.SourceTiming timing) {
+            ScrapeJobStatus.SourceProgress previous = progress.get(timing.sourceId());
+            progress.put(timing.sourceId(), new ScrapeJobStatus.SourceProgress(
+                    timing.sourceId(),
+                    previous != null ? previous.sourceName() : timing.sourceName(),
+                    timing.success() ? SourceState.DONE : SourceState.FAILED,
+                    timing.articlesQueued(),
+                    timing.durationMs(),
+                    timing.error(),
+                    null));
+        }
+
+        synchronized List<String> pendingSourceIds() {
+            return progress.values().stream()
+                    .filter(p -> p.state() == SourceState.PENDING)
+                    .map(ScrapeJobStatus.SourceProgress::sourceId)
+                    .toList();
+        }
+
+        /** Sources jamais lancées (configuration invalide, job interrompu ou en échec) */
+        synchronized void skipPending(String reason) {
+            progress.replaceAll((id, p) -> p.state() == SourceState.PENDING
+                    ? new ScrapeJobStatus.SourceProgress(p.sourceId(), p.sourceName(), SourceState.SKIPPED,
+                            0, 0, reason, null)
+                    : p);
+        }
+
+        synchronized ScrapeJobStatus snapshot(boolean coalesced) {
+            List<ScrapeJobStatus.SourceProgress> sources = List.copyOf(progress.values());
+            int completed = (int) sources.stream().filter(p -> p.state() == SourceState.DONE).count();
+            int failed = (int) sources.stream().filter(p -> p.state() == SourceState.FAILED).count();
+            int articles = sources.stream().mapToInt(ScrapeJobStatus.SourceProgress::articlesQueued).sum();
+            return new ScrapeJobStatus(id, trigger, state, coalesced, submittedAt, startedAt, finishedAt,
+                    sources.size(), completed, failed, articles, error, sources);
+        }
+
+        ScrapeJobStatus publish() {
+            ScrapeJobStatus status = snapshot(false);
+            for (Consumer<ScrapeJobStatus> listener : listeners) {
+                try {
+                    listener.accept(status);
+                } catch (Exception e) {
+                    listeners.remove(listener);
+                }
+            }
+            return status;
+        }
+    }
+}
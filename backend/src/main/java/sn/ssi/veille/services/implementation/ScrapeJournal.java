@@ -0,0 +1,225 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry.Kind;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry.Step;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.models.repositories.ScrapeJournalRepository;
+
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Journal de collecte persistant (collection scrape_journal).
+ * <p>
+ * Chaque source en cours et chaque article dans le pipeline a une entrée qui
+ * indique sa dernière étape terminée ; l'entrée est supprimée à la fin du
+ * traitement. Après un arrêt brutal, les entrées restantes sont reprises à
+ * partir de cette étape au lieu de tout recommencer.
+ * <p>
+ * Le journal ne doit jamais bloquer la collecte : une écriture en échec est
+ * seulement tracée.
+ */
+@Slf4j
+@Service
+public class ScrapeJournal {
+
+    private final ScrapeJournalRepository journalRepository;
+    private final ScrapingConfig.Journal settings;
+    private final String nodeId;
+
+    /** Les entrées plus récentes appartiennent au run courant */
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    /**
+     * Reprises des entrées réservées par cette instance : reportées à chaque
+     * réécriture de l'entrée (étape suivante, source relancée), pour que
+     * maxResumeAttempts arrête un élément qui fait tomber l'instance à chaque
+     * reprise. Retirées quand le traitement est complet.
+     */
+    private final Map<String, Integer> resumeAttempts = new ConcurrentHashMap<>();
+
+    public ScrapeJournal(ScrapeJournalRepository journalRepository, ScrapingConfig scrapingConfig) {
+        this.journalRepository = journalRepository;
+        this.settings = scrapingConfig.getJournal();
+        this.nodeId = resolveNodeId(settings.getNodeId());
+    }
+
+    // ===== Sources =====
+
+    public void sourcesStarted(Collection<Source> sources) {
+        if (!settings.isEnabled() || sources.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<ScrapeJournalEntry> entries = sources.stream()
+                .map(source -> ScrapeJournalEntry.builder()
+                        .id(sourceKey(source.getId()))
+                        .kind(Kind.SOURCE)
+                        .step(Step.FETCHING)
+                        .sourceId(source.getId())
+                        .nodeId(nodeId)
+                        .attempts(resumeAttempts.getOrDefault(sourceKey(source.getId()), 0))
+                        .updatedAt(now)
+                        .build())
+                .toList();
+        try {
+            journalRepository.saveAll(entries);
+        } catch (Exception e) {
+            log.warn("Journal de collecte : écriture de {} sources échouée: {}", entries.size(), e.getMessage());
+        }
+    }
+
+    public void sourcesFinished(Collection<String> sourceIds) {
+        if (!settings.isEnabled() || sourceIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = sourceIds.stream().map(ScrapeJournal::sourceKey).toList();
+        keys.forEach(resumeAttempts::remove);
+        try {
+            journalRepository.deleteAllById(keys);
+        } catch (Exception e) {
+            log.warn("Journal de collecte : suppression des sources {} échouée: {}", sourceIds, e.getMessage());
+        }
+    }
+
+    // ===== Articles =====
+
+    public void articleFetched(Article article, Source source) {
+        save(articleEntry(article, Step.FETCHED)
+                .sourceId(source != null ? source.getId() : article.getSourceId())
+                .article(article)
+                .rssDescription(article.getContenu()));
+    }
+
+    /**
+     * @param extracted Le contenu extrait, null si l'extraction n'a rien apporté.
+     */
+    public void articleExtracted(Article article, Source source, String rssDescription, String extracted) {
+        save(articleEntry(article, Step.EXTRACTED)
+                .sourceId(source != null ? source.getId() : article.getSourceId())
+                .article(article)
+                .rssDescription(rssDescription)
+                .extractedContent(extracted));
+    }
+
+    /**
+     * Étape franchie par un article déjà sauvegardé : seul son identifiant
+     * est conservé.
+     */
+    public void articleReached(Article article, Step step) {
+        save(articleEntry(article, step)
+                .sourceId(article.getSourceId())
+                .articleId(article.getId()));
+    }
+
+    public void articleCompleted(Article article) {
+        if (!settings.isEnabled() || article.getUrlOrigine() == null) {
+            return;
+        }
+        String key = articleKey(article.getUrlOrigine());
+        resumeAttempts.remove(key);
+        try {
+            journalRepository.deleteById(key);
+        } catch (Exception e) {
+            log.warn("Journal de collecte : suppression de {} échouée: {}", article.getUrlOrigine(), e.getMessage());
+        }
+    }
+
+    // ===== Reprise =====
+
+    /**
+     * Réserve les entrées à reprendre : celles de cette instance antérieures
+     * au démarrage, et celles des autres instances sans mise à jour depuis
+     * staleAfterMinutes. Les entrées déjà reprises maxResumeAttempts fois
+     * sont abandonnées.
+     */
+    public List<ScrapeJournalEntry> claimPending(Kind kind) {
+        if (!settings.isEnabled()) {
+            return List.of();
+        }
+
+        LocalDateTime staleBefore = LocalDateTime.now().minusMinutes(settings.getStaleAfterMinutes());
+        List<ScrapeJournalEntry> claimed = new ArrayList<>();
+        try {
+            for (ScrapeJournalEntry entry : journalRepository.findByKindAndUpdatedAtBefore(kind, startedAt)) {
+                if (!nodeId.equals(entry.getNodeId()) && entry.getUpdatedAt().isAfter(staleBefore)) {
+                    continue;
+                }
+                if (entry.getAttempts() >= settings.getMaxResumeAttempts()) {
+                    log.warn("Journal de collecte : {} abandonné après {} reprises (étape {})",
+                            entry.getId(), entry.getAttempts(), entry.getStep());
+                    resumeAttempts.remove(entry.getId());
+                    journalRepository.delete(entry);
+                    continue;
+                }
+                entry.setAttempts(entry.getAttempts() + 1);
+                resumeAttempts.put(entry.getId(), entry.getAttempts());
+                entry.setNodeId(nodeId);
+                entry.setUpdatedAt(LocalDateTime.now());
+                claimed.add(journalRepository.save(entry));
+            }
+        } catch (Exception e) {
+            log.warn("Journal de collecte : lecture des entrées {} échouée: {}", kind, e.getMessage());
+        }
+        return claimed;
+    }
+
+    private ScrapeJournalEntry.ScrapeJournalEntryBuilder articleEntry(Article article, Step step) {
+        return ScrapeJournalEntry.builder()
+                .id(article.getUrlOrigine() != null ? articleKey(article.getUrlOrigine()) : null)
+                .kind(Kind.ARTICLE)
+                .step(step)
+                .url(article.getUrlOrigine());
+    }
+
+    private void save(ScrapeJournalEntry.ScrapeJournalEntryBuilder builder) {
+        if (!settings.isEnabled()) {
+            return;
+        }
+        ScrapeJournalEntry entry = builder.nodeId(nodeId).updatedAt(LocalDateTime.now()).build();
+        if (entry.getId() == null) {
+            return;
+        }
+        entry.setAttempts(resumeAttempts.getOrDefault(entry.getId(), 0));
+        try {
+            journalRepository.save(entry);
+        } catch (Exception e) {
+            log.warn("Journal de collecte : écriture de {} ({}) échouée: {}", entry.getId(), entry.getStep(),
+                    e.getMessage());
+        }
+    }
+
+    static String sourceKey(String sourceId) {
+        return "source:" + sourceId;
+    }
+
+    /**
+     * Clé stable et courte, quelle que soit la longueur de l'URL.
+     */
+    static String articleKey(String url) {
+        return "article:" + UUID.nameUUIDFromBytes(url.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String resolveNodeId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "local";
+        }
+    }
+}
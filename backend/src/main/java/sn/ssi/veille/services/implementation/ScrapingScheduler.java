@@ -0,0 +1,138 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.models.repositories.SourceRepository;
+import sn.ssi.veille.services.ScrapeJobService;
+import sn.ssi.veille.services.ScrapeJobService.ScrapeJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Planificateur de collecte.
+ * Maintient une file de priorité des sources ordonnée par échéance
+ * (nextSyncAt), ne lance que les sources échues, par ordre de priorité puis de
+ * score de confiance. Le succès (derniereSyncro / nextSyncAt) et le backoff en
+ * cas d'erreur sont enregistrés par {@link ScrapingServiceImpl}.
+ */
+@Slf4j
+@Service
+public class ScrapingScheduler {
+
+    /** File temporelle : la source la plus tôt échue en tête */
+    private static final Comparator<Source> BY_DUE_TIME = Comparator
+            .comparing(ScrapingScheduler::dueAt)
+            .thenComparing(Source::getPriorite, Comparator.reverseOrder());
+
+    /** Ordre de lancement des sources échues */
+    private static final Comparator<Source> DISPATCH_ORDER = Comparator
+            .comparing(Source::getPriorite, Comparator.reverseOrder())
+            .thenComparing(Source::getTrustScore, Comparator.reverseOrder())
+            .thenComparing(ScrapingScheduler::dueAt);
+
+    private final SourceRepository sourceRepository;
+    private final ScrapeJobService scrapeJobService;
+    private final ScrapingConfig scrapingConfig;
+
+    private final PriorityQueue<Source> dueQueue = new PriorityQueue<>(BY_DUE_TIME);
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public ScrapingScheduler(SourceRepository sourceRepository, ScrapeJobService scrapeJobService,
+            ScrapingConfig scrapingConfig) {
+        this.sourceRepository = sourceRepository;
+        this.scrapeJobService = scrapeJobService;
+        this.scrapingConfig = scrapingConfig;
+    }
+
+    /**
+     * Vérifie les sources échues à chaque tick.
+     * Le run est lancé sur un thread virtuel pour ne pas bloquer le thread de
+     * planification ; un tick est ignoré tant que le run précédent n'est pas fini.
+     */
+    @Scheduled(fixedDelayString = "${scraping.scheduler.tick-ms:60000}", initialDelay = 30_000)
+    public void tick() {
+        if (!scrapingConfig.getScheduler().isEnabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.debug("Run planifié précédent toujours en cours, tick ignoré");
+            return;
+        }
+
+        List<Source> due;
+        try {
+            due = dueSources(LocalDateTime.now());
+        } catch (Exception e) {
+            running.set(false);
+            log.error("Erreur lecture des sources planifiées: {}", e.getMessage());
+            return;
+        }
+
+        if (due.isEmpty()) {
+            running.set(false);
+            return;
+        }
+
+        log.info("⏰ {} source(s) échue(s) : {}", due.size(), due.stream().map(Source::getNomSource).toList());
+        Thread.ofVirtual().name("scraping-scheduler").start(() -> {
+            try {
+                // Passe par les jobs : une source déjà lancée via l'API n'est pas relancée
+                ScrapeJobStatus job = scrapeJobService.submitSources(due, "scheduler");
+                ScrapeJobStatus done = scrapeJobService.completion(job.jobId())
+                        .map(CompletableFuture::join)
+                        .orElse(job);
+                log.info("Run planifié terminé (job {}) : {} articles transmis au pipeline, {} échec(s)",
+                        done.jobId(), done.articlesQueued(), done.failedSources());
+            } catch (Exception e) {
+                log.error("Erreur run planifié: {}", e.getMessage());
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    /**
+     * Reconstruit la file à partir des sources actives (elles peuvent avoir été
+     * modifiées via l'API) puis extrait les sources échues, triées pour le
+     * lancement.
+     *
+     * @param now L'instant de référence.
+     * @return Les sources à lancer, par priorité puis score de confiance.
+     */
+    public synchronized List<Source> dueSources(LocalDateTime now) {
+        dueQueue.clear();
+        dueQueue.addAll(sourceRepository.findByActiveTrue());
+
+        int max = Math.max(1, scrapingConfig.getScheduler().getMaxSourcesPerTick());
+        List<Source> due = new ArrayList<>();
+        while (!dueQueue.isEmpty() && due.size() < max && !dueAt(dueQueue.peek()).isAfter(now)) {
+            due.add(dueQueue.poll());
+        }
+
+        due.sort(DISPATCH_ORDER);
+        return due;
+    }
+
+    /**
+     * Échéance d'une source : nextSyncAt (inclut le backoff d'erreur), sinon
+     * dernière synchro + fréquence, sinon immédiatement.
+     */
+    private static LocalDateTime dueAt(Source source) {
+        if (source.getNextSyncAt() != null) {
+            return source.getNextSyncAt();
+        }
+        if (source.getDerniereSyncro() != null) {
+            return source.getDerniereSyncro().plusMinutes(source.getFrequenceScraping());
+        }
+        return LocalDateTime.MIN;
+    }
+}
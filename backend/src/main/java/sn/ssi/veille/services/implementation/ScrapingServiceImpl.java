@@ -5,28 +5,45 @@ import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.SyndFeedInput;
 import com.rometools.rome.io.XmlReader;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.HttpStatusException;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import sn.ssi.veille.config.ScrapingConfig;
 import sn.ssi.veille.models.entities.*;
-import sn.ssi.veille.models.repositories.ArticleRepository;
 import sn.ssi.veille.models.repositories.SourceRepository;
 import sn.ssi.veille.services.AIService;
-import sn.ssi.veille.services.CrossReferenceService;
 import sn.ssi.veille.services.ScrapingService;
+import sn.ssi.veille.utils.FeedStreamReader;
+import sn.ssi.veille.utils.TextSanitizer;
 
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.ElementHandle;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.options.LoadState;
 
+import javax.xml.stream.XMLStreamException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.net.URI;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
 
 /**
  * Implémentation du service de scraping.
@@ -40,36 +57,57 @@ import java.util.List;
 public class ScrapingServiceImpl implements ScrapingService {
 
     private final sn.ssi.veille.models.repositories.SourceRepository sourceRepository;
-    private final sn.ssi.veille.models.repositories.ArticleRepository articleRepository;
     private final WebClient webClient;
     private final AIService aiService;
-    private final CrossReferenceService crossReferenceService;
     private final sn.ssi.veille.models.repositories.CategorieRepository categorieRepository;
-    private final sn.ssi.veille.services.ClusteringService clusteringService;
-    private final sn.ssi.veille.services.ContentExtractionService contentExtractionService;
+    private final ScrapingConfig scrapingConfig;
+    private final UrlDeduplicationService urlDeduplicationService;
+    private final IngestionPipeline ingestionPipeline;
+    private final BrowserPoolService browserPool;
+    private final RequestThrottler requestThrottler;
+
+    private static final String NVD_API_URL = "https://services.nvd.nist.gov/rest/json/cves/2.0";
+    // Fenêtre maximale acceptée par l'API NVD pour lastModStartDate/lastModEndDate
+    private static final int NVD_MAX_WINDOW_DAYS = 120;
+    // Format ISO-8601 sans décalage : interprété en UTC par l'API
+    private static final DateTimeFormatter NVD_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    // Limites de concurrence partagées par tous les runs (globale + par hôte)
+    private final Semaphore sourcePermits;
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    // Étage "fetch" : récupération des sources
+    private final StageMetrics fetchMetrics = new StageMetrics();
 
     public ScrapingServiceImpl(SourceRepository sourceRepository,
-            ArticleRepository articleRepository,
             WebClient.Builder webClientBuilder,
             AIService aiService,
-            CrossReferenceService crossReferenceService,
             sn.ssi.veille.models.repositories.CategorieRepository categorieRepository,
-            sn.ssi.veille.services.ClusteringService clusteringService,
-            sn.ssi.veille.services.ContentExtractionService contentExtractionService) {
+            ScrapingConfig scrapingConfig,
+            UrlDeduplicationService urlDeduplicationService,
+            IngestionPipeline ingestionPipeline,
+            BrowserPoolService browserPool,
+            RequestThrottler requestThrottler) {
         this.sourceRepository = sourceRepository;
-        this.articleRepository = articleRepository;
         this.webClient = webClientBuilder.build();
         this.aiService = aiService;
-        this.crossReferenceService = crossReferenceService;
         this.categorieRepository = categorieRepository;
-        this.clusteringService = clusteringService;
-        this.contentExtractionService = contentExtractionService;
+        this.scrapingConfig = scrapingConfig;
+        this.urlDeduplicationService = urlDeduplicationService;
+        this.ingestionPipeline = ingestionPipeline;
+        this.browserPool = browserPool;
+        this.requestThrottler = requestThrottler;
+        this.sourcePermits = new Semaphore(Math.max(1, scrapingConfig.getMaxConcurrentSources()), true);
     }
 
     // ... existing methods ...
 
     /**
-     * Sauvegarde uniquement les nouveaux articles (évite les doublons)
+     * Transmet uniquement les nouveaux articles (évite les doublons) au
+     * pipeline d'ingestion, qui se charge de l'extraction, de la sauvegarde et
+     * de l'enrichissement en arrière-plan.
+     *
+     * @return Les articles acceptés par le pipeline.
      */
     private List<Article> saveNewArticles(List<Article> articles, Source source) {
         List<Article> newArticles = new ArrayList<>();
@@ -78,79 +116,22 @@ public class ScrapingServiceImpl implements ScrapingService {
             // Nettoyage de sécurité (XSS)
             article.setTitre(sanitizeContent(article.getTitre()));
             article.setContenu(sanitizeContent(article.getContenu()));
-
-            // Vérifier si l'article existe déjà par URL
-            if (!articleRepository.existsByUrlOrigine(article.getUrlOrigine())) {
-
-                // TENTATIVE D'EXTRACTION COMPLETE DU CONTENU
-                String rssDescription = article.getContenu(); // Garder le résumé RSS original
-                try {
-                    String fullContent = contentExtractionService.extractFullContent(article.getUrlOrigine()).join();
-                    if (fullContent != null && fullContent
-                            .length() > (article.getContenu() != null ? article.getContenu().length() : 0)) {
-                        String cleanText = sanitizeContent(fullContent);
-
-                        // AI Premium Cleaning (Fix encoding & boilerplate)
-                        if (aiService.isAvailable()) {
-                            try {
-                                log.debug("Nettoyage IA en cours pour {}...", article.getTitre());
-                                cleanText = aiService.cleanContent(cleanText).join();
-                            } catch (Exception e) {
-                                log.warn("Echec nettoyage IA (fallback regex): {}", e.getMessage());
-                            }
-                        }
-
-                        // Sécurité finale : ne jamais écraser avec du vide
-                        if (cleanText != null && !cleanText.isBlank()) {
-                            article.setContenu(cleanText);
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Echec extraction contenu pour {}: {}", article.getUrlOrigine(), e.getMessage());
-                }
-
-                // FALLBACK RSS : Si contenu toujours vide, garder le résumé RSS
-                if ((article.getContenu() == null || article.getContenu().isBlank())
-                        && rssDescription != null && !rssDescription.isBlank()) {
-                    article.setContenu(rssDescription);
-                    log.info("📝 Fallback RSS pour {} (résumé conservé)", article.getTitre());
-                }
-
-                Article saved = articleRepository.save(article);
-                newArticles.add(saved);
-            }
         }
 
-        // Enrichissement IA (Post-traitement)
-        if (!newArticles.isEmpty() && aiService.isAvailable()) {
-            log.info("Enrichissement IA de {} articles...", newArticles.size());
-            for (Article article : newArticles) {
-                try {
-                    // 1. Enrichissement séquentiel (Catégories, Tags, Gravité)
-                    Article enriched = aiService.enrichArticle(article).join();
-                    articleRepository.save(enriched);
-
-                    // 2. Clustering (Calcul Vectoriel + Story Grouping)
-                    Article clustered = enriched;
-                    try {
-                        clustered = clusteringService.processClustering(enriched).join();
-                    } catch (Exception e) {
-                        log.error("⚠️ Clustering failed for {}: {}", enriched.getId(), e.getMessage());
-                    }
+        // Déduplication par lot : au plus une requête pour tout le flux
+        Set<String> knownUrls = urlDeduplicationService.findKnownUrls(
+                articles.stream().map(Article::getUrlOrigine).toList());
+        Set<String> seenUrls = new HashSet<>();
 
-                    // 3. Cross-referencing (Corrélation par Tags)
-                    try {
-                        crossReferenceService.processCorrelations(clustered);
-                    } catch (Exception e) {
-                        log.error("⚠️ Cross-ref failed for {}: {}", clustered.getId(), e.getMessage());
-                    }
-                } catch (Exception e) {
-                    log.error("Erreur enrichment article {}: {}", article.getId(), e.getMessage());
-                }
+        for (Article article : articles) {
+            // Ignorer les URLs déjà en base ou en double dans le même flux
+            if (!knownUrls.contains(article.getUrlOrigine()) && seenUrls.add(article.getUrlOrigine())
+                    && ingestionPipeline.submit(article, source)) {
+                newArticles.add(article);
             }
         }
 
-        log.info("Source {} : {}/{} nouveaux articles sauvegardés",
+        log.info("Source {} : {}/{} nouveaux articles transmis au pipeline",
                 source.getNomSource(), newArticles.size(), articles.size());
         return newArticles;
     }
@@ -178,35 +159,151 @@ public class ScrapingServiceImpl implements ScrapingService {
 
     @Override
     public int scrapeAllSources() {
-        log.info("Démarrage manuel du scraping de toutes les sources actives");
+        return runAllSources().totalArticlesQueued();
+    }
 
-        List<Source> activeSources = sourceRepository.findByActiveTrue();
-        int totalArticles = 0;
+    @Override
+    public ScrapingRunReport runAllSources() {
+        log.info("Démarrage du scraping de toutes les sources actives");
+
+        ScrapingRunReport report = runSources(sourceRepository.findByActiveTrue());
+
+        log.info("Scraping terminé : {} articles transmis au pipeline sur {} sources ({} en échec) en {} ms",
+                report.totalArticlesQueued(), report.sourcesProcessed(), report.failedSources(), report.durationMs());
+        return report;
+    }
+
+    @Override
+    public List<Article> scrapeSource(String sourceId) {
+        Source source = sourceRepository.findById(sourceId)
+                .orElseThrow(() -> new RuntimeException("Source non trouvée: " + sourceId));
+
+        return collectAndRecord(source);
+    }
+
+    /**
+     * Lance la collecte d'un lot de sources en parallèle : un thread virtuel par
+     * source, borné par la limite globale et par la limite de l'hôte.
+     * Les sources sont soumises dans l'ordre de la liste (les sémaphores sont
+     * équitables). Les erreurs d'une source passent par
+     * {@link #handleSourceError} sans interrompre les autres.
+     */
+    @Override
+    public ScrapingRunReport runSources(List<Source> sources) {
+        return runSources(sources, timing -> {
+        });
+    }
 
-        for (Source source : activeSources) {
-            // Validation pré-scraping
-            if (source.getNomSource() == null || source.getMethodeCollecte() == null || source.getUrl() == null) {
-                log.warn("Source ignorée (Données invalides) : ID={}", source.getId());
-                continue;
+    @Override
+    public ScrapingRunReport runSources(List<Source> sources,
+            Consumer<ScrapingRunReport.SourceTiming> onSourceDone) {
+        long start = System.nanoTime();
+        List<Future<ScrapingRunReport.SourceTiming>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Source source : sources) {
+                if (isScrapable(source)) {
+                    futures.add(executor.submit(() -> {
+                        ScrapingRunReport.SourceTiming timing = runSource(source);
+                        try {
+                            onSourceDone.accept(timing);
+                        } catch (Exception e) {
+                            log.warn("Erreur notification fin de source {}: {}", source.getNomSource(),
+                                    e.getMessage());
+                        }
+                        return timing;
+                    }));
+                }
             }
+        } // close() attend la fin de toutes les sources
+
+        List<ScrapingRunReport.SourceTiming> timings = futures.stream()
+                .map(Future::resultNow)
+                .toList();
+
+        int totalQueued = timings.stream().mapToInt(ScrapingRunReport.SourceTiming::articlesQueued).sum();
+        int failed = (int) timings.stream().filter(t -> !t.success()).count();
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+
+        return new ScrapingRunReport(totalQueued, timings.size(), failed, durationMs, timings);
+    }
+
+    private ScrapingRunReport.SourceTiming runSource(Source source) {
+        String host = RequestThrottler.hostOf(source.getUrl());
+        Semaphore hostLimit = hostPermits.computeIfAbsent(host,
+                h -> new Semaphore(Math.max(1, scrapingConfig.getMaxConcurrentPerHost()), true));
+        long start = System.nanoTime();
 
+        try {
+            // Hôte d'abord : on ne bloque pas un slot global en attendant un hôte saturé
+            hostLimit.acquire();
             try {
-                List<Article> articles = scrapeSource(source.getId());
-                totalArticles += articles.size();
-            } catch (Exception e) {
-                handleSourceError(source, e);
+                sourcePermits.acquire();
+                try {
+                    start = System.nanoTime();
+                    List<Article> articles = collectAndRecord(source);
+                    fetchMetrics.recordSuccess(System.nanoTime() - start);
+                    long durationMs = (System.nanoTime() - start) / 1_000_000;
+                    log.info("Source {} : {} articles en {} ms", source.getNomSource(), articles.size(), durationMs);
+                    return new ScrapingRunReport.SourceTiming(source.getId(), source.getNomSource(), host,
+                            articles.size(), durationMs, true, null);
+                } finally {
+                    sourcePermits.release();
+                }
+            } finally {
+                hostLimit.release();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ScrapingRunReport.SourceTiming(source.getId(), source.getNomSource(), host, 0,
+                    (System.nanoTime() - start) / 1_000_000, false, "Interrompu");
+        } catch (Exception e) {
+            fetchMetrics.recordFailure(System.nanoTime() - start);
+            handleSourceError(source, e);
+            return new ScrapingRunReport.SourceTiming(source.getId(), source.getNomSource(), host, 0,
+                    (System.nanoTime() - start) / 1_000_000, false, e.getMessage());
         }
-
-        log.info("Scraping manuel terminé : {} articles collectés au total", totalArticles);
-        return totalArticles;
     }
 
     @Override
-    public List<Article> scrapeSource(String sourceId) {
-        Source source = sourceRepository.findById(sourceId)
-                .orElseThrow(() -> new RuntimeException("Source non trouvée: " + sourceId));
+    public List<PipelineStageStats> getPipelineStats() {
+        int fetchSlots = Math.max(1, scrapingConfig.getMaxConcurrentSources());
+        List<PipelineStageStats> stats = new ArrayList<>();
+        stats.add(fetchMetrics.snapshot("fetch", sourcePermits.getQueueLength(), fetchSlots, fetchSlots));
+        stats.addAll(ingestionPipeline.getStats());
+        return stats;
+    }
+
+    /**
+     * Validation pré-scraping.
+     */
+    private boolean isScrapable(Source source) {
+        if (source.getNomSource() == null || source.getMethodeCollecte() == null || source.getUrl() == null) {
+            log.warn("Source ignorée (Données invalides) : ID={}", source.getId());
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Collecte une source puis enregistre le succès : dernière synchro,
+     * prochaine échéance (now + frequenceScraping) et statistiques.
+     */
+    private List<Article> collectAndRecord(Source source) {
+        List<Article> articles = collect(source);
+
+        LocalDateTime now = LocalDateTime.now();
+        source.setDerniereSyncro(now);
+        source.setNextSyncAt(now.plusMinutes(source.getFrequenceScraping()));
+        source.setConsecutiveFailures(0);
+        source.setArticlesLastSync(articles.size());
+        source.setTotalArticlesCollected(source.getTotalArticlesCollected() + articles.size());
+        sourceRepository.save(source);
+
+        return articles;
+    }
 
+    private List<Article> collect(Source source) {
         return switch (source.getMethodeCollecte()) {
             case RSS -> scrapeViaRss(source);
             case API -> scrapeViaApi(source);
@@ -225,9 +322,9 @@ public class ScrapingServiceImpl implements ScrapingService {
             if (source.getUrl().contains("ycombinator") || source.getUrl().contains("hacker-news")) {
                 articles = scrapeHackerNews(source);
             }
-            // NIST NVD API
+            // NIST NVD API (collecte incrémentale, articles transmis page par page)
             else if (source.getUrl().contains("nvd.nist.gov")) {
-                articles = scrapeNistNvd(source);
+                return scrapeNistNvd(source);
             }
             // API générique
             else {
@@ -246,49 +343,121 @@ public class ScrapingServiceImpl implements ScrapingService {
      */
     public List<Article> scrapeViaRss(Source source) {
         log.info("Scraping via RSS : {}", source.getNomSource());
-        List<Article> articles = new ArrayList<>();
+        FeedResponse response;
 
         try {
-            URL feedUrl = URI.create(source.getUrl()).toURL();
-
-            // Configuration pour Reddit (User-Agent requis)
-            java.net.URLConnection conn = feedUrl.openConnection();
-            conn.setRequestProperty("User-Agent", "VeillePlateforme/1.0");
+            response = requestThrottler.execute(source, source.getUrl(), () -> fetchFeed(source));
+            if (response == null) {
+                log.info("RSS {} : flux inchangé (304), parsing ignoré", source.getNomSource());
+                return List.of();
+            }
+            log.info("RSS {} : {} entrées trouvées", source.getNomSource(), response.articles().size());
+        } catch (Exception e) {
+            log.error("Erreur parsing RSS {}: {}", source.getUrl(), e.getMessage());
+            throw new RuntimeException("Erreur parsing RSS", e);
+        }
 
-            SyndFeedInput input = new SyndFeedInput();
-            // Utilisation d'InputStream pour éviter le constructeur déprécié
-            // XmlReader(URLConnection)
-            SyndFeed feed = input.build(new XmlReader(conn.getInputStream()));
+        List<Article> saved = saveNewArticles(response.articles(), source);
 
-            int count = 0;
-            for (SyndEntry entry : feed.getEntries()) {
-                if (count >= source.getMaxArticlesPerSync())
-                    break;
+        // Validateurs mémorisés seulement une fois les entrées traitées (persistés
+        // avec la source en fin de collecte)
+        source.setFeedEtag(response.etag());
+        source.setFeedLastModified(response.lastModified());
+        return saved;
+    }
 
-                Article article = Article.builder()
-                        .titre(entry.getTitle())
-                        .contenu(entry.getDescription() != null ? entry.getDescription().getValue() : "")
-                        .urlOrigine(entry.getLink())
-                        .sourceId(source.getId())
-                        .categorieId(source.getCategorieParDefaut())
-                        .datePublication(entry.getPublishedDate() != null
-                                ? entry.getPublishedDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDateTime()
-                                : LocalDateTime.now())
-                        .tags(new String[] {})
-                        .gravite(Gravite.INFORMATION)
-                        .build();
-
-                articles.add(article);
-                count++;
+    /**
+     * Requête (conditionnelle) et lecture du flux.
+     * <p>
+     * Le flux est lu en streaming (StAX) : la lecture s'arrête à
+     * maxArticlesPerSync entrées, ou après quelques entrées consécutives
+     * probablement déjà en base d'après le filtre de déduplication (les flux
+     * listent les plus récentes en premier). ROME reprend le
+     * document depuis le début si le flux est mal formé.
+     *
+     * @return null si le serveur répond 304 (flux inchangé).
+     */
+    private FeedResponse fetchFeed(Source source) throws Exception {
+        URL feedUrl = URI.create(source.getUrl()).toURL();
+
+        // Configuration pour Reddit (User-Agent requis)
+        java.net.URLConnection conn = feedUrl.openConnection();
+        conn.setRequestProperty("User-Agent", "VeillePlateforme/1.0");
+        conn.setConnectTimeout(source.getTimeout() * 1000);
+        conn.setReadTimeout(source.getTimeout() * 1000);
+
+        // GET conditionnel : le serveur répond 304 si le flux n'a pas changé
+        if (conn instanceof HttpURLConnection http) {
+            if (source.getFeedEtag() != null) {
+                http.setRequestProperty("If-None-Match", source.getFeedEtag());
+            }
+            if (source.getFeedLastModified() != null) {
+                http.setRequestProperty("If-Modified-Since", source.getFeedLastModified());
+            }
+            int status = http.getResponseCode();
+            if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                http.disconnect();
+                return null;
+            }
+            if (status >= 400) {
+                http.disconnect();
+                throw new HttpStatusException("Erreur HTTP du flux", status, source.getUrl());
             }
+        }
 
-            log.info("RSS {} : {} entrées trouvées", source.getNomSource(), articles.size());
-        } catch (Exception e) {
-            log.error("Erreur parsing RSS {}: {}", source.getUrl(), e.getMessage());
-            throw new RuntimeException("Erreur parsing RSS", e);
+        List<Article> articles = new ArrayList<>();
+        try (InputStream body = conn.getInputStream()) {
+            FeedStreamReader.RecordingInputStream recording = new FeedStreamReader.RecordingInputStream(body);
+            int stopAfterKnown = Math.max(1, scrapingConfig.getFeedStopAfterKnownEntries());
+            int[] knownStreak = { 0 };
+
+            try {
+                FeedStreamReader.read(recording, entry -> {
+                    // Filtre seul pour décider de l'arrêt : les entrées sont
+                    // toutes gardées et vérifiées en un lot à la sauvegarde
+                    knownStreak[0] = urlDeduplicationService.mightBeKnown(entry.link()) ? knownStreak[0] + 1 : 0;
+                    articles.add(toFeedArticle(entry.title(), entry.link(), entry.description(),
+                            entry.published(), source));
+                    return knownStreak[0] < stopAfterKnown && articles.size() < source.getMaxArticlesPerSync();
+                });
+            } catch (XMLStreamException e) {
+                log.warn("RSS {} : flux mal formé pour StAX ({}), repli sur ROME",
+                        source.getNomSource(), e.getMessage());
+                articles.clear();
+
+                SyndFeed feed = new SyndFeedInput().build(new XmlReader(recording.replay()));
+                for (SyndEntry entry : feed.getEntries()) {
+                    if (articles.size() >= source.getMaxArticlesPerSync())
+                        break;
+                    articles.add(toFeedArticle(entry.getTitle(), entry.getLink(),
+                            entry.getDescription() != null ? entry.getDescription().getValue() : null,
+                            entry.getPublishedDate() != null
+                                    ? entry.getPublishedDate().toInstant().atZone(ZoneId.systemDefault())
+                                            .toLocalDateTime()
+                                    : null,
+                            source));
+                }
+            }
         }
 
-        return saveNewArticles(articles, source);
+        return new FeedResponse(articles, conn.getHeaderField("ETag"), conn.getHeaderField("Last-Modified"));
+    }
+
+    private Article toFeedArticle(String title, String link, String description, LocalDateTime published,
+            Source source) {
+        return Article.builder()
+                .titre(title)
+                .contenu(description != null ? description : "")
+                .urlOrigine(link)
+                .sourceId(source.getId())
+                .categorieId(source.getCategorieParDefaut())
+                .datePublication(published != null ? published : LocalDateTime.now())
+                .tags(new String[] {})
+                .gravite(Gravite.INFORMATION)
+                .build();
+    }
+
+    private record FeedResponse(List<Article> articles, String etag, String lastModified) {
     }
 
     /**
@@ -301,66 +470,65 @@ public class ScrapingServiceImpl implements ScrapingService {
         log.info("Scraping via Playwright (HTML) : {}", source.getNomSource());
         List<Article> articles = new ArrayList<>();
 
-        try (Playwright playwright = Playwright.create()) {
-            Browser browser = playwright.chromium().launch(
-                    new BrowserType.LaunchOptions().setHeadless(true));
-            Page page = browser.newPage();
-
-            // Timeouts configurés (défaut 30s)
-            page.setDefaultTimeout(source.getTimeout() * 1000);
+        try {
+            // Jeton pris avant d'emprunter une page : l'attente ne bloque pas un navigateur du pool
+            requestThrottler.acquire(source, source.getUrl());
+            browserPool.withPage(null, page -> {
+                // Timeouts configurés (défaut 30s)
+                page.setDefaultTimeout(source.getTimeout() * 1000);
+
+                log.debug("Navigation vers {}", source.getUrl());
+                page.navigate(source.getUrl());
+                try {
+                    page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+                } catch (Exception e) {
+                    log.warn("Timeout attente DOM pour {}, on continue...", source.getNomSource());
+                }
 
-            log.debug("Navigation vers {}", source.getUrl());
-            page.navigate(source.getUrl());
-            try {
-                page.waitForLoadState(LoadState.DOMCONTENTLOADED);
-            } catch (Exception e) {
-                log.warn("Timeout attente DOM pour {}, on continue...", source.getNomSource());
-            }
+                // Sélecteurs par défaut si non configurés
+                String titleSelector = source.getSelectorTitle() != null ? source.getSelectorTitle()
+                        : "article h2 a, .post-title a, h2 a";
 
-            // Sélecteurs par défaut si non configurés
-            String titleSelector = source.getSelectorTitle() != null ? source.getSelectorTitle()
-                    : "article h2 a, .post-title a, h2 a";
+                List<ElementHandle> elements = page.querySelectorAll(titleSelector);
+                log.info("Playwright a trouvé {} éléments avec le sélecteur '{}'", elements.size(), titleSelector);
 
-            List<ElementHandle> elements = page.querySelectorAll(titleSelector);
-            log.info("Playwright a trouvé {} éléments avec le sélecteur '{}'", elements.size(), titleSelector);
+                int count = 0;
+                for (ElementHandle element : elements) {
+                    if (count >= source.getMaxArticlesPerSync())
+                        break;
 
-            int count = 0;
-            for (ElementHandle element : elements) {
-                if (count >= source.getMaxArticlesPerSync())
-                    break;
+                    try {
+                        String title = element.innerText();
+                        String link = element.getAttribute("href");
 
-                try {
-                    String title = element.innerText();
-                    String link = element.getAttribute("href");
+                        if (link != null && !link.isEmpty()) {
+                            if (!link.startsWith("http")) {
+                                URI baseUri = URI.create(source.getUrl());
+                                link = baseUri.resolve(link).toString();
+                            }
 
-                    if (link != null && !link.isEmpty()) {
-                        if (!link.startsWith("http")) {
-                            URI baseUri = URI.create(source.getUrl());
-                            link = baseUri.resolve(link).toString();
+                            Article article = Article.builder()
+                                    .titre(title)
+                                    .urlOrigine(link)
+                                    .sourceId(source.getId())
+                                    .categorieId(source.getCategorieParDefaut())
+                                    .datePublication(LocalDateTime.now())
+                                    .gravite(Gravite.INFORMATION)
+                                    .tags(new String[] { "Scraped", "Playwright" })
+                                    .build();
+
+                            // Si nécessaire, on pourrait visiter l'article ici pour le contenu complet
+                            article.setContenu("Contenu extrait via Playwright (Index only)");
+
+                            articles.add(article);
+                            count++;
                         }
-
-                        Article article = Article.builder()
-                                .titre(title)
-                                .urlOrigine(link)
-                                .sourceId(source.getId())
-                                .categorieId(source.getCategorieParDefaut())
-                                .datePublication(LocalDateTime.now())
-                                .gravite(Gravite.INFORMATION)
-                                .tags(new String[] { "Scraped", "Playwright" })
-                                .build();
-
-                        // Si nécessaire, on pourrait visiter l'article ici pour le contenu complet
-                        article.setContenu("Contenu extrait via Playwright (Index only)");
-
-                        articles.add(article);
-                        count++;
+                    } catch (Exception e) {
+                        log.warn("Erreur extraction élément Playwright: {}", e.getMessage());
                     }
-                } catch (Exception e) {
-                    log.warn("Erreur extraction élément Playwright: {}", e.getMessage());
                 }
-            }
-
-            browser.close();
+                return null;
+            });
         } catch (Exception e) {
             log.error("Erreur Playwright {}: {}", source.getNomSource(), e.getMessage());
             // Ne pas tout bloquer, retourner la liste vide ou partielle
@@ -377,42 +545,53 @@ public class ScrapingServiceImpl implements ScrapingService {
 
         try {
             // Récupérer les top stories IDs
-            Integer[] storyIds = webClient.get()
-                    .uri("https://hacker-news.firebaseio.com/v0/topstories.json")
+            String topStoriesUrl = "https://hacker-news.firebaseio.com/v0/topstories.json";
+            Integer[] storyIds = requestThrottler.executeReactive(source, topStoriesUrl, () -> webClient.get()
+                    .uri(topStoriesUrl)
                     .retrieve()
-                    .bodyToMono(Integer[].class)
+                    .bodyToMono(Integer[].class))
                     .block();
 
             if (storyIds == null)
                 return articles;
 
             int limit = Math.min(source.getMaxArticlesPerSync(), storyIds.length);
+            Duration itemTimeout = Duration.ofMillis(scrapingConfig.getApiItemTimeoutMs());
+
+            // Fan-out borné : les items sont récupérés en parallèle, l'ordre du
+            // classement est conservé, un item en échec ou trop lent est ignoré.
+            // La limite de la source est comptée une fois (liste des top
+            // stories) ; les items ne sont cadencés que par la limite de l'hôte.
+            List<Article> fetched = Flux.fromArray(storyIds)
+                    .take(limit)
+                    .flatMapSequential(id -> requestThrottler.executeReactiveHostOnly(source,
+                            "https://hacker-news.firebaseio.com/v0/item/" + id + ".json",
+                            () -> webClient.get()
+                                    .uri("https://hacker-news.firebaseio.com/v0/item/" + id + ".json")
+                                    .retrieve()
+                                    .bodyToMono(HackerNewsItem.class)
+                                    .timeout(itemTimeout))
+                            .onErrorResume(e -> {
+                                log.debug("Erreur item HN {}: {}", id, e.getMessage());
+                                return Mono.empty();
+                            }),
+                            Math.max(1, scrapingConfig.getApiFanOutConcurrency()))
+                    .filter(item -> item.url() != null)
+                    .map(item -> Article.builder()
+                            .titre(item.title())
+                            .contenu("Score: " + item.score() + " | Commentaires: " + item.descendants())
+                            .urlOrigine(item.url())
+                            .sourceId(source.getId())
+                            .categorieId(source.getCategorieParDefaut())
+                            .datePublication(LocalDateTime.now())
+                            .tags(new String[] {})
+                            .gravite(Gravite.INFORMATION)
+                            .build())
+                    .collectList()
+                    .block();
 
-            for (int i = 0; i < limit; i++) {
-                try {
-                    HackerNewsItem item = webClient.get()
-                            .uri("https://hacker-news.firebaseio.com/v0/item/" + storyIds[i] + ".json")
-                            .retrieve()
-                            .bodyToMono(HackerNewsItem.class)
-                            .block();
-
-                    if (item != null && item.url() != null) {
-                        Article article = Article.builder()
-                                .titre(item.title())
-                                .contenu("Score: " + item.score() + " | Commentaires: " + item.descendants())
-                                .urlOrigine(item.url())
-                                .sourceId(source.getId())
-                                .categorieId(source.getCategorieParDefaut())
-                                .datePublication(LocalDateTime.now())
-                                .tags(new String[] {})
-                                .gravite(Gravite.INFORMATION)
-                                .build();
-
-                        articles.add(article);
-                    }
-                } catch (Exception e) {
-                    log.debug("Erreur item HN {}: {}", storyIds[i], e.getMessage());
-                }
+            if (fetched != null) {
+                articles.addAll(fetched);
             }
         } catch (Exception e) {
             log.error("Erreur Hacker News API: {}", e.getMessage());
@@ -422,57 +601,138 @@ public class ScrapingServiceImpl implements ScrapingService {
     }
 
     /**
-     * Scrape NIST NVD via API REST (Sans clé API = Rate limit plus strict)
+     * Collecte incrémentale NIST NVD : parcourt les fenêtres
+     * lastModStartDate/lastModEndDate (120 jours max, en UTC) depuis le
+     * dernier point haut, page par page via startIndex.
+     * <p>
+     * Après chaque page, les articles sont transmis au pipeline et le point de
+     * reprise est sauvegardé sur la source : un run interrompu reprend à la
+     * page suivante. Les requêtes sont espacées selon la limite de l'API
+     * (plus strict sans clé API) ; seule la première compte sur la limite de
+     * la source, les pages suivantes ne sont cadencées que par cet espacement.
      */
-    private List<Article> scrapeNistNvd(Source source) {
+    private List<Article> scrapeNistNvd(Source source) throws Exception {
         log.info("Scraping NIST NVD...");
-        List<Article> articles = new ArrayList<>();
+        ScrapingConfig.Nvd nvd = scrapingConfig.getNvd();
+        List<Article> collected = new ArrayList<>();
+
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MILLIS);
+        LocalDateTime windowStart;
+        LocalDateTime windowEnd;
+        int startIndex;
+
+        if (source.getCheckpointWindowEnd() != null) {
+            // Reprise d'une fenêtre interrompue
+            windowStart = source.getCheckpointWindowStart();
+            windowEnd = source.getCheckpointWindowEnd();
+            startIndex = source.getCheckpointStartIndex();
+            log.info("NVD : reprise de la fenêtre {} → {} à l'index {}", windowStart, windowEnd, startIndex);
+        } else {
+            windowStart = source.getSyncWatermark() != null
+                    ? source.getSyncWatermark()
+                    : now.minusDays(nvd.getInitialLookbackDays());
+            windowEnd = min(windowStart.plusDays(NVD_MAX_WINDOW_DAYS), now);
+            startIndex = 0;
+        }
 
-        try {
-            // Récupérer les CVEs récentes
-            // Format NIST attendu: YYYY-MM-DDTHH:mm:ss.SSS
-            // Pour simplifier, on prend juste les derniers publiés sans filtre de date
-            // complexe pour l'instant
-
-            NistResponse response = webClient.get()
-                    .uri("https://services.nvd.nist.gov/rest/json/cves/2.0?resultsPerPage="
-                            + source.getMaxArticlesPerSync())
-                    .retrieve()
-                    .bodyToMono(NistResponse.class)
-                    .block();
+        boolean hasApiKey = source.getApiKey() != null && !source.getApiKey().isBlank();
+        long spacingMs = hasApiKey ? nvd.getRequestSpacingWithKeyMs() : nvd.getRequestSpacingMs();
+        boolean firstRequest = true;
+
+        while (windowStart.isBefore(windowEnd)) {
+            while (true) {
+                if (!firstRequest) {
+                    Thread.sleep(spacingMs);
+                }
+
+                String uri = NVD_API_URL + "?lastModStartDate=" + NVD_DATE_FORMAT.format(windowStart)
+                        + "&lastModEndDate=" + NVD_DATE_FORMAT.format(windowEnd)
+                        + "&resultsPerPage=" + nvd.getResultsPerPage()
+                        + "&startIndex=" + startIndex;
 
-            if (response != null && response.vulnerabilities() != null) {
-                for (NistVulnerability item : response.vulnerabilities()) {
-                    Cve cve = item.cve();
-                    String description = cve.descriptions().stream()
+                Callable<NistResponse> fetchPage = () -> webClient.get()
+                        .uri(uri)
+                        .headers(h -> {
+                            if (hasApiKey) {
+                                h.set("apiKey", source.getApiKey());
+                            }
+                        })
+                        .retrieve()
+                        .bodyToMono(NistResponse.class)
+                        .block();
+                NistResponse response = firstRequest
+                        ? requestThrottler.execute(source, uri, fetchPage)
+                        : requestThrottler.executeHostOnly(source, uri, fetchPage);
+                firstRequest = false;
+
+                List<NistVulnerability> page = response != null && response.vulnerabilities() != null
+                        ? response.vulnerabilities()
+                        : List.of();
+
+                collected.addAll(saveNewArticles(toNistArticles(page, source), source));
+                startIndex += page.size();
+
+                // Point de reprise après chaque page
+                source.setCheckpointWindowStart(windowStart);
+                source.setCheckpointWindowEnd(windowEnd);
+                source.setCheckpointStartIndex(startIndex);
+                sourceRepository.save(source);
+
+                int total = response != null ? response.totalResults() : 0;
+                log.info("NVD {} → {} : {}/{} CVEs", windowStart, windowEnd, startIndex, total);
+                if (page.isEmpty() || startIndex >= total) {
+                    break;
+                }
+            }
+
+            // Fenêtre complète : le point haut avance, le point de reprise est effacé
+            source.setSyncWatermark(windowEnd);
+            source.setCheckpointWindowStart(null);
+            source.setCheckpointWindowEnd(null);
+            source.setCheckpointStartIndex(0);
+            sourceRepository.save(source);
+
+            windowStart = windowEnd;
+            windowEnd = min(windowStart.plusDays(NVD_MAX_WINDOW_DAYS), now);
+            startIndex = 0;
+        }
+
+        return collected;
+    }
+
+    private List<Article> toNistArticles(List<NistVulnerability> vulnerabilities, Source source) {
+        List<Article> articles = new ArrayList<>();
+        for (NistVulnerability item : vulnerabilities) {
+            Cve cve = item.cve();
+            String description = cve.descriptions() == null ? "Pas de description"
+                    : cve.descriptions().stream()
                             .filter(d -> "en".equals(d.lang()))
                             .findFirst()
                             .map(d -> d.value())
                             .orElse("Pas de description");
 
-                    Article article = Article.builder()
-                            .titre(cve.id())
-                            .contenu(description)
-                            .urlOrigine("https://nvd.nist.gov/vuln/detail/" + cve.id())
-                            .sourceId(source.getId())
-                            .categorieId(source.getCategorieParDefaut())
-                            .datePublication(
-                                    cve.published() != null ? LocalDateTime.parse(cve.published().substring(0, 19))
-                                            : LocalDateTime.now())
-                            .tags(new String[] { "CVE", "Vulnerability" })
-                            .gravite(determineNistGravity(cve))
-                            .build();
-
-                    articles.add(article);
-                }
-            }
-        } catch (Exception e) {
-            log.error("Erreur NIST API: {}", e.getMessage());
+            Article article = Article.builder()
+                    .titre(cve.id())
+                    .contenu(description)
+                    .urlOrigine("https://nvd.nist.gov/vuln/detail/" + cve.id())
+                    .sourceId(source.getId())
+                    .categorieId(source.getCategorieParDefaut())
+                    .datePublication(
+                            cve.published() != null ? LocalDateTime.parse(cve.published().substring(0, 19))
+                                    : LocalDateTime.now())
+                    .tags(new String[] { "CVE", "Vulnerability" })
+                    .gravite(determineNistGravity(cve))
+                    .build();
+
+            articles.add(article);
         }
-
         return articles;
     }
 
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
     private Gravite determineNistGravity(Cve cve) {
         if (cve.metrics() != null && cve.metrics().cvssMetricV31() != null
                 && !cve.metrics().cvssMetricV31().isEmpty()) {
@@ -489,7 +749,8 @@ public class ScrapingServiceImpl implements ScrapingService {
     }
 
     // Records pour NIST API
-    public record NistResponse(List<NistVulnerability> vulnerabilities) {
+    public record NistResponse(int resultsPerPage, int startIndex, int totalResults,
+            List<NistVulnerability> vulnerabilities) {
     }
 
     record NistVulnerability(Cve cve) {
@@ -539,11 +800,9 @@ public class ScrapingServiceImpl implements ScrapingService {
     /**
      * Nettoie le contenu HTML pour éviter les failles XSS simples.
      */
-    private String sanitizeContent(String content) {
-        if (content == null)
-            return "";
-        return content.replaceAll("<script.*?>.*?</script>", "") // Retire les scripts
-                .replaceAll("javascript:", ""); // Retire les appels JS
+    static String sanitizeContent(String content) {
+        // Retire les scripts et les appels JS (une seule passe)
+        return TextSanitizer.stripScripts(content);
     }
 
     @Override
@@ -607,6 +866,14 @@ public class ScrapingServiceImpl implements ScrapingService {
         return aiService.enrichArticle(dummy).join();
     }
 
+    @Override
+    public List<AIService.ModeBenchmark> benchmarkAI(String content) {
+        List<AIService.ModeBenchmark> results = aiService.benchmarkFusedMode(content);
+        results.forEach(result -> log.info("⏱️ Benchmark IA {} : {} ms, {} requête(s), {} + {} jetons", result.mode(),
+                result.latencyMs(), result.requests(), result.promptTokens(), result.completionTokens()));
+        return results;
+    }
+
     /**
      * Record pour parser les réponses Hacker News
      */
@@ -59,6 +59,7 @@ public class SourceServiceImpl implements SourceService {
                 .selectorTitle(request.selectorTitle())
                 .selectorContent(request.selectorContent())
                 .selectorDate(request.selectorDate())
+                .fusedAiMode(request.fusedAiMode() != null ? request.fusedAiMode() : false)
                 .build();
 
         Source saved = sourceRepository.save(source);
@@ -151,6 +152,10 @@ public class SourceServiceImpl implements SourceService {
         if (request.selectorDate() != null)
             source.setSelectorDate(request.selectorDate());
 
+        // IA
+        if (request.fusedAiMode() != null)
+            source.setFusedAiMode(request.fusedAiMode());
+
         Source updated = sourceRepository.save(source);
         return toResponse(updated);
     }
@@ -213,6 +218,7 @@ public class SourceServiceImpl implements SourceService {
                 source.getLastError(),
                 source.getLastErrorAt(),
                 source.getConsecutiveFailures(),
+                source.isFusedAiMode(),
                 source.getCreatedAt());
     }
 }
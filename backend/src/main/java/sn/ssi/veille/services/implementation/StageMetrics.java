@@ -0,0 +1,64 @@
+package sn.ssi.veille.services.implementation;
+
+import sn.ssi.veille.services.ScrapingService.PipelineStageStats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'un étage de collecte : volumes, latence moyenne et débit sur la
+ * dernière minute (fenêtre glissante de 60 secondes).
+ */
+class StageMetrics {
+
+    private static final int WINDOW_SECONDS = 60;
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder busyNanos = new LongAdder();
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(WINDOW_SECONDS);
+    private final AtomicLongArray bucketSeconds = new AtomicLongArray(WINDOW_SECONDS);
+
+    void recordSuccess(long nanos) {
+        processed.increment();
+        busyNanos.add(nanos);
+        markWindow();
+    }
+
+    void recordFailure(long nanos) {
+        failed.increment();
+        busyNanos.add(nanos);
+        markWindow();
+    }
+
+    private void markWindow() {
+        long second = System.currentTimeMillis() / 1000;
+        int index = (int) (second % WINDOW_SECONDS);
+        long stamp = bucketSeconds.get(index);
+        if (stamp != second && bucketSeconds.compareAndSet(index, stamp, second)) {
+            bucketCounts.set(index, 0);
+        }
+        bucketCounts.incrementAndGet(index);
+    }
+
+    private long lastMinuteCount() {
+        long now = System.currentTimeMillis() / 1000;
+        long total = 0;
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            if (now - bucketSeconds.get(i) < WINDOW_SECONDS) {
+                total += bucketCounts.get(i);
+            }
+        }
+        return total;
+    }
+
+    PipelineStageStats snapshot(String stage, int queueDepth, int queueCapacity, int workers) {
+        long done = processed.sum();
+        long errors = failed.sum();
+        long total = done + errors;
+        double avgLatencyMs = total == 0 ? 0.0 : busyNanos.sum() / 1_000_000.0 / total;
+        return new PipelineStageStats(stage, queueDepth, queueCapacity, workers, done, errors,
+                lastMinuteCount(), avgLatencyMs);
+    }
+}
@@ -0,0 +1,112 @@
+package sn.ssi.veille.services.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.models.repositories.ArticleRepository;
+import sn.ssi.veille.utils.BloomFilter;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Déduplication des articles par URL d'origine.
+ * Un filtre de Bloom des URLs connues (chargé au démarrage, mis à jour à
+ * chaque insertion) élimine sans requête les URLs jamais vues ; les positifs
+ * sont confirmés par une seule requête $in par lot.
+ */
+@Slf4j
+@Service
+public class UrlDeduplicationService {
+
+    private final ArticleRepository articleRepository;
+    private final BloomFilter knownUrls;
+
+    /** Tant que le filtre n'est pas chargé, tous les candidats sont vérifiés en base */
+    private volatile boolean warmedUp = false;
+
+    public UrlDeduplicationService(ArticleRepository articleRepository, ScrapingConfig scrapingConfig) {
+        this.articleRepository = articleRepository;
+        this.knownUrls = BloomFilter.create(scrapingConfig.getDedup().getExpectedUrls(),
+                scrapingConfig.getDedup().getFalsePositiveRate());
+    }
+
+    /**
+     * Charge les URLs existantes dans le filtre, hors du thread de démarrage.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpAsync() {
+        Thread.ofVirtual().name("url-dedup-warmup").start(this::warmUp);
+    }
+
+    public void warmUp() {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        try (Stream<Article> urls = articleRepository.streamAllUrls()) {
+            for (Article article : (Iterable<Article>) urls::iterator) {
+                if (article.getUrlOrigine() != null) {
+                    knownUrls.put(article.getUrlOrigine());
+                    count++;
+                }
+            }
+            warmedUp = true;
+            log.info("Filtre de déduplication chargé : {} URLs en {} ms", count, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.warn("Chargement du filtre de déduplication échoué (vérification en base conservée): {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Retourne, parmi les URLs données, celles déjà présentes en base.
+     * Coûte au plus une requête, et aucune si le filtre écarte toutes les URLs.
+     *
+     * @param urls Les URLs candidates (doublons et null ignorés).
+     * @return L'ensemble des URLs déjà connues.
+     */
+    public Set<String> findKnownUrls(Collection<String> urls) {
+        Set<String> candidates = urls.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        List<String> maybeKnown = warmedUp
+                ? candidates.stream().filter(knownUrls::mightContain).toList()
+                : List.copyOf(candidates);
+
+        if (maybeKnown.isEmpty()) {
+            return Set.of();
+        }
+
+        return articleRepository.findUrlsIn(maybeKnown).stream()
+                .map(Article::getUrlOrigine)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Indique si une URL est probablement déjà en base, d'après le filtre
+     * seul (aucune requête), pour arrêter tôt la lecture d'un flux. Un faux
+     * positif reste possible : la vérification exacte se fait à la
+     * sauvegarde ({@link #findKnownUrls}). Retourne false tant que le filtre
+     * n'est pas chargé.
+     */
+    public boolean mightBeKnown(String url) {
+        return warmedUp && url != null && knownUrls.mightContain(url);
+    }
+
+    /**
+     * Enregistre une URL nouvellement insérée.
+     */
+    public void register(String url) {
+        if (url != null) {
+            knownUrls.put(url);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package sn.ssi.veille.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom thread-safe pour des chaînes (ex: URLs d'articles).
+ * Aucun faux négatif : si {@link #mightContain} retourne false, la valeur n'a
+ * jamais été ajoutée. Un résultat positif doit être confirmé par ailleurs.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        int words = (int) Math.max(1, (bitCount + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Crée un filtre dimensionné pour un volume et un taux de faux positifs.
+     *
+     * @param expectedInsertions Nombre d'éléments attendus
+     * @param falsePositiveRate  Taux de faux positifs visé (ex: 0.01)
+     * @return Un filtre vide
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(Math.min(m, Integer.MAX_VALUE), k);
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = indexOf(h1 + i * h2);
+            int word = (int) (index >>> 6);
+            long mask = 1L << (index & 63);
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = indexOf(h1 + i * h2);
+            if ((bits.get((int) (index >>> 6)) & (1L << (index & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long indexOf(int combinedHash) {
+        // Double hashing (Kirsch-Mitzenmacher), ramené positif
+        return (combinedHash & 0x7fffffffL) % bitCount;
+    }
+
+    /**
+     * FNV-1a 64 bits sur les octets UTF-8, suivi d'un mélange final
+     * (splitmix64) pour répartir les bits hauts et bas.
+     */
+    private static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        h ^= (h >>> 30);
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= (h >>> 27);
+        h *= 0x94d049bb133111ebL;
+        h ^= (h >>> 31);
+        return h;
+    }
+}
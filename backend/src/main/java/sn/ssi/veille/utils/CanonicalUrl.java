@@ -0,0 +1,91 @@
+package sn.ssi.veille.utils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Forme canonique d'une URL d'article : deux URLs qui désignent la même page
+ * (casse de l'hôte, port par défaut, fragment, paramètres de suivi, ordre des
+ * paramètres, "/" final) donnent la même chaîne.
+ */
+public final class CanonicalUrl {
+
+    /** Paramètres de suivi sans effet sur le contenu (en plus des utm_*) */
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "dclid", "msclkid", "mc_cid", "mc_eid", "igshid", "yclid", "_hsenc", "_hsmi",
+            "ref", "ref_src", "cmpid", "ncid", "sr_share");
+
+    private CanonicalUrl() {
+    }
+
+    /**
+     * @param url L'URL.
+     * @return La forme canonique, ou l'URL reçue (sans espaces) si elle n'est
+     *         pas analysable.
+     */
+    public static String of(String url) {
+        if (url == null) {
+            return null;
+        }
+        String trimmed = url.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (Exception e) {
+            return trimmed;
+        }
+        if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+            return trimmed;
+        }
+
+        String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(trimmed.length()).append(scheme).append("://");
+        if (uri.getRawUserInfo() != null) {
+            out.append(uri.getRawUserInfo()).append('@');
+        }
+        String host = uri.getHost() != null ? uri.getHost() : uri.getRawAuthority();
+        out.append(host.toLowerCase(Locale.ROOT));
+        int port = uri.getPort();
+        if (port != -1 && !(port == 80 && scheme.equals("http")) && !(port == 443 && scheme.equals("https"))) {
+            out.append(':').append(port);
+        }
+
+        String path = uri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        } else if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        out.append(path);
+
+        String query = canonicalQuery(uri.getRawQuery());
+        if (!query.isEmpty()) {
+            out.append('?').append(query);
+        }
+        return out.toString();
+    }
+
+    /** Paramètres de suivi retirés, les autres triés (ordre stable pour les doublons) */
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> params = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            int eq = param.indexOf('=');
+            String name = (eq >= 0 ? param.substring(0, eq) : param).toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) {
+                continue;
+            }
+            params.add(param);
+        }
+        params.sort(null);
+        return String.join("&", params);
+    }
+}
@@ -0,0 +1,79 @@
+package sn.ssi.veille.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Disjoncteur simple, sans verrou.
+ * <p>
+ * Fermé : les requêtes passent. Après {@code failureThreshold} échecs
+ * consécutifs il s'ouvre : les requêtes sont refusées pendant
+ * {@code openMillis}. Ensuite il est semi-ouvert : les requêtes repassent et
+ * le premier résultat tranche (un succès le referme, un échec le rouvre pour
+ * la même durée). La vérification ne réserve rien : un appelant qui teste la
+ * disponibilité sans envoyer de requête ne bloque pas le disjoncteur.
+ */
+public final class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final LongSupplier clock;
+
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile boolean open;
+    private volatile long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true si une requête peut partir (fermé ou semi-ouvert).
+     */
+    public boolean allowRequest() {
+        return !open || clock.getAsLong() - openedAt >= openMillis;
+    }
+
+    /**
+     * @return true si le disjoncteur vient de se refermer.
+     */
+    public boolean recordSuccess() {
+        consecutiveFailures.set(0);
+        boolean wasOpen = open;
+        open = false;
+        return wasOpen;
+    }
+
+    /**
+     * @return true si le disjoncteur vient de s'ouvrir (ou de se rouvrir).
+     */
+    public boolean recordFailure() {
+        int failures = consecutiveFailures.incrementAndGet();
+        State current = getState();
+        if (current == State.HALF_OPEN || (current == State.CLOSED && failures >= failureThreshold)) {
+            openedAt = clock.getAsLong();
+            open = true;
+            return true;
+        }
+        return false;
+    }
+
+    public State getState() {
+        if (!open) {
+            return State.CLOSED;
+        }
+        return clock.getAsLong() - openedAt >= openMillis ? State.HALF_OPEN : State.OPEN;
+    }
+}
@@ -0,0 +1,203 @@
+package sn.ssi.veille.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+/**
+ * Détection du conteneur principal d'une page, à la manière de Readability,
+ * en un seul parcours du DOM (temps linéaire).
+ * <p>
+ * Le parcours postfixe cumule pour chaque élément la longueur du texte, la
+ * part de texte dans des liens et les virgules. Chaque paragraphe assez long
+ * donne un score (1 + virgules + longueur / 100, plafonné) à son parent, et
+ * la moitié à son grand-parent. Le score final d'un candidat tient compte de
+ * la balise, des classes/id évocateurs et de la densité de liens ; le plus
+ * haut l'emporte.
+ * <p>
+ * Remplace la recherche du div contenant le plus de paragraphes, qui
+ * relançait un {@code select("p")} par div (quadratique sur les pages
+ * profondément imbriquées) et retenait souvent l'enveloppe de toute la page.
+ */
+public final class ContentContainerDetector {
+
+    /** Longueur minimale d'un paragraphe pris en compte */
+    private static final int MIN_PARAGRAPH_CHARS = 25;
+
+    private static final int CLASS_WEIGHT = 25;
+
+    private static final Pattern POSITIVE = Pattern.compile(
+            "article|body|content|entry|hentry|h-entry|main|page|post|text|blog|story",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern NEGATIVE = Pattern.compile(
+            "hidden|banner|combx|comment|com-|contact|foot|footnote|masthead|media|meta|outbrain|promo|related"
+                    + "|scroll|share|shoutbox|sidebar|skyscraper|sponsor|shopping|tags|tool|widget|nav|menu|social",
+            Pattern.CASE_INSENSITIVE);
+
+    private ContentContainerDetector() {
+    }
+
+    /**
+     * Cherche le conteneur principal sous un élément (en général le document).
+     *
+     * @param root L'élément racine.
+     * @return Le meilleur conteneur, null si aucun paragraphe significatif.
+     */
+    public static Element findBest(Element root) {
+        ScoringVisitor visitor = new ScoringVisitor();
+        NodeTraversor.traverse(visitor, root);
+        return visitor.best;
+    }
+
+    /**
+     * Cumuls d'un élément pendant le parcours.
+     */
+    private static final class Frame {
+        private final Element element;
+        private double contentScore;
+        private int textChars;
+        private int linkChars;
+        private int commas;
+
+        Frame(Element element) {
+            this.element = element;
+        }
+    }
+
+    private static final class ScoringVisitor implements NodeVisitor {
+
+        /** Ancêtres de l'élément courant, racine en premier */
+        private final List<Frame> stack = new ArrayList<>();
+        private int linkDepth;
+
+        private Element best;
+        private double bestScore = Double.NEGATIVE_INFINITY;
+
+        @Override
+        public void head(Node node, int depth) {
+            if (node instanceof Element element) {
+                stack.add(new Frame(element));
+                if (element.normalName().equals("a")) {
+                    linkDepth++;
+                }
+            } else if (node instanceof TextNode text && !stack.isEmpty()) {
+                Frame top = stack.getLast();
+                String raw = text.getWholeText();
+                int length = visibleLength(raw);
+                top.textChars += length;
+                if (linkDepth > 0) {
+                    top.linkChars += length;
+                }
+                top.commas += countCommas(raw);
+            }
+        }
+
+        @Override
+        public void tail(Node node, int depth) {
+            if (!(node instanceof Element element)) {
+                return;
+            }
+            Frame frame = stack.removeLast();
+            String tag = element.normalName();
+            if (tag.equals("a")) {
+                linkDepth--;
+            }
+            Frame parent = stack.isEmpty() ? null : stack.getLast();
+            Frame grandParent = stack.size() < 2 ? null : stack.get(stack.size() - 2);
+
+            if ((tag.equals("p") || tag.equals("pre")) && frame.textChars >= MIN_PARAGRAPH_CHARS) {
+                double score = 1 + frame.commas + Math.min(3, frame.textChars / 100);
+                if (parent != null) {
+                    parent.contentScore += score;
+                }
+                if (grandParent != null) {
+                    grandParent.contentScore += score / 2;
+                }
+            }
+
+            if (frame.contentScore > 0) {
+                double linkDensity = frame.textChars == 0 ? 0 : (double) frame.linkChars / frame.textChars;
+                double score = (frame.contentScore + tagWeight(tag) + classWeight(element)) * (1 - linkDensity);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = element;
+                }
+            }
+
+            if (parent != null) {
+                parent.textChars += frame.textChars;
+                parent.linkChars += frame.linkChars;
+                parent.commas += frame.commas;
+            }
+        }
+    }
+
+    /** Bonus de balise (valeurs de Readability) */
+    private static int tagWeight(String tag) {
+        return switch (tag) {
+            case "div", "article", "section", "main" -> 5;
+            case "pre", "td", "blockquote" -> 3;
+            case "address", "ol", "ul", "dl", "dd", "dt", "li", "form" -> -3;
+            case "h1", "h2", "h3", "h4", "h5", "h6", "th" -> -5;
+            default -> 0;
+        };
+    }
+
+    private static int classWeight(Element element) {
+        int weight = 0;
+        String className = element.className();
+        if (!className.isEmpty()) {
+            if (NEGATIVE.matcher(className).find()) {
+                weight -= CLASS_WEIGHT;
+            }
+            if (POSITIVE.matcher(className).find()) {
+                weight += CLASS_WEIGHT;
+            }
+        }
+        String id = element.id();
+        if (!id.isEmpty()) {
+            if (NEGATIVE.matcher(id).find()) {
+                weight -= CLASS_WEIGHT;
+            }
+            if (POSITIVE.matcher(id).find()) {
+                weight += CLASS_WEIGHT;
+            }
+        }
+        return weight;
+    }
+
+    /** Longueur du texte espaces compris, chaque suite d'espaces comptant pour un */
+    private static int visibleLength(String text) {
+        int length = 0;
+        boolean inSpace = true;
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                if (!inSpace) {
+                    length++;
+                    inSpace = true;
+                }
+            } else {
+                length++;
+                inSpace = false;
+            }
+        }
+        return length;
+    }
+
+    private static int countCommas(String text) {
+        int commas = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == ',') {
+                commas++;
+            }
+        }
+        return commas;
+    }
+}
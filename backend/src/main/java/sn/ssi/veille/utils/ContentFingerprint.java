@@ -0,0 +1,67 @@
+package sn.ssi.veille.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Empreinte de contenu d'un article : SHA-256 du titre et du texte normalisés
+ * (balises retirées, minuscules, sans accents ni ponctuation, espaces
+ * réduits). Un même article republié sous une autre URL (paramètres de
+ * suivi, syndication) a la même empreinte.
+ */
+public final class ContentFingerprint {
+
+    /**
+     * En dessous de cette longueur normalisée, le texte est trop pauvre
+     * (ex: titre seul) pour identifier un article sans faux positifs.
+     */
+    static final int MIN_NORMALIZED_LENGTH = 80;
+
+    private static final Pattern TAGS = Pattern.compile("<[^>]*>");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private ContentFingerprint() {
+    }
+
+    /**
+     * @param title Le titre de l'article.
+     * @param body  Le texte de l'article (résumé RSS ou contenu).
+     * @return L'empreinte hexadécimale, ou null si le texte est insuffisant.
+     */
+    public static String of(String title, String body) {
+        String normalizedTitle = normalize(title);
+        if (normalizedTitle.isEmpty()) {
+            return null;
+        }
+        String normalized = normalizedTitle + "\n" + normalize(body);
+        if (normalized.length() < MIN_NORMALIZED_LENGTH) {
+            return null;
+        }
+        return sha256(normalized);
+    }
+
+    static String normalize(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String plain = TAGS.matcher(text).replaceAll(" ");
+        String decomposed = Normalizer.normalize(plain, Normalizer.Form.NFKD);
+        String ascii = DIACRITICS.matcher(decomposed).replaceAll("");
+        return NON_WORD.matcher(ascii.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+}
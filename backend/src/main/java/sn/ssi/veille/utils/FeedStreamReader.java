@@ -0,0 +1,243 @@
+package sn.ssi.veille.utils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.function.Predicate;
+
+/**
+ * Lecture en flux (StAX) des flux RSS 2.0, RSS 1.0 (RDF) et Atom.
+ * <p>
+ * Les entrées sont transmises une à une au fur et à mesure de la lecture ;
+ * la lecture s'arrête dès que le consommateur retourne false, sans lire le
+ * reste du flux. Les DTD et entités externes sont désactivées (XXE).
+ */
+public final class FeedStreamReader {
+
+    private static final XMLInputFactory FACTORY = createFactory();
+
+    private static final String ATOM_NS = "http://www.w3.org/2005/Atom";
+    private static final String RSS1_NS = "http://purl.org/rss/1.0/";
+    private static final String DC_NS = "http://purl.org/dc/elements/1.1/";
+
+    private FeedStreamReader() {
+    }
+
+    /**
+     * Entrée d'un flux.
+     */
+    public record FeedEntry(String title, String link, String description, LocalDateTime published) {
+    }
+
+    /**
+     * Lit les entrées du flux jusqu'à la fin ou jusqu'à ce que le consommateur
+     * retourne false.
+     *
+     * @param in       Le flux XML.
+     * @param consumer Reçoit chaque entrée ; retourne false pour arrêter la lecture.
+     * @throws XMLStreamException Si le flux est mal formé.
+     */
+    public static void read(InputStream in, Predicate<FeedEntry> consumer) throws XMLStreamException {
+        XMLStreamReader reader = FACTORY.createXMLStreamReader(in);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT && isEntry(nameOf(reader))) {
+                    if (!consumer.test(readEntry(reader))) {
+                        return;
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static boolean isEntry(String name) {
+        return "item".equals(name) || "entry".equals(name);
+    }
+
+    /**
+     * Nom d'un élément selon son espace de noms : nom local pour RSS 2.0 (sans
+     * espace de noms), Atom et RSS 1.0 ; "dc:" + nom local pour Dublin Core ;
+     * vide pour les autres extensions (media:, itunes:...), qui ne doivent pas
+     * remplacer le titre ou la description de l'entrée.
+     */
+    private static String nameOf(XMLStreamReader reader) {
+        String ns = reader.getNamespaceURI();
+        if (ns == null || ns.isEmpty() || ATOM_NS.equals(ns) || RSS1_NS.equals(ns)) {
+            return reader.getLocalName();
+        }
+        return DC_NS.equals(ns) ? "dc:" + reader.getLocalName() : "";
+    }
+
+    /**
+     * Lit une entrée, le lecteur étant positionné sur sa balise ouvrante.
+     * Chaque élément enfant est consommé en entier ; les inconnus sont ignorés.
+     */
+    private static FeedEntry readEntry(XMLStreamReader reader) throws XMLStreamException {
+        String title = null;
+        String link = null;
+        String description = null;
+        String content = null;
+        String published = null;
+        String updated = null;
+        int depth = 1;
+
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+                continue;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            switch (nameOf(reader)) {
+                case "title" -> title = reader.getElementText();
+                case "link" -> {
+                    // Atom : <link rel="alternate" href="..."/> ; RSS : <link>...</link>
+                    String href = reader.getAttributeValue(null, "href");
+                    if (href != null) {
+                        String rel = reader.getAttributeValue(null, "rel");
+                        if (link == null || "alternate".equals(rel)) {
+                            link = href;
+                        }
+                        skipElement(reader);
+                    } else {
+                        String text = reader.getElementText();
+                        if (link == null && !text.isBlank()) {
+                            link = text.trim();
+                        }
+                    }
+                }
+                case "description", "summary" -> description = reader.getElementText();
+                case "content" -> content = readContent(reader);
+                case "pubDate", "published", "dc:date" -> published = reader.getElementText();
+                case "updated" -> updated = reader.getElementText();
+                default -> skipElement(reader);
+            }
+        }
+
+        return new FeedEntry(title, link, description != null ? description : content,
+                parseDate(published != null ? published : updated));
+    }
+
+    /**
+     * Contenu Atom : texte brut, ou balisage XHTML restitué en texte.
+     */
+    private static String readContent(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            } else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Dates RFC 822 (RSS) ou ISO-8601 (Atom, Dublin Core), converties dans le
+     * fuseau local. Retourne null si le format n'est pas reconnu.
+     */
+    static LocalDateTime parseDate(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME)
+                    .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            // Essai suivant
+        }
+        try {
+            return OffsetDateTime.parse(trimmed)
+                    .atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static XMLInputFactory createFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * Flux qui conserve les octets déjà lus, pour pouvoir relire le document
+     * depuis le début (ex: repli sur un autre parseur) sans nouvelle requête.
+     */
+    public static class RecordingInputStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream recorded = new ByteArrayOutputStream();
+
+        public RecordingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                recorded.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) {
+                recorded.write(buffer, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public void close() {
+            // Fermé par le propriétaire du flux d'origine
+        }
+
+        /**
+         * @return Le document complet : octets déjà lus puis reste du flux.
+         */
+        public InputStream replay() {
+            return new SequenceInputStream(new ByteArrayInputStream(recorded.toByteArray()), in);
+        }
+    }
+}
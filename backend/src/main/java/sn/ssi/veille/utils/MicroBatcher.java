@@ -0,0 +1,125 @@
+package sn.ssi.veille.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Regroupe des appels unitaires simultanés en un seul appel par lot.
+ * <p>
+ * Chaque {@link #submit} rejoint le lot en cours ; le lot part dès qu'il
+ * atteint {@code maxBatchSize} éléments, ou {@code lingerMillis} après son
+ * premier élément. Le résultat i du lot complète le futur de l'élément i.
+ *
+ * @param <I> Type d'un élément.
+ * @param <O> Type du résultat d'un élément.
+ */
+public final class MicroBatcher<I, O> implements AutoCloseable {
+
+    private record Pending<I, O>(I item, CompletableFuture<O> result) {
+    }
+
+    private final int maxBatchSize;
+    private final long lingerMillis;
+    private final Function<List<I>, CompletableFuture<List<O>>> batchCall;
+    private final ScheduledExecutorService timer;
+
+    private List<Pending<I, O>> batch = new ArrayList<>();
+    private ScheduledFuture<?> lingerTask;
+
+    /**
+     * @param maxBatchSize Taille maximale d'un lot.
+     * @param lingerMillis Attente maximale d'un élément avant l'envoi du lot.
+     * @param batchCall    L'appel par lot : un résultat par élément, dans l'ordre.
+     */
+    public MicroBatcher(int maxBatchSize, long lingerMillis, Function<List<I>, CompletableFuture<List<O>>> batchCall) {
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lingerMillis = Math.max(0, lingerMillis);
+        this.batchCall = batchCall;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "micro-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<O> submit(I item) {
+        CompletableFuture<O> result = new CompletableFuture<>();
+        List<Pending<I, O>> full = null;
+        synchronized (this) {
+            batch.add(new Pending<>(item, result));
+            if (batch.size() >= maxBatchSize) {
+                full = takeBatch();
+            } else if (lingerTask == null) {
+                lingerTask = timer.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return result;
+    }
+
+    /**
+     * Envoie le lot en cours sans attendre.
+     */
+    public void flush() {
+        List<Pending<I, O>> pending;
+        synchronized (this) {
+            pending = takeBatch();
+        }
+        dispatch(pending);
+    }
+
+    private List<Pending<I, O>> takeBatch() {
+        List<Pending<I, O>> taken = batch;
+        batch = new ArrayList<>();
+        if (lingerTask != null) {
+            lingerTask.cancel(false);
+            lingerTask = null;
+        }
+        return taken;
+    }
+
+    private void dispatch(List<Pending<I, O>> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<I> items = new ArrayList<>(pending.size());
+        pending.forEach(p -> items.add(p.item()));
+
+        CompletableFuture<List<O>> call;
+        try {
+            call = batchCall.apply(items);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        call.whenComplete((results, error) -> {
+            for (int i = 0; i < pending.size(); i++) {
+                CompletableFuture<O> future = pending.get(i).result();
+                if (error != null) {
+                    future.completeExceptionally(error);
+                } else if (results == null || i >= results.size()) {
+                    future.completeExceptionally(new IllegalStateException(
+                            "Lot incomplet : " + (results == null ? 0 : results.size()) + "/" + pending.size()));
+                } else {
+                    future.complete(results.get(i));
+                }
+            }
+        });
+    }
+
+    /**
+     * Envoie le lot en cours et arrête le minuteur.
+     */
+    @Override
+    public void close() {
+        flush();
+        timer.shutdownNow();
+    }
+}
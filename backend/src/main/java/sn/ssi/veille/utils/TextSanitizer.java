@@ -0,0 +1,286 @@
+package sn.ssi.veille.utils;
+
+/**
+ * Nettoyage du texte collecté en une seule passe, sans expression régulière.
+ * <p>
+ * Remplace les chaînes de {@code String.replaceAll} (une recompilation et une
+ * copie complète du texte par règle) : chaque méthode parcourt le texte une
+ * fois et écrit dans un seul tampon dimensionné à l'avance. Le résultat est
+ * identique, caractère pour caractère, à celui des anciennes expressions
+ * rappelées sur chaque méthode.
+ */
+public final class TextSanitizer {
+
+    private static final String SCRIPT_OPEN = "<script";
+    private static final String SCRIPT_CLOSE = "</script>";
+    private static final String JAVASCRIPT = "javascript:";
+
+    /** Phrases parasites, retirées jusqu'à la fin de la ligne (insensible à la casse ASCII) */
+    private static final String[] BOILERPLATE = { "read more", "continue reading", "also read", "share this post" };
+
+    private TextSanitizer() {
+    }
+
+    /**
+     * Retire les blocs script et les appels "javascript:".
+     * <p>
+     * Équivalent à :
+     * {@code replaceAll("<script.*?>.*?</script>", "").replaceAll("javascript:", "")}.
+     *
+     * @param content Le texte (null accepté).
+     * @return Le texte nettoyé, "" si null.
+     */
+    public static String stripScripts(String content) {
+        if (content == null) {
+            return "";
+        }
+        if (!content.contains(SCRIPT_OPEN) && !content.contains(JAVASCRIPT)) {
+            return content;
+        }
+
+        int length = content.length();
+        StringBuilder out = new StringBuilder(length);
+        // Début de la zone encore candidate pour "javascript:" (pas de nouvelle
+        // recherche dans un texte déjà parcouru, comme replaceAll)
+        int guard = 0;
+        int i = 0;
+        while (i < length) {
+            if (content.startsWith(SCRIPT_OPEN, i)) {
+                int end = scriptBlockEnd(content, i + SCRIPT_OPEN.length());
+                if (end >= 0) {
+                    i = end;
+                    continue;
+                }
+            }
+            char c = content.charAt(i++);
+            out.append(c);
+            if (c == ':' && out.length() - guard >= JAVASCRIPT.length()
+                    && endsWith(out, JAVASCRIPT, false)) {
+                out.setLength(out.length() - JAVASCRIPT.length());
+                guard = out.length();
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Fin d'un bloc {@code <script...>...</script>} sur une même ligne : le
+     * premier '>' suivi, plus loin sur la ligne, d'une balise fermante.
+     *
+     * @return L'index qui suit la balise fermante, -1 si le bloc n'est pas complet.
+     */
+    private static int scriptBlockEnd(String content, int from) {
+        int length = content.length();
+        int i = from;
+        while (i < length && content.charAt(i) != '>') {
+            if (isLineTerminator(content.charAt(i))) {
+                return -1;
+            }
+            i++;
+        }
+        if (i == length) {
+            return -1;
+        }
+        for (int j = i + 1; j < length; j++) {
+            if (content.startsWith(SCRIPT_CLOSE, j)) {
+                return j + SCRIPT_CLOSE.length();
+            }
+            if (isLineTerminator(content.charAt(j))) {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Normalise le texte extrait d'une page : espaces, lignes vides,
+     * alignement à gauche et phrases parasites.
+     * <p>
+     * Équivalent à la chaîne :
+     * <ol>
+     * <li>{@code [\t\u00A0]+} → espace</li>
+     * <li>{@code \n\s*\n\s*\n+} → deux sauts de ligne</li>
+     * <li>{@code (?m)^[ \t]+$} puis {@code (?m)^[ \t]+} → supprimés</li>
+     * <li>{@code (?i)(read more|continue reading|also read|share this post).*} → supprimé</li>
+     * <li>{@code trim()}</li>
+     * </ol>
+     *
+     * @param text Le texte (null accepté).
+     * @return Le texte nettoyé, "" si null.
+     */
+    public static String cleanText(String text) {
+        if (text == null) {
+            return "";
+        }
+        Cleaner cleaner = new Cleaner(text.length());
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                int end = i + 1;
+                while (end < length && isWhitespace(text.charAt(end))) {
+                    end++;
+                }
+                cleaner.whitespaceRun(text, i, end);
+                i = end;
+            } else {
+                cleaner.accept(c);
+                i++;
+            }
+        }
+        return cleaner.result();
+    }
+
+    /**
+     * État de la passe unique de {@link #cleanText}. Les règles s'enchaînent
+     * caractère par caractère : réduction des espaces et des sauts de ligne
+     * (par plage d'espaces), puis retrait de l'indentation, puis des phrases
+     * parasites, directement dans le tampon de sortie.
+     */
+    private static final class Cleaner {
+
+        private final StringBuilder out;
+
+        /** Dernier caractère reçu par la règle d'indentation (avant retrait) */
+        private char previous;
+        private boolean started;
+        private boolean stripping;
+
+        /** Phrase parasite trouvée : tout est ignoré jusqu'à la fin de ligne */
+        private boolean dropping;
+
+        Cleaner(int capacity) {
+            this.out = new StringBuilder(capacity);
+        }
+
+        /**
+         * Plage maximale d'espaces {@code [ \t\n\x0B\f\r\u00A0]} : si elle
+         * contient au moins trois sauts de ligne, tout ce qui va du premier au
+         * dernier devient "\n\n".
+         */
+        void whitespaceRun(String text, int start, int end) {
+            int first = -1;
+            int last = -1;
+            int newlines = 0;
+            for (int i = start; i < end; i++) {
+                if (text.charAt(i) == '\n') {
+                    if (first < 0) {
+                        first = i;
+                    }
+                    last = i;
+                    newlines++;
+                }
+            }
+
+            if (newlines < 3) {
+                emitCollapsed(text, start, end);
+                return;
+            }
+            emitCollapsed(text, start, first);
+            accept('\n');
+            accept('\n');
+            emitCollapsed(text, last + 1, end);
+        }
+
+        /** Tabulations et espaces insécables consécutifs → un espace */
+        private void emitCollapsed(String text, int start, int end) {
+            boolean inRun = false;
+            for (int i = start; i < end; i++) {
+                char c = text.charAt(i);
+                if (c == '\t' || c == '\u00A0') {
+                    if (!inRun) {
+                        accept(' ');
+                        inRun = true;
+                    }
+                } else {
+                    accept(c);
+                    inRun = false;
+                }
+            }
+        }
+
+        /**
+         * Retrait de l'indentation : espaces et tabulations en début de ligne
+         * (début de texte ou après un terminateur, "\r\n" comptant pour un seul).
+         */
+        void accept(char c) {
+            if (c == ' ' || c == '\t') {
+                // Pas de début de ligne entre '\r' et '\n' : sans objet ici, c n'est pas '\n'
+                boolean lineStart = !started || isLineTerminator(previous);
+                if (lineStart || stripping) {
+                    stripping = true;
+                    previous = c;
+                    started = true;
+                    return;
+                }
+            }
+            stripping = false;
+            previous = c;
+            started = true;
+            emit(c);
+        }
+
+        /** Phrases parasites : retirées avec le reste de la ligne */
+        private void emit(char c) {
+            if (isLineTerminator(c)) {
+                dropping = false;
+                out.append(c);
+                return;
+            }
+            if (dropping) {
+                return;
+            }
+            out.append(c);
+
+            char lower = toLowerAscii(c);
+            for (String phrase : BOILERPLATE) {
+                if (phrase.charAt(phrase.length() - 1) == lower && endsWith(out, phrase, true)) {
+                    out.setLength(out.length() - phrase.length());
+                    dropping = true;
+                    return;
+                }
+            }
+        }
+
+        String result() {
+            int start = 0;
+            int end = out.length();
+            while (start < end && out.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && out.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return out.substring(start, end);
+        }
+    }
+
+    /** Caractères {@code \s} après le remplacement des tabulations et espaces insécables */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\u00A0' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /** Terminateurs de ligne des expressions Java (hors mode UNIX_LINES) */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static char toLowerAscii(char c) {
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static boolean endsWith(StringBuilder out, String suffix, boolean ignoreAsciiCase) {
+        int offset = out.length() - suffix.length();
+        if (offset < 0) {
+            return false;
+        }
+        for (int k = 0; k < suffix.length(); k++) {
+            char c = out.charAt(offset + k);
+            if ((ignoreAsciiCase ? toLowerAscii(c) : c) != suffix.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,49 @@
+package sn.ssi.veille.utils;
+
+/**
+ * Seau à jetons thread-safe avec réservation.
+ * <p>
+ * {@link #reserve()} prend un jeton immédiatement, quitte à rendre le solde
+ * négatif : la valeur retournée est le délai à attendre avant d'utiliser ce
+ * jeton. Les appelants concurrents sont ainsi servis dans l'ordre, espacés au
+ * rythme de remplissage.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double nanosPerToken;
+    private final int permitsPerMinute;
+
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * @param permitsPerMinute Débit soutenu (jetons par minute).
+     * @param burst            Nombre de jetons utilisables d'un coup.
+     */
+    public TokenBucket(int permitsPerMinute, int burst) {
+        this.permitsPerMinute = Math.max(1, permitsPerMinute);
+        this.capacity = Math.max(1, burst);
+        this.nanosPerToken = 60_000_000_000.0 / this.permitsPerMinute;
+        this.tokens = this.capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public int getPermitsPerMinute() {
+        return permitsPerMinute;
+    }
+
+    /**
+     * Réserve un jeton.
+     *
+     * @return Le délai d'attente en nanosecondes (0 si un jeton était disponible).
+     */
+    public synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) / nanosPerToken);
+        lastRefill = now;
+
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) (-tokens * nanosPerToken);
+    }
+}
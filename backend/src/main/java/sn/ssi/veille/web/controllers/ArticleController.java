@@ -4,6 +4,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import sn.ssi.veille.models.entities.Gravite;
+import sn.ssi.veille.services.ScrapeJobService.ScrapeJobStatus;
 import sn.ssi.veille.web.dto.requests.ArticleRequest;
 import sn.ssi.veille.web.dto.requests.ArticleSearchCriteria;
 import sn.ssi.veille.web.dto.responses.*;
@@ -85,5 +86,5 @@ public interface ArticleController {
         ResponseEntity<String> testContentExtraction(@RequestParam String url);
 
         @PostMapping("/sync")
-        ResponseEntity<Integer> syncAllSources();
+        ResponseEntity<ScrapeJobStatus> syncAllSources();
 }
@@ -2,14 +2,24 @@ package sn.ssi.veille.web.controllers;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.services.AIService;
+import sn.ssi.veille.services.ScrapeJobService;
+import sn.ssi.veille.services.ScrapeJobService.ScrapeJobStatus;
 import sn.ssi.veille.services.ScrapingService;
+import sn.ssi.veille.services.ScrapingService.PipelineStageStats;
 import sn.ssi.veille.services.ScrapingService.ScrapingHealthReport;
+import sn.ssi.veille.services.implementation.LlmDispatcher;
+import sn.ssi.veille.services.implementation.LlmDispatcher.LaneStats;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Contrôleur pour les opérations de scraping.
@@ -19,30 +29,75 @@ import java.util.Map;
 @Tag(name = "Scraping", description = "Opérations de collecte d'articles")
 public class ScrapingController {
 
+    /** Durée maximale d'un abonnement SSE à un job */
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+
     private final ScrapingService scrapingService;
+    private final ScrapeJobService scrapeJobService;
+    private final LlmDispatcher llmDispatcher;
 
-    public ScrapingController(ScrapingService scrapingService) {
+    public ScrapingController(ScrapingService scrapingService, ScrapeJobService scrapeJobService,
+            LlmDispatcher llmDispatcher) {
         this.scrapingService = scrapingService;
+        this.scrapeJobService = scrapeJobService;
+        this.llmDispatcher = llmDispatcher;
     }
 
     @PostMapping("/run")
-    @Operation(summary = "Lancer le scraping de toutes les sources actives")
-    public ResponseEntity<Map<String, Object>> scrapeAllSources() {
-        int count = scrapingService.scrapeAllSources();
-        return ResponseEntity.ok(Map.of(
-                "success", true,
-                "message", "Scraping terminé",
-                "articlesCollected", count));
+    @Operation(summary = "Lancer le scraping de toutes les sources actives (asynchrone)")
+    public ResponseEntity<ScrapeJobStatus> scrapeAllSources() {
+        return accepted(scrapeJobService.submitAllSources());
     }
 
     @PostMapping("/sources/{sourceId}")
-    @Operation(summary = "Lancer le scraping d'une source spécifique")
-    public ResponseEntity<Map<String, Object>> scrapeSource(@PathVariable String sourceId) {
-        List<Article> articles = scrapingService.scrapeSource(sourceId);
-        return ResponseEntity.ok(Map.of(
-                "success", true,
-                "sourceId", sourceId,
-                "articlesCollected", articles.size()));
+    @Operation(summary = "Lancer le scraping d'une source spécifique (asynchrone)")
+    public ResponseEntity<ScrapeJobStatus> scrapeSource(@PathVariable String sourceId) {
+        return accepted(scrapeJobService.submitSource(sourceId));
+    }
+
+    @GetMapping("/jobs")
+    @Operation(summary = "Jobs de scraping récents")
+    public ResponseEntity<List<ScrapeJobStatus>> getRecentJobs() {
+        return ResponseEntity.ok(scrapeJobService.getRecentJobs());
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Avancement d'un job de scraping")
+    public ResponseEntity<ScrapeJobStatus> getJob(@PathVariable String jobId) {
+        return scrapeJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suivi en direct d'un job de scraping (Server-Sent Events)")
+    public ResponseEntity<SseEmitter> streamJob(@PathVariable String jobId) {
+        if (scrapeJobService.getJob(jobId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        Runnable unsubscribe = scrapeJobService.subscribe(jobId, status -> {
+            try {
+                emitter.send(SseEmitter.event().name("progress").data(status));
+                if (status.isFinished()) {
+                    emitter.complete();
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                throw new UncheckedIOException(e);
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        return ResponseEntity.ok(emitter);
+    }
+
+    private ResponseEntity<ScrapeJobStatus> accepted(ScrapeJobStatus job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/scraping/jobs/" + job.jobId()))
+                .body(job);
     }
 
     @GetMapping("/health")
@@ -51,9 +106,27 @@ public class ScrapingController {
         return ResponseEntity.ok(scrapingService.getHealthReport());
     }
 
+    @GetMapping("/pipeline")
+    @Operation(summary = "État des étages de collecte (files et débit)")
+    public ResponseEntity<List<PipelineStageStats>> getPipelineStats() {
+        return ResponseEntity.ok(scrapingService.getPipelineStats());
+    }
+
+    @GetMapping("/ai-queue")
+    @Operation(summary = "État des files de requêtes IA par priorité (profondeur, attente, refus)")
+    public ResponseEntity<List<LaneStats>> getAiQueueStats() {
+        return ResponseEntity.ok(llmDispatcher.getStats());
+    }
+
     @PostMapping("/test-ai")
     @Operation(summary = "Tester l'intégration IA avec un contenu arbitraire")
     public ResponseEntity<Article> testAI(@RequestBody String content) {
         return ResponseEntity.ok(scrapingService.testAI(content));
     }
+
+    @PostMapping("/benchmark-ai")
+    @Operation(summary = "Comparer le mode IA en deux appels et le mode fusionné (durée, jetons)")
+    public ResponseEntity<List<AIService.ModeBenchmark>> benchmarkAI(@RequestBody String content) {
+        return ResponseEntity.ok(scrapingService.benchmarkAI(content));
+    }
 }
@@ -4,6 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
 import sn.ssi.veille.models.entities.Gravite;
+import sn.ssi.veille.services.ScrapeJobService.ScrapeJobStatus;
 import sn.ssi.veille.services.implementation.ArticleServiceImpl;
 import sn.ssi.veille.web.controllers.ArticleController;
 import sn.ssi.veille.web.dto.requests.ArticleRequest;
@@ -23,15 +24,15 @@ public class ArticleControllerImpl implements ArticleController {
     private final ArticleServiceImpl articleService;
     private final sn.ssi.veille.services.AIService aiService;
     private final sn.ssi.veille.services.ContentExtractionService contentExtractionService;
-    private final sn.ssi.veille.services.ScrapingService scrapingService;
+    private final sn.ssi.veille.services.ScrapeJobService scrapeJobService;
 
     public ArticleControllerImpl(ArticleServiceImpl articleService, sn.ssi.veille.services.AIService aiService,
             sn.ssi.veille.services.ContentExtractionService contentExtractionService,
-            sn.ssi.veille.services.ScrapingService scrapingService) {
+            sn.ssi.veille.services.ScrapeJobService scrapeJobService) {
         this.articleService = articleService;
         this.aiService = aiService;
         this.contentExtractionService = contentExtractionService;
-        this.scrapingService = scrapingService;
+        this.scrapeJobService = scrapeJobService;
     }
 
     @Override
@@ -124,8 +125,11 @@ public class ArticleControllerImpl implements ArticleController {
     }
 
     @Override
-    public ResponseEntity<Integer> syncAllSources() {
-        int count = scrapingService.scrapeAllSources();
-        return ResponseEntity.ok(count);
+    public ResponseEntity<ScrapeJobStatus> syncAllSources() {
+        // Lancement asynchrone : suivi via /api/v1/scraping/jobs/{jobId}
+        ScrapeJobStatus job = scrapeJobService.submitAllSources();
+        return ResponseEntity.accepted()
+                .location(java.net.URI.create("/api/v1/scraping/jobs/" + job.jobId()))
+                .body(job);
     }
 }
@@ -3,13 +3,15 @@ package sn.ssi.veille.web.controllers.implementation;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RestController;
+import sn.ssi.veille.services.ScrapeJobService;
+import sn.ssi.veille.services.ScrapeJobService.ScrapeJobStatus;
 import sn.ssi.veille.services.SourceService;
-import sn.ssi.veille.services.ScrapingService;
 import sn.ssi.veille.web.controllers.SourceController;
 import sn.ssi.veille.web.dto.requests.SourceRequest;
 import sn.ssi.veille.web.dto.responses.MessageResponse;
 import sn.ssi.veille.web.dto.responses.SourceResponse;
 
+import java.net.URI;
 import java.util.List;
 
 /**
@@ -23,11 +25,11 @@ import java.util.List;
 public class SourceControllerImpl implements SourceController {
 
     private final SourceService sourceService;
-    private final ScrapingService scrapingService;
+    private final ScrapeJobService scrapeJobService;
 
-    public SourceControllerImpl(SourceService sourceService, ScrapingService scrapingService) {
+    public SourceControllerImpl(SourceService sourceService, ScrapeJobService scrapeJobService) {
         this.sourceService = sourceService;
-        this.scrapingService = scrapingService;
+        this.scrapeJobService = scrapeJobService;
     }
 
     @Override
@@ -74,9 +76,11 @@ public class SourceControllerImpl implements SourceController {
 
     @Override
     public ResponseEntity<MessageResponse> triggerScraping(String id) {
-        // Lance le scraping synchrone pour la source donnée
-        int count = scrapingService.scrapeSource(id).size();
+        // Lance le scraping en arrière-plan pour la source donnée
+        ScrapeJobStatus job = scrapeJobService.submitSource(id);
         return ResponseEntity
-                .ok(MessageResponse.success("Scraping terminé. " + count + " nouveaux articles collectés."));
+                .accepted()
+                .location(URI.create("/api/v1/scraping/jobs/" + job.jobId()))
+                .body(MessageResponse.success("Scraping lancé (job " + job.jobId() + ")."));
     }
 }
@@ -62,5 +62,8 @@ public record SourceRequest(
 
         @Schema(description = "Sélecteur CSS pour le contenu") String selectorContent,
 
-        @Schema(description = "Sélecteur CSS pour la date") String selectorDate) {
+        @Schema(description = "Sélecteur CSS pour la date") String selectorDate,
+
+        // IA
+        @Schema(description = "Nettoyage et enrichissement IA en une seule requête", example = "false") Boolean fusedAiMode) {
 }
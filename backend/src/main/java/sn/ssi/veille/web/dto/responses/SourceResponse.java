@@ -62,6 +62,9 @@ public record SourceResponse(
 
         @Schema(description = "Échecs consécutifs") int consecutiveFailures,
 
+        // IA
+        @Schema(description = "Nettoyage et enrichissement IA en une seule requête") boolean fusedAiMode,
+
         // Timestamps
         @Schema(description = "Date de création") LocalDateTime createdAt) {
 }
@@ -32,6 +32,7 @@ import sn.ssi.veille.models.repositories.ArticleRepository;
 import sn.ssi.veille.models.repositories.CategorieRepository;
 import sn.ssi.veille.models.repositories.SourceRepository;
 import sn.ssi.veille.services.implementation.ArticleServiceImpl;
+import sn.ssi.veille.services.implementation.UrlDeduplicationService;
 import sn.ssi.veille.web.dto.requests.ArticleRequest;
 import sn.ssi.veille.web.dto.requests.ArticleSearchCriteria;
 import sn.ssi.veille.web.dto.responses.ArticleResponse;
@@ -52,6 +53,8 @@ class ArticleServiceImplTest {
     private AIService aiService;
     @Mock
     private ClusteringService clusteringService;
+    @Mock
+    private UrlDeduplicationService urlDeduplicationService;
 
     @InjectMocks
     private ArticleServiceImpl articleService;
@@ -137,4 +137,52 @@ class ClusteringServiceImplTest {
         verify(articleRepository).save(article);
         verify(storyService).addArticleToStory(eq("story123"), eq(article));
     }
+
+    @Test
+    @DisplayName("Process Clustering - Vector Already Set (Reused) -> No Embedding Call, Joins Twin Story")
+    void processClustering_VectorAlreadySet_NoEmbeddingCall() {
+        // Given
+        List<Double> vector = List.of(1.0, 0.0);
+        article.setVector(vector);
+        Story story = new Story();
+        story.setId("story1");
+        Article twin = new Article();
+        twin.setId("art0");
+        twin.setVector(vector);
+        twin.setStory(story);
+        when(articleRepository.findByDatePublicationAfter(any(LocalDateTime.class))).thenReturn(List.of(twin));
+
+        // When
+        clusteringService.processClustering(article).join();
+
+        // Then
+        verify(aiService, never()).getEmbeddings(anyString());
+        verify(storyService).addArticleToStory("story1", article);
+    }
+
+    @Test
+    @DisplayName("Process Clustering - Batch -> One Embedding Request For Articles Without Vector")
+    void processClustering_Batch_SingleEmbeddingRequest() {
+        // Given
+        Article reused = new Article();
+        reused.setId("art2");
+        reused.setTitre("Republished");
+        reused.setVector(List.of(0.0, 1.0));
+        Article other = new Article();
+        other.setId("art3");
+        other.setTitre("Ransomware wave");
+        when(aiService.getEmbeddings(List.of("New AI Regulation EU passes new AI act.", "Ransomware wave")))
+                .thenReturn(CompletableFuture.completedFuture(List.of(List.of(1.0, 0.0), List.of())));
+        when(articleRepository.findByDatePublicationAfter(any(LocalDateTime.class))).thenReturn(List.of());
+
+        // When
+        List<Article> result = clusteringService.processClustering(List.of(article, reused, other)).join();
+
+        // Then : l'échec d'un embedding donne une Story unique, sans bloquer le lot
+        assertThat(result).containsExactly(article, reused, other);
+        assertThat(article.getVector()).containsExactly(1.0, 0.0);
+        assertThat(other.getVector()).isNull();
+        verify(aiService, never()).getEmbeddings(anyString());
+        verify(storyService, times(3)).createStoryFromCluster(anyList());
+    }
 }
@@ -0,0 +1,136 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.ssi.veille.config.AIConfig;
+import sn.ssi.veille.models.entities.EmbeddingCacheEntry;
+import sn.ssi.veille.models.repositories.EmbeddingCacheRepository;
+import sn.ssi.veille.services.implementation.EmbeddingCache;
+
+@ExtendWith(MockitoExtension.class)
+class EmbeddingCacheTest {
+
+    @Mock
+    private EmbeddingCacheRepository repository;
+
+    private AIConfig aiConfig;
+    private EmbeddingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        aiConfig = new AIConfig();
+        aiConfig.setModel("chat-model");
+        aiConfig.setEmbeddingModel("embed-v1");
+        cache = new EmbeddingCache(repository, aiConfig);
+    }
+
+    @Test
+    @DisplayName("Get - After Put -> Served From Memory, Whitespace Ignored")
+    void get_AfterPut_ServedFromMemory() {
+        // Given
+        cache.put("Faille critique  dans\nOpenSSL", List.of(0.1, 0.2));
+
+        // When
+        List<Double> vector = cache.get("  Faille critique dans OpenSSL ");
+
+        // Then
+        assertThat(vector).containsExactly(0.1, 0.2);
+        verify(repository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Put - New Vector -> Persisted With Model")
+    @SuppressWarnings("unchecked")
+    void put_NewVector_PersistedWithModel() {
+        // When
+        cache.put("texte", List.of(1.0));
+
+        // Then : écriture asynchrone
+        ArgumentCaptor<List<EmbeddingCacheEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository, timeout(2000)).saveAll(saved.capture());
+        assertThat(saved.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getModel()).isEqualTo("embed-v1");
+            assertThat(entry.getVector()).containsExactly(1.0);
+        });
+    }
+
+    @Test
+    @DisplayName("Get - Persisted Entry -> Loaded Once Then Served From Memory")
+    void get_PersistedEntry_LoadedOnce() {
+        // Given : une autre instance a écrit l'entrée en base
+        EmbeddingCache writer = new EmbeddingCache(repository, aiConfig);
+        writer.put("article", List.of(3.0));
+        ArgumentCaptor<List<EmbeddingCacheEntry>> saved = captureSaved();
+        when(repository.findAllById(anyIterable())).thenReturn(saved.getValue());
+
+        // When
+        List<Double> first = cache.get("article");
+        List<Double> second = cache.get("article");
+
+        // Then
+        assertThat(first).containsExactly(3.0);
+        assertThat(second).containsExactly(3.0);
+        verify(repository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("Get - Embedding Model Changed -> Previous Vectors Not Served")
+    void get_ModelChanged_Miss() {
+        // Given
+        cache.put("article", List.of(3.0));
+        ArgumentCaptor<List<EmbeddingCacheEntry>> saved = captureSaved();
+        lenient().when(repository.findAllById(anyIterable())).thenReturn(saved.getValue());
+
+        // When
+        aiConfig.setEmbeddingModel("embed-v2");
+        EmbeddingCache restarted = new EmbeddingCache(repository, aiConfig);
+        List<Double> vector = restarted.get("article");
+
+        // Then : la clé dépend du modèle, l'ancienne entrée n'est pas demandée
+        assertThat(vector).isNull();
+        verify(repository).findAllById(argThat(keys -> !keys.iterator().next()
+                .equals(saved.getValue().getFirst().getKey())));
+    }
+
+    @Test
+    @DisplayName("PurgeOtherModels - Startup -> Deletes Vectors Of Other Models")
+    void purgeOtherModels_Startup_DeletesOtherModels() {
+        // When
+        cache.purgeOtherModels();
+
+        // Then
+        verify(repository).deleteByModelNot("embed-v1");
+    }
+
+    @Test
+    @DisplayName("Get - Cache Disabled -> Always Miss")
+    void get_Disabled_AlwaysMiss() {
+        // Given
+        aiConfig.setEmbeddingCacheEnabled(false);
+        cache.put("texte", List.of(1.0));
+
+        // When / Then
+        assertThat(cache.get("texte")).isNull();
+        verify(repository, never()).saveAll(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private ArgumentCaptor<List<EmbeddingCacheEntry>> captureSaved() {
+        ArgumentCaptor<List<EmbeddingCacheEntry>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository, timeout(2000)).saveAll(saved.capture());
+        return saved;
+    }
+}
@@ -0,0 +1,143 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.services.implementation.ExtractionCache;
+
+class ExtractionCacheTest {
+
+    private static final String URL = "https://Exemple.com/article/42/?utm_source=rss&id=7#comments";
+
+    @TempDir
+    Path cacheDir;
+
+    private ScrapingConfig config;
+    private ExtractionCache cache;
+    private final AtomicInteger extractions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        config = new ScrapingConfig();
+        config.getExtractionCache().setDirectory(cacheDir.toString());
+        cache = new ExtractionCache(config);
+    }
+
+    @Test
+    @DisplayName("Get Or Extract - Same Canonical URL -> Extracted Once")
+    void getOrExtract_SameCanonicalUrl_ExtractedOnce() {
+        // When
+        String first = cache.getOrExtract(URL, this::extract);
+        String second = cache.getOrExtract("https://exemple.com/article/42?id=7", this::extract);
+
+        // Then
+        assertThat(first).isEqualTo("Contenu extrait");
+        assertThat(second).isEqualTo(first);
+        assertThat(extractions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Get Or Extract - New Instance -> Served From Disk")
+    void getOrExtract_NewInstance_ServedFromDisk() {
+        // Given
+        cache.getOrExtract(URL, this::extract);
+
+        // When : redémarrage (mémoire vide)
+        String content = new ExtractionCache(config).getOrExtract(URL, this::extract);
+
+        // Then
+        assertThat(content).isEqualTo("Contenu extrait");
+        assertThat(extractions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Get Or Extract - Disk Entry Past TTL -> Extracted Again")
+    void getOrExtract_DiskEntryExpired_ExtractedAgain() throws IOException {
+        // Given : fichier daté de 2 jours, TTL de 24 h
+        cache.getOrExtract(URL, this::extract);
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path file : files.toList()) {
+                Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(2, ChronoUnit.DAYS)));
+            }
+        }
+
+        // When
+        new ExtractionCache(config).getOrExtract(URL, this::extract);
+
+        // Then
+        assertThat(extractions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Get Or Extract - Empty Result -> Not Cached")
+    void getOrExtract_EmptyResult_NotCached() {
+        // When
+        cache.getOrExtract(URL, () -> {
+            extractions.incrementAndGet();
+            return null;
+        });
+        cache.getOrExtract(URL, this::extract);
+
+        // Then
+        assertThat(extractions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Get Or Extract - Concurrent Requests -> Single Extraction Shared")
+    void getOrExtract_ConcurrentRequests_Coalesced() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.getOrExtract(URL, () -> {
+            started.countDown();
+            await(release);
+            return extract();
+        }));
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        List<CompletableFuture<String>> others = List.of(
+                CompletableFuture.supplyAsync(() -> cache.getOrExtract(URL, this::extract)),
+                CompletableFuture.supplyAsync(() -> cache.getOrExtract(URL, this::extract)));
+        Thread.sleep(100);
+        release.countDown();
+
+        // Then
+        assertThat(first.get(2, TimeUnit.SECONDS)).isEqualTo("Contenu extrait");
+        for (CompletableFuture<String> other : others) {
+            assertThat(other.get(2, TimeUnit.SECONDS)).isEqualTo("Contenu extrait");
+        }
+        assertThat(extractions).hasValue(1);
+    }
+
+    private String extract() {
+        extractions.incrementAndGet();
+        return "Contenu extrait";
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
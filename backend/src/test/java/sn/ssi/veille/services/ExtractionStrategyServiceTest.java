@@ -0,0 +1,137 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.DomainExtractionStats;
+import sn.ssi.veille.models.entities.DomainExtractionStats.Tier;
+import sn.ssi.veille.models.entities.DomainExtractionStats.TierStats;
+import sn.ssi.veille.models.repositories.DomainExtractionStatsRepository;
+import sn.ssi.veille.services.implementation.ExtractionStrategyService;
+
+@ExtendWith(MockitoExtension.class)
+class ExtractionStrategyServiceTest {
+
+    private static final String URL = "https://protected.example.com/article/1";
+
+    @Mock
+    private DomainExtractionStatsRepository statsRepository;
+
+    private ExtractionStrategyService strategyService;
+
+    @BeforeEach
+    void setUp() {
+        strategyService = new ExtractionStrategyService(statsRepository, new ScrapingConfig());
+    }
+
+    @Test
+    @DisplayName("Plan - Unknown Domain -> All Tiers Cheapest First")
+    void plan_UnknownDomain_AllTiers() {
+        assertThat(strategyService.plan(URL)).containsExactly(Tier.DIRECT, Tier.PROXY, Tier.BROWSER);
+    }
+
+    @Test
+    @DisplayName("Plan - Cheap Tiers Always Fail -> Starts At Browser")
+    void plan_CheapTiersFail_StartsAtBrowser() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            strategyService.record(URL, Tier.DIRECT, false, 15_000);
+            strategyService.record(URL, Tier.PROXY, false, 15_000);
+            strategyService.record(URL, Tier.BROWSER, true, 4_000);
+        }
+
+        // When
+        List<Tier> plan = strategyService.plan(URL);
+
+        // Then
+        assertThat(plan).containsExactly(Tier.BROWSER);
+        assertThat(strategyService.plan("https://other.example.com/a"))
+                .containsExactly(Tier.DIRECT, Tier.PROXY, Tier.BROWSER);
+    }
+
+    @Test
+    @DisplayName("Plan - Below Min Samples -> Tier Still Tried")
+    void plan_BelowMinSamples_TierStillTried() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            strategyService.record(URL, Tier.DIRECT, false, 15_000);
+        }
+
+        // Then
+        assertThat(strategyService.plan(URL)).startsWith(Tier.DIRECT);
+    }
+
+    @Test
+    @DisplayName("Plan - Skipped Tier Due For Reprobe -> Retried Once And Restored On Success")
+    void plan_ReprobeDue_RetriedAndRestored() {
+        // Given : DIRECT en échec, dernière tentative il y a 2 heures
+        TierStats direct = TierStats.builder().attempts(10).successRate(0.0)
+                .lastAttemptAt(LocalDateTime.now().minusHours(2)).build();
+        DomainExtractionStats stats = DomainExtractionStats.builder().domain("protected.example.com").build();
+        stats.getTiers().put(Tier.DIRECT, direct);
+        when(statsRepository.findAll()).thenReturn(List.of(stats));
+        strategyService.load();
+
+        // When
+        List<Tier> probe = strategyService.plan(URL);
+        List<Tier> concurrent = strategyService.plan(URL);
+        strategyService.record(URL, Tier.DIRECT, true, 300);
+
+        // Then
+        assertThat(probe).startsWith(Tier.DIRECT);
+        assertThat(concurrent).doesNotContain(Tier.DIRECT);
+        assertThat(strategyService.plan(URL)).startsWith(Tier.DIRECT);
+    }
+
+    @Test
+    @DisplayName("Flush - Recorded Attempts -> Dirty Domains Saved Once")
+    @SuppressWarnings("unchecked")
+    void flush_RecordedAttempts_DirtyDomainsSaved() {
+        // Given
+        strategyService.record(URL, Tier.DIRECT, true, 200);
+        strategyService.record(URL, Tier.DIRECT, true, 400);
+
+        // When
+        strategyService.flush();
+        strategyService.flush();
+
+        // Then
+        ArgumentCaptor<List<DomainExtractionStats>> captor = ArgumentCaptor.forClass(List.class);
+        verify(statsRepository, times(1)).saveAll(captor.capture());
+        DomainExtractionStats saved = captor.getValue().getFirst();
+        assertThat(saved.getDomain()).isEqualTo("protected.example.com");
+        TierStats direct = saved.getTiers().get(Tier.DIRECT);
+        assertThat(direct.getAttempts()).isEqualTo(2);
+        assertThat(direct.getSuccesses()).isEqualTo(2);
+        assertThat(direct.getLatencyMs()).isBetween(200.0, 400.0);
+    }
+
+    @Test
+    @DisplayName("Flush - Save Fails -> Domain Kept For Next Flush")
+    void flush_SaveFails_DomainKept() {
+        // Given
+        strategyService.record(URL, Tier.BROWSER, true, 3_000);
+        when(statsRepository.saveAll(anyList())).thenThrow(new RuntimeException("Mongo indisponible"))
+                .thenReturn(List.of());
+
+        // When
+        strategyService.flush();
+        strategyService.flush();
+
+        // Then
+        verify(statsRepository, times(2)).saveAll(anyList());
+    }
+}
@@ -0,0 +1,163 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.jsoup.HttpStatusException;
+import org.jsoup.UnsupportedMimeTypeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.services.implementation.HttpFetchClient;
+import sn.ssi.veille.services.implementation.HttpFetchClient.FetchedPage;
+
+class HttpFetchClientTest {
+
+    private HttpServer server;
+    private HttpFetchClient client;
+    private ScrapingConfig config;
+    private String baseUrl;
+
+    /** Ports clients vus par le serveur : un seul si la connexion est réutilisée */
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/page", exchange -> respond(exchange, 200, "text/html; charset=UTF-8",
+                "<html><body><p>Vulnérabilité</p></body></html>".getBytes(StandardCharsets.UTF_8), null));
+        server.createContext("/gzip", exchange -> respond(exchange, 200, "text/html",
+                gzip("<p>compressé</p>"), "gzip"));
+        server.createContext("/big", exchange -> respond(exchange, 200, "text/html", new byte[4096], null));
+        server.createContext("/report.pdf", exchange -> respond(exchange, 200, "application/pdf",
+                "%PDF-1.7".getBytes(StandardCharsets.US_ASCII), null));
+        server.createContext("/feed", exchange -> respond(exchange, 200, "application/rss+xml",
+                "<rss/>".getBytes(StandardCharsets.UTF_8), null));
+        server.createContext("/missing", exchange -> respond(exchange, 404, "text/html", new byte[0], null));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        config = new ScrapingConfig();
+        client = new HttpFetchClient(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Fetch - Plain Page -> Body And Charset Returned")
+    void fetch_PlainPage_BodyAndCharset() throws Exception {
+        // When
+        FetchedPage page = client.fetch(baseUrl + "/page", "TestAgent", null);
+
+        // Then
+        assertThat(page.status()).isEqualTo(200);
+        assertThat(page.charset()).isEqualTo("UTF-8");
+        assertThat(new String(page.body(), StandardCharsets.UTF_8)).contains("Vulnérabilité");
+        assertThat(page.truncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Fetch - Gzip Response -> Body Decompressed")
+    void fetch_GzipResponse_Decompressed() throws Exception {
+        // When
+        FetchedPage page = client.fetch(baseUrl + "/gzip", "TestAgent", null);
+
+        // Then
+        assertThat(new String(page.body(), StandardCharsets.UTF_8)).isEqualTo("<p>compressé</p>");
+    }
+
+    @Test
+    @DisplayName("Fetch - Error Status -> HttpStatusException")
+    void fetch_ErrorStatus_HttpStatusException() {
+        assertThatThrownBy(() -> client.fetch(baseUrl + "/missing", "TestAgent", null))
+                .isInstanceOf(HttpStatusException.class)
+                .satisfies(e -> assertThat(((HttpStatusException) e).getStatusCode()).isEqualTo(404));
+    }
+
+    @Test
+    @DisplayName("Fetch - Pdf Response -> UnsupportedMimeTypeException")
+    void fetch_PdfResponse_UnsupportedMimeType() {
+        assertThatThrownBy(() -> client.fetch(baseUrl + "/report.pdf", "TestAgent", null))
+                .isInstanceOf(UnsupportedMimeTypeException.class)
+                .satisfies(e -> assertThat(((UnsupportedMimeTypeException) e).getMimeType())
+                        .isEqualTo("application/pdf"));
+    }
+
+    @Test
+    @DisplayName("Fetch - Xml Variant -> Accepted")
+    void fetch_XmlVariant_Accepted() throws Exception {
+        // When
+        FetchedPage page = client.fetch(baseUrl + "/feed", "TestAgent", null);
+
+        // Then
+        assertThat(page.contentType()).isEqualTo("application/rss+xml");
+    }
+
+    @Test
+    @DisplayName("Fetch - Body Over Limit -> Truncated")
+    void fetch_BodyOverLimit_Truncated() throws Exception {
+        // Given
+        config.getFetch().setMaxBodyBytes(1000);
+
+        // When
+        FetchedPage page = client.fetch(baseUrl + "/big", "TestAgent", null);
+
+        // Then
+        assertThat(page.body()).hasSize(1000);
+        assertThat(page.truncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Fetch - Same Host Several Times -> Connection Reused")
+    void fetch_SameHost_ConnectionReused() throws Exception {
+        // When
+        for (int i = 0; i < 5; i++) {
+            client.fetch(baseUrl + "/page", "TestAgent", null);
+        }
+
+        // Then
+        assertThat(clientPorts).hasSize(1);
+    }
+
+    private void respond(HttpExchange exchange, int status, String contentType, byte[] body, String encoding)
+            throws IOException {
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        if (encoding != null) {
+            exchange.getResponseHeaders().set("Content-Encoding", encoding);
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(String text) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,320 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.models.entities.Gravite;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.models.repositories.ArticleRepository;
+import sn.ssi.veille.models.repositories.SourceRepository;
+import sn.ssi.veille.services.implementation.IngestionPipeline;
+import sn.ssi.veille.services.implementation.ScrapeJournal;
+import sn.ssi.veille.services.implementation.UrlDeduplicationService;
+import sn.ssi.veille.utils.ContentFingerprint;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionPipelineTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+    @Mock
+    private AIService aiService;
+    @Mock
+    private ClusteringService clusteringService;
+    @Mock
+    private CrossReferenceService crossReferenceService;
+    @Mock
+    private ContentExtractionService contentExtractionService;
+    @Mock
+    private UrlDeduplicationService urlDeduplicationService;
+    @Mock
+    private ScrapeJournal scrapeJournal;
+    @Mock
+    private SourceRepository sourceRepository;
+
+    private IngestionPipeline pipeline;
+    private Source source;
+
+    @BeforeEach
+    void setUp() {
+        pipeline = new IngestionPipeline(articleRepository, aiService, clusteringService, crossReferenceService,
+                contentExtractionService, urlDeduplicationService, scrapeJournal, sourceRepository,
+                new ScrapingConfig());
+        source = Source.builder().id("source1").nomSource("Test Source").build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.stop();
+    }
+
+    @Test
+    @DisplayName("Submit - AI Available -> Article Flows Through Every Stage")
+    void submit_AIAvailable_RunsAllStages() {
+        // Given
+        Article article = Article.builder().titre("Titre").contenu("Court").urlOrigine("http://a.com/1").build();
+        when(contentExtractionService.extractFullContent("http://a.com/1"))
+                .thenReturn(CompletableFuture.completedFuture("Contenu complet de l'article"));
+        when(aiService.isAvailable()).thenReturn(true);
+        when(aiService.cleanContent(any())).thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArgument(0));
+        when(aiService.enrichArticle(any(Article.class)))
+                .thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        when(clusteringService.processClustering(anyList()))
+                .thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        pipeline.start();
+
+        // When
+        boolean accepted = pipeline.submit(article, source);
+
+        // Then
+        assertThat(accepted).isTrue();
+        verify(crossReferenceService, timeout(2000)).processCorrelations(article);
+        verify(urlDeduplicationService).register("http://a.com/1");
+        assertThat(article.getContenu()).isEqualTo("Contenu complet de l'article");
+        verify(scrapeJournal).articleFetched(article, source);
+        verify(scrapeJournal).articleReached(article, ScrapeJournalEntry.Step.CLUSTERED);
+        verify(scrapeJournal, timeout(2000)).articleCompleted(article);
+    }
+
+    @Test
+    @DisplayName("Resume From Journal - Several Enriched Articles -> Clustered In One Batch")
+    void resumeFromJournal_SeveralEnriched_ClusteredInOneBatch() {
+        // Given : un seul worker de clustering, attente large pour compléter le lot
+        ScrapingConfig config = new ScrapingConfig();
+        config.getPipeline().getCluster().setWorkers(1);
+        config.getPipeline().setClusterBatchLingerMs(1000);
+        pipeline = new IngestionPipeline(articleRepository, aiService, clusteringService, crossReferenceService,
+                contentExtractionService, urlDeduplicationService, scrapeJournal, sourceRepository, config);
+        List<ScrapeJournalEntry> entries = new ArrayList<>();
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Article saved = Article.builder().id("a" + i).titre("Titre " + i).urlOrigine("http://a.com/b" + i).build();
+            articles.add(saved);
+            entries.add(ScrapeJournalEntry.builder()
+                    .kind(ScrapeJournalEntry.Kind.ARTICLE)
+                    .step(ScrapeJournalEntry.Step.ENRICHED)
+                    .url(saved.getUrlOrigine())
+                    .articleId(saved.getId())
+                    .build());
+            when(articleRepository.findById(saved.getId())).thenReturn(Optional.of(saved));
+        }
+        when(scrapeJournal.claimPending(ScrapeJournalEntry.Kind.ARTICLE)).thenReturn(entries);
+        when(clusteringService.processClustering(anyList()))
+                .thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        pipeline.start();
+
+        // When
+        pipeline.resumeFromJournal();
+
+        // Then
+        articles.forEach(article -> verify(crossReferenceService, timeout(3000)).processCorrelations(article));
+        verify(clusteringService).processClustering(articles);
+        verify(clusteringService, never()).processClustering(any(Article.class));
+    }
+
+    @Test
+    @DisplayName("Submit - AI Unavailable, Extraction Fails -> Saved With RSS Summary, No Enrichment")
+    void submit_AIUnavailable_SavesRssSummaryOnly() {
+        // Given
+        Article article = Article.builder().titre("Titre").contenu("Résumé RSS").urlOrigine("http://a.com/2").build();
+        when(contentExtractionService.extractFullContent("http://a.com/2"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("403")));
+        when(aiService.isAvailable()).thenReturn(false);
+        pipeline.start();
+
+        // When
+        pipeline.submit(article, source);
+
+        // Then
+        ArgumentCaptor<Article> saved = ArgumentCaptor.forClass(Article.class);
+        verify(articleRepository, timeout(2000)).save(saved.capture());
+        assertThat(saved.getValue().getContenu()).isEqualTo("Résumé RSS");
+        verify(aiService, after(200).never()).enrichArticle(any());
+    }
+
+    @Test
+    @DisplayName("Submit - Same URL Already In Flight -> Rejected")
+    void submit_SameUrlInFlight_Rejected() {
+        // Given : workers non démarrés, l'article reste en file
+        Article first = Article.builder().urlOrigine("http://a.com/3").build();
+        Article duplicate = Article.builder().urlOrigine("http://a.com/3").build();
+
+        // When
+        boolean firstAccepted = pipeline.submit(first, source);
+        boolean duplicateAccepted = pipeline.submit(duplicate, source);
+
+        // Then
+        assertThat(firstAccepted).isTrue();
+        assertThat(duplicateAccepted).isFalse();
+        assertThat(pipeline.getStats())
+                .filteredOn(s -> s.stage().equals("extract"))
+                .singleElement()
+                .satisfies(s -> assertThat(s.queueDepth()).isEqualTo(1));
+    }
+
+    @Test
+    @DisplayName("Resume From Journal - Enriched Article -> Restarts At Clustering, No Extraction Or LLM Call")
+    void resumeFromJournal_EnrichedArticle_RestartsAtClustering() {
+        // Given
+        Article saved = Article.builder().id("a1").titre("Titre").urlOrigine("http://a.com/4").build();
+        ScrapeJournalEntry entry = ScrapeJournalEntry.builder()
+                .kind(ScrapeJournalEntry.Kind.ARTICLE)
+                .step(ScrapeJournalEntry.Step.ENRICHED)
+                .sourceId("source1")
+                .url("http://a.com/4")
+                .articleId("a1")
+                .build();
+        when(scrapeJournal.claimPending(ScrapeJournalEntry.Kind.ARTICLE)).thenReturn(List.of(entry));
+        when(sourceRepository.findById("source1")).thenReturn(Optional.of(source));
+        when(articleRepository.findById("a1")).thenReturn(Optional.of(saved));
+        when(clusteringService.processClustering(List.of(saved)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(saved)));
+        pipeline.start();
+
+        // When
+        pipeline.resumeFromJournal();
+
+        // Then
+        verify(crossReferenceService, timeout(2000)).processCorrelations(saved);
+        verify(scrapeJournal, timeout(2000)).articleCompleted(saved);
+        verifyNoInteractions(contentExtractionService);
+        verify(aiService, never()).enrichArticle(any());
+    }
+
+    @Test
+    @DisplayName("Resume From Journal - Extracted Article -> Cleaned From Journal Content, Not Re-Extracted")
+    void resumeFromJournal_ExtractedArticle_NotReExtracted() {
+        // Given
+        Article pending = Article.builder().titre("Titre").contenu("Résumé").urlOrigine("http://a.com/5").build();
+        ScrapeJournalEntry entry = ScrapeJournalEntry.builder()
+                .kind(ScrapeJournalEntry.Kind.ARTICLE)
+                .step(ScrapeJournalEntry.Step.EXTRACTED)
+                .url("http://a.com/5")
+                .article(pending)
+                .rssDescription("Résumé")
+                .extractedContent("Contenu extrait avant l'arrêt")
+                .build();
+        when(scrapeJournal.claimPending(ScrapeJournalEntry.Kind.ARTICLE)).thenReturn(List.of(entry));
+        when(aiService.isAvailable()).thenReturn(false);
+        pipeline.start();
+
+        // When
+        pipeline.resumeFromJournal();
+
+        // Then
+        ArgumentCaptor<Article> saved = ArgumentCaptor.forClass(Article.class);
+        verify(articleRepository, timeout(2000)).save(saved.capture());
+        assertThat(saved.getValue().getContenu()).isEqualTo("Contenu extrait avant l'arrêt");
+        verifyNoInteractions(contentExtractionService);
+    }
+
+    @Test
+    @DisplayName("Submit - Same Content As Recent Enriched Article -> Reused, No Extraction Or LLM Call")
+    void submit_FingerprintMatchesEnrichedArticle_ReusesContentAndEnrichment() {
+        // Given
+        String summary = "Une vulnérabilité critique dans le produit X permet une exécution de code à distance.";
+        Article twin = Article.builder().id("twin").contenu("Contenu nettoyé complet")
+                .tags(new String[] { "rce" }).gravite(Gravite.CRITIQUE).categorieId("cat1")
+                .vector(List.of(0.1, 0.2)).build();
+        Article republished = Article.builder().titre("Faille critique dans X").contenu(summary)
+                .urlOrigine("http://b.com/x?utm_source=feed").build();
+        when(articleRepository.findFirstByContentFingerprintAndDatePublicationAfterOrderByDatePublicationDesc(
+                eq(ContentFingerprint.of("Faille critique dans X", summary)), any()))
+                .thenReturn(Optional.of(twin));
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArgument(0));
+        when(clusteringService.processClustering(anyList()))
+                .thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        pipeline.start();
+
+        // When
+        pipeline.submit(republished, source);
+
+        // Then
+        verify(crossReferenceService, timeout(2000)).processCorrelations(republished);
+        assertThat(republished.getContenu()).isEqualTo("Contenu nettoyé complet");
+        assertThat(republished.getGravite()).isEqualTo(Gravite.CRITIQUE);
+        assertThat(republished.getVector()).containsExactly(0.1, 0.2);
+        verifyNoInteractions(contentExtractionService);
+        verify(aiService, never()).cleanContent(any());
+        verify(aiService, never()).enrichArticle(any());
+    }
+
+    @Test
+    @DisplayName("Submit - Source In Fused AI Mode -> One LLM Call, Straight To Clustering")
+    void submit_FusedAiMode_SingleCallThenClustering() {
+        // Given
+        Source fusedSource = Source.builder().id("source2").nomSource("Fused").fusedAiMode(true).build();
+        Article article = Article.builder().titre("Titre").contenu("Court").urlOrigine("http://c.com/1").build();
+        when(contentExtractionService.extractFullContent("http://c.com/1"))
+                .thenReturn(CompletableFuture.completedFuture("Contenu brut de l'article"));
+        when(aiService.isAvailable()).thenReturn(true);
+        when(aiService.cleanAndEnrichArticle(article, "Contenu brut de l'article")).thenAnswer(i -> {
+            article.setContenu("Contenu nettoyé");
+            article.setGravite(Gravite.ELEVE);
+            return CompletableFuture.completedFuture(true);
+        });
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArgument(0));
+        when(clusteringService.processClustering(anyList()))
+                .thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        pipeline.start();
+
+        // When
+        pipeline.submit(article, fusedSource);
+
+        // Then
+        verify(crossReferenceService, timeout(2000)).processCorrelations(article);
+        assertThat(article.getContenu()).isEqualTo("Contenu nettoyé");
+        verify(scrapeJournal).articleReached(article, ScrapeJournalEntry.Step.ENRICHED);
+        verify(aiService, never()).cleanContent(any());
+        verify(aiService, never()).enrichArticle(any());
+    }
+
+    @Test
+    @DisplayName("Submit - Fused AI Mode Fails -> Falls Back To Clean Then Enrich")
+    void submit_FusedAiModeFails_FallsBackToTwoCalls() {
+        // Given
+        Source fusedSource = Source.builder().id("source2").nomSource("Fused").fusedAiMode(true).build();
+        Article article = Article.builder().titre("Titre").contenu("Court").urlOrigine("http://c.com/2").build();
+        when(contentExtractionService.extractFullContent("http://c.com/2"))
+                .thenReturn(CompletableFuture.completedFuture("Contenu brut"));
+        when(aiService.isAvailable()).thenReturn(true);
+        when(aiService.cleanAndEnrichArticle(any(Article.class), any()))
+                .thenReturn(CompletableFuture.completedFuture(false));
+        when(aiService.cleanContent("Contenu brut")).thenReturn(CompletableFuture.completedFuture("Contenu propre"));
+        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArgument(0));
+        when(aiService.enrichArticle(any(Article.class)))
+                .thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        when(clusteringService.processClustering(anyList()))
+                .thenAnswer(i -> CompletableFuture.completedFuture(i.getArgument(0)));
+        pipeline.start();
+
+        // When
+        pipeline.submit(article, fusedSource);
+
+        // Then
+        verify(crossReferenceService, timeout(2000)).processCorrelations(article);
+        assertThat(article.getContenu()).isEqualTo("Contenu propre");
+        verify(aiService).enrichArticle(article);
+    }
+}
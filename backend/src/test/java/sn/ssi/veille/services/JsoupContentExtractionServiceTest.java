@@ -4,26 +4,94 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.sun.net.httpserver.HttpServer;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.repositories.DomainExtractionStatsRepository;
+import sn.ssi.veille.services.implementation.BrowserPoolService;
+import sn.ssi.veille.services.implementation.ExtractionCache;
+import sn.ssi.veille.services.implementation.ExtractionStrategyService;
+import sn.ssi.veille.services.implementation.HttpFetchClient;
 import sn.ssi.veille.services.implementation.JsoupContentExtractionService;
 import sn.ssi.veille.services.implementation.ProxyRotatorService;
+import sn.ssi.veille.services.implementation.RequestThrottler;
 
 @ExtendWith(MockitoExtension.class)
 class JsoupContentExtractionServiceTest {
 
     @Mock
     private ProxyRotatorService proxyRotatorService;
+    @Mock
+    private BrowserPoolService browserPoolService;
+    @Mock
+    private DomainExtractionStatsRepository statsRepository;
 
-    @InjectMocks
     private JsoupContentExtractionService extractionService;
+    private HttpFetchClient httpFetchClient;
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() {
+        httpFetchClient = new HttpFetchClient(new ScrapingConfig());
+        extractionService = new JsoupContentExtractionService(proxyRotatorService, browserPoolService,
+                new RequestThrottler(new ScrapingConfig()), httpFetchClient,
+                new ExtractionStrategyService(statsRepository, new ScrapingConfig()),
+                new ExtractionCache(new ScrapingConfig()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        httpFetchClient.shutdown();
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Extract Full Content - Reddit JSON Response -> Post Text Returned")
+    void extractFullContent_RedditJson_PostText() throws IOException {
+        // Given : l'API JSON de Reddit répond en application/json
+        String json = """
+                [{"data":{"children":[{"data":{"title":"Fuite de données chez un opérateur",
+                "selftext":"Plusieurs millions de comptes exposés."}}]}},
+                {"data":{"children":[{"data":{"body":"Source officielle ?"}}]}}]
+                """;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/reddit.com/r/netsec/comments/abc.json", exchange -> {
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        when(proxyRotatorService.getRandomUserAgent()).thenReturn("TestUserAgent");
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/reddit.com/r/netsec/comments/abc/";
+
+        // When
+        String content = extractionService.extractFullContent(url).join();
+
+        // Then : pas de repli sur les étages HTML ni Playwright
+        assertThat(content).contains("Fuite de données chez un opérateur")
+                .contains("Plusieurs millions de comptes exposés.")
+                .contains("Source officielle ?");
+        verifyNoInteractions(browserPoolService);
+    }
 
     @Test
     @DisplayName("Extract Full Content - Invalid URL -> Returns Null or Exception handled")
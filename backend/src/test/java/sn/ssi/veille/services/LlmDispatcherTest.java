@@ -0,0 +1,146 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sn.ssi.veille.config.AIConfig;
+import sn.ssi.veille.services.implementation.LlmDispatcher;
+import sn.ssi.veille.services.implementation.LlmDispatcher.Lane;
+import sn.ssi.veille.services.implementation.LlmDispatcher.LaneStats;
+
+class LlmDispatcherTest {
+
+    private AIConfig aiConfig;
+
+    /** Requêtes lancées, dans l'ordre de départ ; le test choisit quand elles finissent */
+    private final List<String> started = new ArrayList<>();
+    private final List<CompletableFuture<String>> pending = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        aiConfig = new AIConfig();
+        aiConfig.setDispatchMaxConcurrent(2);
+        aiConfig.setDispatchMaxQueueDepth(10);
+    }
+
+    private CompletableFuture<String> submit(LlmDispatcher dispatcher, Lane lane, String name) {
+        return dispatcher.submit(lane, () -> {
+            started.add(name);
+            CompletableFuture<String> request = new CompletableFuture<>();
+            pending.add(request);
+            return request;
+        });
+    }
+
+    @Test
+    @DisplayName("Submit - More Requests Than Slots -> Concurrency Bounded")
+    void submit_MoreThanSlots_Bounded() {
+        // Given
+        LlmDispatcher dispatcher = new LlmDispatcher(aiConfig);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            submit(dispatcher, Lane.ENRICHMENT, "r" + i);
+        }
+
+        // Then
+        assertThat(started).containsExactly("r0", "r1");
+        assertThat(dispatcher.inFlight()).isEqualTo(2);
+        assertThat(dispatcher.getStats().get(Lane.ENRICHMENT.ordinal()).queueDepth()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Submit - Slot Freed -> Highest Priority Lane Goes First")
+    void submit_SlotFreed_HighestPriorityFirst() {
+        // Given : les deux places sont occupées par l'enrichissement
+        LlmDispatcher dispatcher = new LlmDispatcher(aiConfig);
+        submit(dispatcher, Lane.ENRICHMENT, "enrich-1");
+        submit(dispatcher, Lane.ENRICHMENT, "enrich-2");
+        submit(dispatcher, Lane.BACKGROUND, "clean");
+        submit(dispatcher, Lane.ENRICHMENT, "enrich-3");
+        CompletableFuture<String> summary = submit(dispatcher, Lane.INTERACTIVE, "summary");
+
+        // When
+        pending.get(0).complete("ok");
+        pending.get(1).complete("ok");
+        pending.get(2).complete("résumé");
+        pending.get(3).complete("ok");
+
+        // Then
+        assertThat(started).containsExactly("enrich-1", "enrich-2", "summary", "enrich-3", "clean");
+        assertThat(summary.join()).isEqualTo("résumé");
+    }
+
+    @Test
+    @DisplayName("Submit - Lane Queue Full -> Rejected And Counted")
+    void submit_QueueFull_Rejected() {
+        // Given
+        aiConfig.setDispatchMaxConcurrent(1);
+        aiConfig.setDispatchMaxQueueDepth(1);
+        LlmDispatcher dispatcher = new LlmDispatcher(aiConfig);
+        submit(dispatcher, Lane.BACKGROUND, "running");
+        submit(dispatcher, Lane.BACKGROUND, "queued");
+
+        // When
+        CompletableFuture<String> shed = submit(dispatcher, Lane.BACKGROUND, "shed");
+        CompletableFuture<String> interactive = submit(dispatcher, Lane.INTERACTIVE, "summary");
+
+        // Then : chaque voie a sa propre file
+        assertThatThrownBy(shed::join).isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(interactive).isNotDone();
+        LaneStats background = dispatcher.getStats().get(Lane.BACKGROUND.ordinal());
+        assertThat(background.rejected()).isEqualTo(1);
+        assertThat(background.queueDepth()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Submit - Request Fails -> Slot Released, Error Propagated")
+    void submit_RequestFails_SlotReleased() {
+        // Given
+        aiConfig.setDispatchMaxConcurrent(1);
+        LlmDispatcher dispatcher = new LlmDispatcher(aiConfig);
+        CompletableFuture<String> failing = submit(dispatcher, Lane.ENRICHMENT, "failing");
+        CompletableFuture<String> next = submit(dispatcher, Lane.ENRICHMENT, "next");
+
+        // When
+        pending.get(0).completeExceptionally(new IllegalStateException("Connection reset"));
+
+        // Then
+        assertThatThrownBy(failing::join).hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(started).containsExactly("failing", "next");
+        pending.get(1).complete("ok");
+        assertThat(next.join()).isEqualTo("ok");
+        assertThat(dispatcher.inFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("GetStats - Requests Waited -> Queue Wait Recorded Per Lane")
+    void getStats_RequestsWaited_WaitRecorded() throws InterruptedException {
+        // Given
+        aiConfig.setDispatchMaxConcurrent(1);
+        LlmDispatcher dispatcher = new LlmDispatcher(aiConfig);
+        submit(dispatcher, Lane.ENRICHMENT, "first");
+        submit(dispatcher, Lane.INTERACTIVE, "waiting");
+
+        // When
+        Thread.sleep(20);
+        pending.get(0).complete("ok");
+
+        // Then
+        LaneStats interactive = dispatcher.getStats().get(Lane.INTERACTIVE.ordinal());
+        assertThat(interactive.dispatched()).isEqualTo(1);
+        assertThat(interactive.avgWaitMs()).isGreaterThanOrEqualTo(15.0);
+        assertThat(interactive.maxWaitMs()).isGreaterThanOrEqualTo(interactive.avgWaitMs());
+    }
+}
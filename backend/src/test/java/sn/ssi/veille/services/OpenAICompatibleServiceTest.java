@@ -7,6 +7,7 @@ import static org.mockito.Mockito.*;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +16,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -23,7 +25,11 @@ import reactor.core.publisher.Mono;
 import sn.ssi.veille.config.AIConfig;
 import sn.ssi.veille.config.PromptConfig;
 import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.models.entities.Categorie;
+import sn.ssi.veille.models.entities.Gravite;
 import sn.ssi.veille.models.repositories.CategorieRepository;
+import sn.ssi.veille.services.implementation.EmbeddingCache;
+import sn.ssi.veille.services.implementation.LlmDispatcher;
 import sn.ssi.veille.services.implementation.OpenAICompatibleService;
 
 @ExtendWith(MockitoExtension.class)
@@ -49,6 +55,8 @@ class OpenAICompatibleServiceTest {
     private PromptConfig promptConfig;
     @Mock
     private CategorieRepository categorieRepository;
+    @Mock
+    private EmbeddingCache embeddingCache;
 
     private OpenAICompatibleService aiService;
 
@@ -69,6 +77,14 @@ class OpenAICompatibleServiceTest {
         lenient().when(aiConfig.getTimeout()).thenReturn(1000L);
         lenient().when(aiConfig.getModel()).thenReturn("test-model");
         lenient().when(aiConfig.getApiKey()).thenReturn("test-key");
+        lenient().when(aiConfig.getHealthCheckTimeoutMs()).thenReturn(2000L);
+        lenient().when(aiConfig.getCircuitFailureThreshold()).thenReturn(3);
+        lenient().when(aiConfig.getCircuitOpenMs()).thenReturn(60_000L);
+        lenient().when(aiConfig.getEmbeddingModel()).thenReturn("test-embed");
+        lenient().when(aiConfig.getEmbeddingBatchSize()).thenReturn(64);
+        lenient().when(aiConfig.getEmbeddingBatchLingerMs()).thenReturn(50L);
+        lenient().when(aiConfig.getDispatchMaxConcurrent()).thenReturn(4);
+        lenient().when(aiConfig.getDispatchMaxQueueDepth()).thenReturn(100);
 
         // Mock Prompts
         PromptConfig.Enrichment enrichment = new PromptConfig.Enrichment();
@@ -83,11 +99,16 @@ class OpenAICompatibleServiceTest {
         summary.setSystem("Test System");
         lenient().when(promptConfig.getSummary()).thenReturn(summary);
 
+        PromptConfig.Fused fused = new PromptConfig.Fused();
+        fused.setSystem("Test System");
+        lenient().when(promptConfig.getFused()).thenReturn(fused);
+
         PromptConfig.Clustering clustering = new PromptConfig.Clustering();
         clustering.setSystem("Test System");
         lenient().when(promptConfig.getClustering()).thenReturn(clustering);
 
-        aiService = new OpenAICompatibleService(webClientBuilder, aiConfig, promptConfig, categorieRepository);
+        aiService = new OpenAICompatibleService(webClientBuilder, aiConfig, promptConfig, categorieRepository,
+                embeddingCache, new LlmDispatcher(aiConfig));
     }
 
     @Test
@@ -143,4 +164,261 @@ class OpenAICompatibleServiceTest {
         // Then
         assertThat(result).isEqualTo(article);
     }
+
+    @Test
+    @DisplayName("IsAvailable - Repeated Calls -> Cached State, Single Ping")
+    @SuppressWarnings("unchecked")
+    void isAvailable_RepeatedCalls_SinglePing() {
+        // Given
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(aiService.isAvailable()).isTrue();
+        }
+
+        // Then
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    @DisplayName("IsAvailable - Provider Recovers -> Background Probe Updates State")
+    @SuppressWarnings("unchecked")
+    void isAvailable_ProviderRecovers_ProbeUpdatesState() {
+        // Given
+        stubHealthCheck(Mono.error(new RuntimeException("Down")));
+        assertThat(aiService.isAvailable()).isFalse();
+        when(responseSpec.toBodilessEntity()).thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        // When
+        aiService.probeHealth();
+
+        // Then
+        assertThat(aiService.isAvailable()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Circuit Breaker - Repeated Request Failures -> Unavailable Until Cooldown")
+    @SuppressWarnings("unchecked")
+    void circuitBreaker_RepeatedFailures_Unavailable() {
+        // Given : sonde OK, mais les requêtes de chat échouent
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/v1/chat/completions")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class)))
+                .thenReturn(Mono.error(new RuntimeException("Connection reset")));
+        Article article = Article.builder().titre("Test").contenu("Contenu").build();
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            aiService.enrichArticle(article).join();
+        }
+
+        // Then : 3 échecs (seuil) -> ouvert, sans nouvelle requête
+        assertThat(aiService.isAvailable()).isFalse();
+        aiService.enrichArticle(article).join();
+        verify(webClient, times(3)).post();
+    }
+
+    @Test
+    @DisplayName("GetEmbeddings - Batch Of Texts -> Single Request, Vectors Mapped By Index")
+    @SuppressWarnings("unchecked")
+    void getEmbeddings_Batch_SingleRequestMappedByIndex() {
+        // Given : la réponse liste les vecteurs dans le désordre
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        stubEmbeddingRequest(Mono.just(Map.of("data", List.of(
+                Map.of("index", 1, "embedding", List.of(2.0, 2.0)),
+                Map.of("index", 0, "embedding", List.of(1.0, 1.0))))));
+
+        // When : le texte vide ne part pas
+        List<List<Double>> result = aiService.getEmbeddings(List.of("premier", " ", "second")).join();
+
+        // Then
+        assertThat(result).containsExactly(List.of(1.0, 1.0), List.of(), List.of(2.0, 2.0));
+        verify(webClient, times(1)).post();
+        verify(requestBodyUriSpec).bodyValue(Map.of("model", "test-embed", "input", List.of("premier", "second")));
+    }
+
+    @Test
+    @DisplayName("GetEmbeddings - Concurrent Single Calls -> Grouped Into One Request")
+    @SuppressWarnings("unchecked")
+    void getEmbeddings_ConcurrentSingleCalls_Grouped() {
+        // Given
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        stubEmbeddingRequest(Mono.just(Map.of("data", List.of(
+                Map.of("index", 0, "embedding", List.of(0.0)),
+                Map.of("index", 1, "embedding", List.of(1.0)),
+                Map.of("index", 2, "embedding", List.of(2.0))))));
+
+        // When
+        CompletableFuture<List<Double>> a = aiService.getEmbeddings("a");
+        CompletableFuture<List<Double>> b = aiService.getEmbeddings("b");
+        CompletableFuture<List<Double>> c = aiService.getEmbeddings("c");
+
+        // Then
+        assertThat(a.join()).containsExactly(0.0);
+        assertThat(b.join()).containsExactly(1.0);
+        assertThat(c.join()).containsExactly(2.0);
+        verify(webClient, times(1)).post();
+        verify(requestBodyUriSpec).bodyValue(Map.of("model", "test-embed", "input", List.of("a", "b", "c")));
+    }
+
+    @Test
+    @DisplayName("GetEmbeddings - Incomplete Response -> Empty Vectors")
+    @SuppressWarnings("unchecked")
+    void getEmbeddings_IncompleteResponse_EmptyVectors() {
+        // Given
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        stubEmbeddingRequest(Mono.just(Map.of("data", List.of(
+                Map.of("index", 0, "embedding", List.of(1.0))))));
+
+        // When
+        List<List<Double>> result = aiService.getEmbeddings(List.of("un", "deux")).join();
+
+        // Then
+        assertThat(result).containsExactly(List.of(), List.of());
+    }
+
+    @Test
+    @DisplayName("GetEmbeddings - Cached Text -> No Request, Even When Provider Is Down")
+    void getEmbeddings_CachedText_NoRequest() {
+        // Given
+        when(embeddingCache.get("déjà vu")).thenReturn(List.of(0.5, 0.5));
+
+        // When
+        List<Double> result = aiService.getEmbeddings("déjà vu").join();
+
+        // Then
+        assertThat(result).containsExactly(0.5, 0.5);
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    @DisplayName("GetEmbeddings - Partial Cache Hit -> Only Missing Texts Requested, Results Cached")
+    @SuppressWarnings("unchecked")
+    void getEmbeddings_PartialCacheHit_OnlyMissingRequested() {
+        // Given
+        when(embeddingCache.getAll(List.of("connu", "nouveau"))).thenReturn(Map.of("connu", List.of(9.0)));
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        stubEmbeddingRequest(Mono.just(Map.of("data", List.of(
+                Map.of("index", 0, "embedding", List.of(1.0))))));
+
+        // When
+        List<List<Double>> result = aiService.getEmbeddings(List.of("connu", "nouveau")).join();
+
+        // Then
+        assertThat(result).containsExactly(List.of(9.0), List.of(1.0));
+        verify(requestBodyUriSpec).bodyValue(Map.of("model", "test-embed", "input", List.of("nouveau")));
+        verify(embeddingCache).putAll(Map.of("nouveau", List.of(1.0)));
+    }
+
+    @Test
+    @DisplayName("CleanAndEnrich - Fused JSON Response -> Content, Enrichment And Summary Applied")
+    @SuppressWarnings("unchecked")
+    void cleanAndEnrich_FusedResponse_Applied() {
+        // Given
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        stubChatRequest(Mono.just(chatResponse("""
+                ```json
+                {"content": "# Faille\\n\\nTexte propre", "category": "CYBERSECURITY", "gravity": 4,
+                 "tags": ["rce", "openssl"], "summary": "Une faille critique touche OpenSSL."}
+                ```""")));
+        when(categorieRepository.findByNomCategorie("CYBERSECURITY"))
+                .thenReturn(Optional.of(Categorie.builder().id("cat-sec").nomCategorie("CYBERSECURITY").build()));
+        Article article = Article.builder().titre("Faille OpenSSL").build();
+
+        // When
+        boolean applied = aiService.cleanAndEnrichArticle(article, "Menu | Faille ... Subscribe").join();
+
+        // Then
+        assertThat(applied).isTrue();
+        assertThat(article.getContenu()).isEqualTo("# Faille\n\nTexte propre");
+        assertThat(article.getCategorieId()).isEqualTo("cat-sec");
+        assertThat(article.getGravite()).isEqualTo(Gravite.ELEVE);
+        assertThat(article.getTags()).containsExactly("rce", "openssl");
+        assertThat(article.getAiSummary()).isEqualTo("Une faille critique touche OpenSSL.");
+        verify(webClient, times(1)).post();
+    }
+
+    @Test
+    @DisplayName("CleanAndEnrich - Unparsable Response -> False, Article Untouched")
+    @SuppressWarnings("unchecked")
+    void cleanAndEnrich_UnparsableResponse_False() {
+        // Given
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        stubChatRequest(Mono.just(chatResponse("Voici le texte nettoyé : ...")));
+        Article article = Article.builder().titre("Titre").contenu("Original").build();
+
+        // When
+        boolean applied = aiService.cleanAndEnrichArticle(article, "Texte brut").join();
+
+        // Then
+        assertThat(applied).isFalse();
+        assertThat(article.getContenu()).isEqualTo("Original");
+    }
+
+    @Test
+    @DisplayName("BenchmarkFusedMode - Both Modes -> Requests And Token Usage Reported")
+    @SuppressWarnings("unchecked")
+    void benchmarkFusedMode_ReportsRequestsAndTokens() {
+        // Given : nettoyage, enrichissement, puis réponse fusionnée
+        stubHealthCheck(Mono.just(ResponseEntity.ok().build()));
+        stubChatRequest(
+                Mono.just(chatResponse("Texte propre", 1000, 800)),
+                Mono.just(chatResponse("{\"category\": \"DEVOPS\", \"gravity\": 2, \"tags\": []}", 500, 40)),
+                Mono.just(chatResponse("{\"content\": \"Texte propre\", \"category\": \"DEVOPS\", "
+                        + "\"gravity\": 2, \"tags\": [], \"summary\": \"Résumé.\"}", 1100, 900)));
+        lenient().when(categorieRepository.findByNomCategorie("DEVOPS"))
+                .thenReturn(Optional.of(Categorie.builder().id("cat-ops").nomCategorie("DEVOPS").build()));
+
+        // When
+        List<AIService.ModeBenchmark> results = aiService.benchmarkFusedMode("Contenu brut à comparer");
+
+        // Then
+        assertThat(results).extracting(AIService.ModeBenchmark::mode).containsExactly("two-calls", "fused");
+        assertThat(results.get(0).requests()).isEqualTo(2);
+        assertThat(results.get(0).promptTokens()).isEqualTo(1500);
+        assertThat(results.get(0).completionTokens()).isEqualTo(840);
+        assertThat(results.get(1).requests()).isEqualTo(1);
+        assertThat(results.get(1).promptTokens()).isEqualTo(1100);
+        assertThat(results.get(1).success()).isTrue();
+    }
+
+    private static Map<String, Object> chatResponse(String content) {
+        return chatResponse(content, 0, 0);
+    }
+
+    private static Map<String, Object> chatResponse(String content, int promptTokens, int completionTokens) {
+        return Map.of(
+                "choices", List.of(Map.of("message", Map.of("role", "assistant", "content", content))),
+                "usage", Map.of("prompt_tokens", promptTokens, "completion_tokens", completionTokens));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubChatRequest(Mono<Map<String, Object>> first, Mono<?>... next) {
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/v1/chat/completions")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(first, next);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubEmbeddingRequest(Mono<Map<String, Object>> response) {
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/v1/embeddings")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.bodyValue(any())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(response);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubHealthCheck(Mono<ResponseEntity<Void>> response) {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri("/v1/models")).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toBodilessEntity()).thenReturn(response);
+    }
 }
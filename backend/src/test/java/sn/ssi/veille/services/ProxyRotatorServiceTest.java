@@ -1,36 +1,39 @@
 package sn.ssi.veille.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
-import java.net.http.HttpClient;
-import java.net.http.HttpResponse;
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
+import sn.ssi.veille.config.ScrapingConfig;
 import sn.ssi.veille.services.implementation.ProxyRotatorService;
 import sn.ssi.veille.services.implementation.ProxyRotatorService.ProxyInfo;
+import sn.ssi.veille.services.implementation.ProxyValidator;
+import sn.ssi.veille.services.implementation.ProxyValidator.ValidatedProxy;
 
 @ExtendWith(MockitoExtension.class)
 class ProxyRotatorServiceTest {
 
-    @InjectMocks
+    @Mock
+    private ProxyValidator proxyValidator;
+
+    private ScrapingConfig scrapingConfig;
     private ProxyRotatorService proxyRotatorService;
 
     @BeforeEach
     void setUp() {
-        // Clear internal state if necessary via Reflection
-        // (Not strictly needed if new instance per test, which JUnit does)
+        scrapingConfig = new ScrapingConfig();
+        proxyRotatorService = new ProxyRotatorService(scrapingConfig, proxyValidator);
     }
 
     @Test
@@ -45,8 +48,7 @@ class ProxyRotatorServiceTest {
     void getNext_PopulatedList_ReturnsProxy() {
         // Manually inject proxies for testing logic without calling external API
         List<ProxyInfo> testProxies = List.of(new ProxyInfo("1.2.3.4", 8080));
-        ReflectionTestUtils.setField(proxyRotatorService, "proxies",
-                new java.util.concurrent.CopyOnWriteArrayList<>(testProxies));
+        proxyRotatorService.loadProxies(testProxies);
 
         ProxyInfo proxy = proxyRotatorService.getNext();
         assertThat(proxy).isNotNull();
@@ -60,8 +62,7 @@ class ProxyRotatorServiceTest {
         // Given
         ProxyInfo p = new ProxyInfo("1.2.3.4", 8080);
         List<ProxyInfo> testProxies = List.of(p);
-        ReflectionTestUtils.setField(proxyRotatorService, "proxies",
-                new java.util.concurrent.CopyOnWriteArrayList<>(testProxies));
+        proxyRotatorService.loadProxies(testProxies);
 
         // When
         proxyRotatorService.markBad(p);
@@ -87,8 +88,7 @@ class ProxyRotatorServiceTest {
         ProxyInfo p1 = new ProxyInfo("1.1.1.1", 80);
         ProxyInfo p2 = new ProxyInfo("2.2.2.2", 80);
         List<ProxyInfo> testProxies = List.of(p1, p2);
-        ReflectionTestUtils.setField(proxyRotatorService, "proxies",
-                new java.util.concurrent.CopyOnWriteArrayList<>(testProxies));
+        proxyRotatorService.loadProxies(testProxies);
 
         // When
         proxyRotatorService.markBad(p1);
@@ -96,4 +96,132 @@ class ProxyRotatorServiceTest {
         // Then
         assertThat(proxyRotatorService.activeCount()).isEqualTo(1);
     }
+
+    @Test
+    @DisplayName("Mark Bad - Quarantine Expired -> Proxy Available Again")
+    void markBad_QuarantineExpired_AvailableAgain() {
+        // Given : quarantaine nulle
+        scrapingConfig.getProxy().setBaseQuarantineMs(0);
+        ProxyInfo p = new ProxyInfo("1.2.3.4", 8080);
+        proxyRotatorService.loadProxies(List.of(p));
+
+        // When
+        proxyRotatorService.markBad(p);
+
+        // Then
+        assertThat(proxyRotatorService.getNext()).isEqualTo(p);
+        assertThat(proxyRotatorService.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Get Next - Fast Healthy Proxy -> Selected Most Often")
+    void getNext_FastHealthyProxy_SelectedMostOften() {
+        // Given
+        ProxyInfo fast = new ProxyInfo("1.1.1.1", 80);
+        ProxyInfo slow = new ProxyInfo("2.2.2.2", 80);
+        proxyRotatorService.loadProxies(List.of(fast, slow));
+        for (int i = 0; i < 10; i++) {
+            proxyRotatorService.markGood(fast, 200);
+            proxyRotatorService.markGood(slow, 8_000);
+        }
+
+        // When
+        int fastPicks = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (fast.equals(proxyRotatorService.getNext())) {
+                fastPicks++;
+            }
+        }
+
+        // Then : le lent ne gagne que si les deux tirages le désignent (~25%)
+        assertThat(fastPicks).isGreaterThan(650);
+    }
+
+    @Test
+    @DisplayName("Load Proxies - Quarantined Proxy Dropped -> Not Counted In New Pool")
+    void loadProxies_QuarantinedProxyDropped_NotCounted() {
+        // Given
+        ProxyInfo dropped = new ProxyInfo("1.1.1.1", 80);
+        ProxyInfo kept = new ProxyInfo("2.2.2.2", 80);
+        proxyRotatorService.loadProxies(List.of(dropped, kept));
+        proxyRotatorService.markBad(dropped);
+        proxyRotatorService.markBad(kept);
+
+        // When
+        proxyRotatorService.loadProxies(List.of(kept, new ProxyInfo("3.3.3.3", 80)));
+        proxyRotatorService.markBad(dropped); // plus dans le pool : sans effet
+
+        // Then
+        assertThat(proxyRotatorService.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Load Proxies - Refresh -> Quarantine Of Known Proxies Kept")
+    void loadProxies_Refresh_QuarantineKept() {
+        // Given
+        ProxyInfo p1 = new ProxyInfo("1.1.1.1", 80);
+        ProxyInfo p2 = new ProxyInfo("2.2.2.2", 80);
+        proxyRotatorService.loadProxies(List.of(p1));
+        proxyRotatorService.markBad(p1);
+
+        // When
+        proxyRotatorService.loadProxies(List.of(p1, p2));
+
+        // Then
+        assertThat(proxyRotatorService.activeCount()).isEqualTo(1);
+        assertThat(proxyRotatorService.getNext()).isEqualTo(p2);
+    }
+
+    @Test
+    @DisplayName("Revalidate Proxies - Dead Proxy -> Removed From Rotation")
+    void revalidateProxies_DeadProxy_Removed() {
+        // Given
+        ProxyInfo alive = new ProxyInfo("1.1.1.1", 80);
+        ProxyInfo dead = new ProxyInfo("2.2.2.2", 80);
+        proxyRotatorService.loadProxies(List.of(alive, dead));
+        when(proxyValidator.validate(anyCollection())).thenReturn(List.of(new ValidatedProxy(alive, 120)));
+
+        // When
+        proxyRotatorService.revalidateProxies();
+
+        // Then
+        assertThat(proxyRotatorService.activeCount()).isEqualTo(1);
+        assertThat(proxyRotatorService.getNext()).isEqualTo(alive);
+    }
+
+    @Test
+    @DisplayName("Revalidate Proxies - Nothing Responds -> Pool Kept")
+    void revalidateProxies_NothingResponds_PoolKept() {
+        // Given
+        proxyRotatorService.loadProxies(List.of(new ProxyInfo("1.1.1.1", 80), new ProxyInfo("2.2.2.2", 80)));
+        when(proxyValidator.validate(anyCollection())).thenReturn(List.of());
+
+        // When
+        proxyRotatorService.revalidateProxies();
+
+        // Then
+        assertThat(proxyRotatorService.activeCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Schedule Revalidation - Slow Validation -> Scheduler Thread Not Blocked")
+    void scheduleRevalidation_SlowValidation_NotBlocking() throws Exception {
+        // Given : la validation reste bloquée jusqu'au signal du test
+        ProxyInfo alive = new ProxyInfo("1.1.1.1", 80);
+        proxyRotatorService.loadProxies(List.of(alive, new ProxyInfo("2.2.2.2", 80)));
+        CountDownLatch release = new CountDownLatch(1);
+        when(proxyValidator.validate(anyCollection())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new ValidatedProxy(alive, 120));
+        });
+
+        // When : deux passages, le second pendant que le premier valide
+        proxyRotatorService.scheduleRevalidation();
+        proxyRotatorService.scheduleRevalidation();
+
+        // Then : rendu immédiatement, une seule validation lancée
+        assertThat(proxyRotatorService.activeCount()).isEqualTo(2);
+        release.countDown();
+        verify(proxyValidator, timeout(2000).times(1)).validate(anyCollection());
+    }
 }
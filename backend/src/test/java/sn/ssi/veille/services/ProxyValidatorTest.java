@@ -0,0 +1,74 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpServer;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.services.implementation.ProxyRotatorService.ProxyInfo;
+import sn.ssi.veille.services.implementation.ProxyValidator;
+import sn.ssi.veille.services.implementation.ProxyValidator.ValidatedProxy;
+
+class ProxyValidatorTest {
+
+    /** Faux proxy HTTP local : répond 204 à toute requête relayée */
+    private HttpServer proxyServer;
+    private ProxyValidator validator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        proxyServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        proxyServer.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        proxyServer.start();
+
+        ScrapingConfig config = new ScrapingConfig();
+        config.getProxy().setCheckUrl("http://check.invalid/generate_204");
+        config.getProxy().setValidationTimeoutMs(1_000);
+        validator = new ProxyValidator(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        proxyServer.stop(0);
+    }
+
+    @Test
+    @DisplayName("Validate - Live And Dead Proxies -> Only Live Proxy Admitted With Latency")
+    void validate_LiveAndDead_OnlyLiveAdmitted() throws IOException {
+        // Given
+        ProxyInfo live = new ProxyInfo("127.0.0.1", proxyServer.getAddress().getPort());
+        ProxyInfo dead = new ProxyInfo("127.0.0.1", freePort());
+
+        // When
+        List<ValidatedProxy> validated = validator.validate(List.of(dead, live));
+
+        // Then
+        assertThat(validated).extracting(ValidatedProxy::proxy).containsExactly(live);
+        assertThat(validated.getFirst().latencyMs()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Validate - Empty List -> Empty Result")
+    void validate_EmptyList_EmptyResult() {
+        assertThat(validator.validate(List.of())).isEmpty();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
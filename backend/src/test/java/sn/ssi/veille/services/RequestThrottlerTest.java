@@ -0,0 +1,135 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jsoup.HttpStatusException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.services.implementation.RequestThrottler;
+import sn.ssi.veille.utils.TokenBucket;
+
+class RequestThrottlerTest {
+
+    private RequestThrottler throttler;
+    private Source source;
+
+    @BeforeEach
+    void setUp() {
+        ScrapingConfig config = new ScrapingConfig();
+        config.getThrottling().setBaseBackoffMs(1);
+        config.getThrottling().setMaxBackoffMs(5);
+        throttler = new RequestThrottler(config);
+        source = Source.builder().id("s1").url("http://example.com/feed").retryCount(3).rateLimitPerMinute(600).build();
+    }
+
+    @Test
+    @DisplayName("Execute - Transient 503 -> Retried Until Success")
+    void execute_Transient503_RetriedUntilSuccess() throws Exception {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        String result = throttler.execute(source, source.getUrl(), () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new HttpStatusException("Unavailable", 503, source.getUrl());
+            }
+            return "ok";
+        });
+
+        // Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Execute - 404 -> Not Retried")
+    void execute_NotFound_NotRetried() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When / Then
+        assertThatThrownBy(() -> throttler.execute(source, source.getUrl(), () -> {
+            calls.incrementAndGet();
+            throw new HttpStatusException("Not found", 404, source.getUrl());
+        })).isInstanceOf(HttpStatusException.class);
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Execute Reactive - Retries Exhausted -> Original Error After retryCount Retries")
+    void executeReactive_RetriesExhausted_OriginalError() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+
+        // When
+        Mono<String> mono = throttler.executeReactive(source, source.getUrl(), () -> {
+            calls.incrementAndGet();
+            return Mono.error(new HttpStatusException("Too many requests", 429, source.getUrl()));
+        });
+
+        // Then
+        assertThatThrownBy(mono::block).isInstanceOf(HttpStatusException.class);
+        assertThat(calls.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Token Bucket - Burst Exhausted -> Next Reservation Waits One Refill Interval")
+    void tokenBucket_BurstExhausted_Waits() {
+        // Given : 60 jetons/minute, rafale de 2
+        TokenBucket bucket = new TokenBucket(60, 2);
+
+        // When
+        long first = bucket.reserve();
+        long second = bucket.reserve();
+        long third = bucket.reserve();
+
+        // Then
+        assertThat(first).isZero();
+        assertThat(second).isZero();
+        assertThat(third).isBetween(900_000_000L, 1_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("ExecuteReactiveHostOnly - Source Limit Exhausted -> Paced By Host Limit Only")
+    void executeReactiveHostOnly_SourceLimitExhausted_HostPacing() {
+        // Given : 6/min pour la source (rafale d'un seul jeton), déjà consommé
+        Source slow = Source.builder().id("slow").url("http://example.com/list").retryCount(0)
+                .rateLimitPerMinute(6).build();
+        throttler.executeReactive(slow, slow.getUrl(), () -> Mono.just("list")).block();
+
+        // When : 10 items, dans la rafale de l'hôte (120/min par défaut)
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            throttler.executeReactiveHostOnly(slow, "http://example.com/item/" + i, () -> Mono.just("item")).block();
+        }
+
+        // Then : sans attendre les jetons de la source (10 s chacun)
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("ExecuteHostOnly - Source Limit Exhausted -> Not Delayed By Source Bucket")
+    void executeHostOnly_SourceLimitExhausted_NotDelayed() throws Exception {
+        // Given : 10/min pour la source (rafale d'un seul jeton), déjà consommé
+        Source nvd = Source.builder().id("nvd").url("http://example.com/cves").retryCount(0)
+                .rateLimitPerMinute(10).build();
+        throttler.execute(nvd, nvd.getUrl(), () -> "page-0");
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 1; i <= 5; i++) {
+            throttler.executeHostOnly(nvd, nvd.getUrl() + "?startIndex=" + i, () -> "page");
+        }
+
+        // Then : pas d'attente de 6 s par jeton de la source
+        assertThat((System.nanoTime() - start) / 1_000_000).isLessThan(2_000);
+    }
+}
@@ -0,0 +1,152 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.models.repositories.SourceRepository;
+import sn.ssi.veille.services.ScrapeJobService.JobState;
+import sn.ssi.veille.services.ScrapeJobService.ScrapeJobStatus;
+import sn.ssi.veille.services.ScrapeJobService.SourceState;
+import sn.ssi.veille.services.ScrapingService.ScrapingRunReport;
+import sn.ssi.veille.services.ScrapingService.ScrapingRunReport.SourceTiming;
+import sn.ssi.veille.services.implementation.ScrapeJobServiceImpl;
+import sn.ssi.veille.services.implementation.ScrapeJournal;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeJobServiceImplTest {
+
+    @Mock
+    private ScrapingService scrapingService;
+    @Mock
+    private SourceRepository sourceRepository;
+    @Mock
+    private ScrapeJournal scrapeJournal;
+
+    private ScrapeJobServiceImpl jobService;
+    private Source source1;
+    private Source source2;
+
+    @BeforeEach
+    void setUp() {
+        jobService = new ScrapeJobServiceImpl(scrapingService, sourceRepository, new ScrapingConfig(),
+                scrapeJournal);
+        source1 = Source.builder().id("s1").nomSource("Source 1").build();
+        source2 = Source.builder().id("s2").nomSource("Source 2").build();
+    }
+
+    @Test
+    @DisplayName("Submit Sources - Run Completes -> Per-Source Progress And Totals")
+    void submitSources_RunCompletes_ProgressAndTotals() {
+        // Given
+        when(scrapingService.runSources(anyList(), any())).thenAnswer(i -> {
+            Consumer<SourceTiming> onDone = i.getArgument(1);
+            onDone.accept(new SourceTiming("s1", "Source 1", "a.com", 4, 10, true, null));
+            onDone.accept(new SourceTiming("s2", "Source 2", "b.com", 0, 5, false, "Timeout"));
+            return new ScrapingRunReport(4, 2, 1, 15, List.of());
+        });
+        List<ScrapeJobStatus> events = new ArrayList<>();
+
+        // When
+        ScrapeJobStatus submitted = jobService.submitSources(List.of(source1, source2), "api");
+        jobService.subscribe(submitted.jobId(), events::add);
+        ScrapeJobStatus last = jobService.completion(submitted.jobId()).orElseThrow().join();
+
+        // Then
+        assertThat(submitted.state()).isIn(JobState.QUEUED, JobState.RUNNING, JobState.COMPLETED);
+        assertThat(last.state()).isEqualTo(JobState.COMPLETED);
+        assertThat(last.completedSources()).isEqualTo(1);
+        assertThat(last.failedSources()).isEqualTo(1);
+        assertThat(last.articlesQueued()).isEqualTo(4);
+        assertThat(last.sources()).extracting(ScrapeJobStatus.SourceProgress::state)
+                .containsExactly(SourceState.DONE, SourceState.FAILED);
+        assertThat(events).isNotEmpty();
+        assertThat(jobService.getJob(submitted.jobId())).contains(last);
+        verify(scrapeJournal).sourcesStarted(List.of(source1, source2));
+        verify(scrapeJournal).sourcesFinished(List.of("s1"));
+        verify(scrapeJournal).sourcesFinished(List.of("s2"));
+    }
+
+    @Test
+    @DisplayName("Submit Sources - Run Fails -> Pending Sources Skipped With Job Error")
+    void submitSources_RunFails_PendingSkippedWithError() {
+        // Given
+        when(scrapingService.runSources(anyList(), any())).thenAnswer(i -> {
+            Consumer<SourceTiming> onDone = i.getArgument(1);
+            onDone.accept(new SourceTiming("s1", "Source 1", "a.com", 2, 10, true, null));
+            throw new IllegalStateException("MongoDB indisponible");
+        });
+
+        // When
+        ScrapeJobStatus submitted = jobService.submitSources(List.of(source1, source2), "api");
+        ScrapeJobStatus last = jobService.completion(submitted.jobId()).orElseThrow().join();
+
+        // Then
+        assertThat(last.state()).isEqualTo(JobState.FAILED);
+        assertThat(last.sources().get(1).state()).isEqualTo(SourceState.SKIPPED);
+        assertThat(last.sources().get(1).error()).isEqualTo("Tâche en échec : MongoDB indisponible");
+    }
+
+    @Test
+    @DisplayName("Submit Sources - Source Already Running -> Coalesced Into Existing Job")
+    void submitSources_AlreadyRunning_Coalesced() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(scrapingService.runSources(anyList(), any())).thenAnswer(i -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return new ScrapingRunReport(0, 1, 0, 0, List.of());
+        });
+        ScrapeJobStatus first = jobService.submitSources(List.of(source1), "scheduler");
+        assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        ScrapeJobStatus second = jobService.submitSources(List.of(source1), "api");
+        release.countDown();
+        jobService.completion(first.jobId()).orElseThrow().join();
+
+        // Then
+        assertThat(second.coalesced()).isTrue();
+        assertThat(second.jobId()).isEqualTo(first.jobId());
+        verify(scrapingService, times(1)).runSources(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Resume Interrupted Sources - Journal Entries -> Active Sources Resubmitted")
+    void resumeInterruptedSources_JournalEntries_ActiveSourcesResubmitted() {
+        // Given
+        Source inactive = Source.builder().id("s3").nomSource("Source 3").active(false).build();
+        when(scrapeJournal.claimPending(ScrapeJournalEntry.Kind.SOURCE)).thenReturn(List.of(
+                ScrapeJournalEntry.builder().sourceId("s1").build(),
+                ScrapeJournalEntry.builder().sourceId("s3").build()));
+        when(sourceRepository.findAllById(List.of("s1", "s3"))).thenReturn(List.of(source1, inactive));
+        when(scrapingService.runSources(anyList(), any())).thenReturn(new ScrapingRunReport(0, 1, 0, 0, List.of()));
+
+        // When
+        jobService.resumeInterruptedSources();
+
+        // Then
+        ScrapeJobStatus job = jobService.getRecentJobs().getFirst();
+        assertThat(job.trigger()).isEqualTo("recovery");
+        assertThat(job.sources()).extracting(ScrapeJobStatus.SourceProgress::sourceId).containsExactly("s1");
+        jobService.completion(job.jobId()).orElseThrow().join();
+    }
+}
@@ -0,0 +1,102 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry.Kind;
+import sn.ssi.veille.models.entities.ScrapeJournalEntry.Step;
+import sn.ssi.veille.models.repositories.ScrapeJournalRepository;
+import sn.ssi.veille.services.implementation.ScrapeJournal;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeJournalTest {
+
+    @Mock
+    private ScrapeJournalRepository journalRepository;
+
+    private ScrapeJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        ScrapingConfig config = new ScrapingConfig();
+        config.getJournal().setNodeId("node-a");
+        journal = new ScrapeJournal(journalRepository, config);
+    }
+
+    @Test
+    @DisplayName("Claim Pending - Own, Stale, Live Foreign And Exhausted Entries -> Only Own And Stale Claimed")
+    void claimPending_MixedEntries_OwnAndStaleClaimed() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        ScrapeJournalEntry own = entry("own", "node-a", now.minusMinutes(1), 0);
+        ScrapeJournalEntry stale = entry("stale", "node-b", now.minusHours(2), 1);
+        ScrapeJournalEntry liveForeign = entry("live", "node-b", now.minusMinutes(1), 0);
+        ScrapeJournalEntry exhausted = entry("exhausted", "node-a", now.minusMinutes(1), 3);
+        when(journalRepository.findByKindAndUpdatedAtBefore(eq(Kind.ARTICLE), any()))
+                .thenReturn(List.of(own, stale, liveForeign, exhausted));
+        when(journalRepository.save(any(ScrapeJournalEntry.class))).thenAnswer(i -> i.getArgument(0));
+
+        // When
+        List<ScrapeJournalEntry> claimed = journal.claimPending(Kind.ARTICLE);
+
+        // Then
+        assertThat(claimed).extracting(ScrapeJournalEntry::getId).containsExactly("own", "stale");
+        assertThat(claimed).allSatisfy(e -> assertThat(e.getNodeId()).isEqualTo("node-a"));
+        assertThat(stale.getAttempts()).isEqualTo(2);
+        verify(journalRepository).delete(exhausted);
+        verify(journalRepository, never()).save(liveForeign);
+    }
+
+    @Test
+    @DisplayName("Claim Pending - Resumed Article Advances A Step -> Attempts Kept Across Restarts")
+    void claimPending_StepAdvanced_AttemptsKept() {
+        // Given : collection simulée en mémoire
+        Map<String, ScrapeJournalEntry> store = new ConcurrentHashMap<>();
+        when(journalRepository.save(any(ScrapeJournalEntry.class))).thenAnswer(i -> {
+            ScrapeJournalEntry saved = i.getArgument(0);
+            store.put(saved.getId(), saved);
+            return saved;
+        });
+        when(journalRepository.findByKindAndUpdatedAtBefore(eq(Kind.ARTICLE), any()))
+                .thenAnswer(i -> List.copyOf(store.values()));
+        ScrapingConfig config = new ScrapingConfig();
+        config.getJournal().setNodeId("node-a");
+        Article article = Article.builder().id("a1").urlOrigine("http://a.com/poison").build();
+        journal.articleReached(article, Step.PERSISTED);
+
+        // When : chaque redémarrage reprend l'article, qui franchit une étape puis fait tomber l'instance
+        for (int restart = 0; restart < 2; restart++) {
+            ScrapeJournal restarted = new ScrapeJournal(journalRepository, config);
+            assertThat(restarted.claimPending(Kind.ARTICLE)).hasSize(1);
+            restarted.articleReached(article, Step.ENRICHED);
+        }
+
+        // Then
+        assertThat(store.values()).singleElement().satisfies(e -> {
+            assertThat(e.getStep()).isEqualTo(Step.ENRICHED);
+            assertThat(e.getAttempts()).isEqualTo(2);
+        });
+    }
+
+    private static ScrapeJournalEntry entry(String id, String nodeId, LocalDateTime updatedAt, int attempts) {
+        return ScrapeJournalEntry.builder().id(id).kind(Kind.ARTICLE).step(Step.PERSISTED)
+                .nodeId(nodeId).updatedAt(updatedAt).attempts(attempts).build();
+    }
+}
@@ -0,0 +1,91 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Source;
+import sn.ssi.veille.models.repositories.SourceRepository;
+import sn.ssi.veille.services.implementation.ScrapingScheduler;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapingSchedulerTest {
+
+    @Mock
+    private SourceRepository sourceRepository;
+    @Mock
+    private ScrapeJobService scrapeJobService;
+
+    private ScrapingConfig scrapingConfig;
+    private ScrapingScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        scrapingConfig = new ScrapingConfig();
+        scheduler = new ScrapingScheduler(sourceRepository, scrapeJobService, scrapingConfig);
+    }
+
+    @Test
+    @DisplayName("Due Sources - Only Due Sources, Ordered By Priority Then Trust Score")
+    void dueSources_OnlyDue_OrderedByPriorityAndTrust() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Source notDue = Source.builder().id("quiet").nomSource("Quiet")
+                .nextSyncAt(now.plusMinutes(30)).priorite(10).build();
+        Source neverSynced = Source.builder().id("new").nomSource("New")
+                .priorite(5).trustScore(5).build();
+        Source critical = Source.builder().id("critical").nomSource("Critical")
+                .nextSyncAt(now.minusMinutes(1)).priorite(9).trustScore(10).build();
+        Source lowTrust = Source.builder().id("low-trust").nomSource("Low Trust")
+                .derniereSyncro(now.minusHours(2)).frequenceScraping(60).priorite(9).trustScore(3).build();
+
+        when(sourceRepository.findByActiveTrue()).thenReturn(List.of(notDue, neverSynced, critical, lowTrust));
+
+        // When
+        List<Source> due = scheduler.dueSources(now);
+
+        // Then
+        assertThat(due).extracting(Source::getId).containsExactly("critical", "low-trust", "new");
+    }
+
+    @Test
+    @DisplayName("Due Sources - Respects Max Sources Per Tick")
+    void dueSources_RespectsMaxPerTick() {
+        // Given
+        scrapingConfig.getScheduler().setMaxSourcesPerTick(1);
+        LocalDateTime now = LocalDateTime.now();
+        Source older = Source.builder().id("older").nextSyncAt(now.minusHours(3)).build();
+        Source recent = Source.builder().id("recent").nextSyncAt(now.minusMinutes(5)).build();
+
+        when(sourceRepository.findByActiveTrue()).thenReturn(List.of(recent, older));
+
+        // When
+        List<Source> due = scheduler.dueSources(now);
+
+        // Then
+        assertThat(due).extracting(Source::getId).containsExactly("older");
+    }
+
+    @Test
+    @DisplayName("Tick - Scheduler Disabled -> Nothing Dispatched")
+    void tick_Disabled_NothingDispatched() {
+        // Given
+        scrapingConfig.getScheduler().setEnabled(false);
+
+        // When
+        scheduler.tick();
+
+        // Then
+        verifyNoInteractions(sourceRepository, scrapeJobService);
+    }
+}
@@ -2,10 +2,16 @@ package sn.ssi.veille.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -16,11 +22,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.sun.net.httpserver.HttpServer;
+
+import sn.ssi.veille.config.ScrapingConfig;
 import sn.ssi.veille.models.entities.Article;
 import sn.ssi.veille.models.entities.Categorie;
 import sn.ssi.veille.models.entities.Gravite;
@@ -28,7 +37,11 @@ import sn.ssi.veille.models.entities.Source;
 import sn.ssi.veille.models.repositories.ArticleRepository;
 import sn.ssi.veille.models.repositories.CategorieRepository;
 import sn.ssi.veille.models.repositories.SourceRepository;
+import sn.ssi.veille.services.implementation.BrowserPoolService;
+import sn.ssi.veille.services.implementation.IngestionPipeline;
+import sn.ssi.veille.services.implementation.RequestThrottler;
 import sn.ssi.veille.services.implementation.ScrapingServiceImpl;
+import sn.ssi.veille.services.implementation.UrlDeduplicationService;
 
 import sn.ssi.veille.services.implementation.ScrapingServiceImpl.HackerNewsItem;
 import reactor.core.publisher.Mono;
@@ -39,6 +52,8 @@ import org.springframework.web.reactive.function.client.WebClient.ResponseSpec;
 @ExtendWith(MockitoExtension.class)
 class ScrapingServiceImplTest {
 
+    private static final DateTimeFormatter NVD_SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
     @Mock
     private SourceRepository sourceRepository;
     @Mock
@@ -50,24 +65,24 @@ class ScrapingServiceImplTest {
     @Mock
     private AIService aiService;
     @Mock
-    private CrossReferenceService crossReferenceService;
-    @Mock
     private CategorieRepository categorieRepository;
     @Mock
-    private ClusteringService clusteringService;
+    private IngestionPipeline ingestionPipeline;
     @Mock
-    private ContentExtractionService contentExtractionService;
+    private BrowserPoolService browserPool;
 
-    @InjectMocks
     private ScrapingServiceImpl scrapingService;
 
     private Article article;
     private Source source;
+    private ScrapingConfig scrapingConfig;
 
     @BeforeEach
     void setUp() {
         // Setup WebClient Builder mock
         when(webClientBuilder.build()).thenReturn(webClient);
+        scrapingConfig = new ScrapingConfig();
+        scrapingConfig.getNvd().setRequestSpacingMs(0);
 
         // We have to re-inject mocks because the constructor is called before fields
         // are injected?
@@ -80,13 +95,14 @@ class ScrapingServiceImplTest {
         // Let's manually instantiate to ensure control.
         scrapingService = new ScrapingServiceImpl(
                 sourceRepository,
-                articleRepository,
                 webClientBuilder,
                 aiService,
-                crossReferenceService,
                 categorieRepository,
-                clusteringService,
-                contentExtractionService);
+                scrapingConfig,
+                new UrlDeduplicationService(articleRepository, new ScrapingConfig()),
+                ingestionPipeline,
+                browserPool,
+                new RequestThrottler(scrapingConfig));
 
         article = Article.builder()
                 .titre("Test Article")
@@ -178,8 +194,8 @@ class ScrapingServiceImplTest {
                 new HackerNewsItem(12345, "HN Title", "http://hn.com/1", 100, 50)));
 
         // Mock Repository Checks
-        when(articleRepository.existsByUrlOrigine("http://hn.com/1")).thenReturn(false);
-        when(articleRepository.save(any(Article.class))).thenAnswer(i -> i.getArgument(0));
+        when(articleRepository.findUrlsIn(anyList())).thenReturn(List.of());
+        when(ingestionPipeline.submit(any(Article.class), eq(hnSource))).thenReturn(true);
 
         // When
         List<Article> result = scrapingService.scrapeViaApi(hnSource);
@@ -187,6 +203,273 @@ class ScrapingServiceImplTest {
         // Then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitre()).isEqualTo("HN Title");
-        verify(articleRepository).save(any(Article.class));
+        verify(ingestionPipeline).submit(any(Article.class), eq(hnSource));
+    }
+
+    @Test
+    @DisplayName("Scrape Via API - Hacker News, One Item Fails -> Partial Results In Ranking Order")
+    void scrapeViaApi_HackerNewsItemFails_ReturnsPartialResults() {
+        // Given
+        Source hnSource = Source.builder()
+                .id("hn-source")
+                .nomSource("Hacker News")
+                .url("https://hacker-news.firebaseio.com")
+                .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.API)
+                .maxArticlesPerSync(10)
+                .build();
+
+        RequestHeadersUriSpec uriSpec = mock(RequestHeadersUriSpec.class);
+        when(webClient.get()).thenReturn(uriSpec);
+        stubHackerNewsCall(uriSpec, "topstories.json", Integer[].class, Mono.just(new Integer[] { 1, 2, 3 }));
+        stubHackerNewsCall(uriSpec, "item/1.json", HackerNewsItem.class,
+                Mono.just(new HackerNewsItem(1, "First", "http://hn.com/1", 10, 1)));
+        stubHackerNewsCall(uriSpec, "item/2.json", HackerNewsItem.class,
+                Mono.error(new RuntimeException("503")));
+        stubHackerNewsCall(uriSpec, "item/3.json", HackerNewsItem.class,
+                Mono.just(new HackerNewsItem(3, "Third", "http://hn.com/3", 30, 3)));
+
+        when(articleRepository.findUrlsIn(anyList())).thenReturn(List.of());
+        when(ingestionPipeline.submit(any(Article.class), eq(hnSource))).thenReturn(true);
+
+        // When
+        List<Article> result = scrapingService.scrapeViaApi(hnSource);
+
+        // Then
+        assertThat(result).extracting(Article::getTitre).containsExactly("First", "Third");
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private <T> void stubHackerNewsCall(RequestHeadersUriSpec uriSpec, String path, Class<T> type, Mono<T> body) {
+        RequestHeadersSpec headersSpec = mock(RequestHeadersSpec.class);
+        ResponseSpec responseSpec = mock(ResponseSpec.class);
+        when(uriSpec.uri("https://hacker-news.firebaseio.com/v0/" + path)).thenReturn(headersSpec);
+        when(headersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(type)).thenReturn(body);
+    }
+
+    @Test
+    @DisplayName("Scrape Via API - NVD, Watermark 200 Days Old -> Two 120-Day Windows, Watermark Advanced")
+    void scrapeViaApi_NvdOldWatermark_WalksWindowsAndAdvancesWatermark() {
+        // Given
+        LocalDateTime watermark = LocalDateTime.now(ZoneOffset.UTC).minusDays(200);
+        Source nvdSource = Source.builder()
+                .id("nvd")
+                .nomSource("NIST NVD")
+                .url("https://services.nvd.nist.gov/rest/json/cves/2.0")
+                .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.API)
+                .syncWatermark(watermark)
+                .build();
+        ArgumentCaptor<String> uris = stubNvdCalls();
+
+        // When
+        List<Article> result = scrapingService.scrapeViaApi(nvdSource);
+
+        // Then
+        assertThat(result).isEmpty();
+        assertThat(uris.getAllValues()).hasSize(2);
+        assertThat(uris.getAllValues().get(0))
+                .contains("lastModStartDate=" + NVD_SECONDS.format(watermark))
+                .contains("lastModEndDate=" + NVD_SECONDS.format(watermark.plusDays(120)))
+                .contains("startIndex=0");
+        assertThat(nvdSource.getSyncWatermark()).isAfter(watermark.plusDays(199));
+        assertThat(nvdSource.getCheckpointWindowEnd()).isNull();
+    }
+
+    @Test
+    @DisplayName("Scrape Via API - NVD, Interrupted Window -> Resumes At Checkpoint Index")
+    void scrapeViaApi_NvdCheckpoint_ResumesAtStartIndex() {
+        // Given
+        LocalDateTime start = LocalDateTime.now(ZoneOffset.UTC).minusDays(2);
+        LocalDateTime end = LocalDateTime.now(ZoneOffset.UTC).minusDays(1);
+        Source nvdSource = Source.builder()
+                .id("nvd")
+                .nomSource("NIST NVD")
+                .url("https://services.nvd.nist.gov/rest/json/cves/2.0")
+                .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.API)
+                .syncWatermark(start)
+                .checkpointWindowStart(start)
+                .checkpointWindowEnd(end)
+                .checkpointStartIndex(4000)
+                .build();
+        ArgumentCaptor<String> uris = stubNvdCalls();
+
+        // When
+        scrapingService.scrapeViaApi(nvdSource);
+
+        // Then : la fenêtre interrompue reprend à l'index 4000, puis la suivante part de 0
+        assertThat(uris.getAllValues().get(0)).contains("startIndex=4000");
+        assertThat(uris.getAllValues().get(1)).contains("startIndex=0");
+        assertThat(nvdSource.getCheckpointStartIndex()).isZero();
+        verify(sourceRepository, atLeast(2)).save(nvdSource);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private ArgumentCaptor<String> stubNvdCalls() {
+        RequestHeadersUriSpec uriSpec = mock(RequestHeadersUriSpec.class);
+        RequestHeadersSpec headersSpec = mock(RequestHeadersSpec.class);
+        ResponseSpec responseSpec = mock(ResponseSpec.class);
+        ArgumentCaptor<String> uris = ArgumentCaptor.forClass(String.class);
+
+        when(webClient.get()).thenReturn(uriSpec);
+        when(uriSpec.uri(uris.capture())).thenReturn(headersSpec);
+        when(headersSpec.headers(any())).thenReturn(headersSpec);
+        when(headersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(ScrapingServiceImpl.NistResponse.class))
+                .thenReturn(Mono.just(new ScrapingServiceImpl.NistResponse(2000, 0, 0, List.of())));
+        return uris;
+    }
+
+    @Test
+    @DisplayName("Run All Sources - One Failing Source -> Error Handled And Timings Reported")
+    void runAllSources_FailingSource_ReportsTimings() {
+        // Given
+        Source apiSource = Source.builder()
+                .id("api-source")
+                .nomSource("Unsupported API")
+                .url("https://api.example.com/feed")
+                .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.API)
+                .build();
+        Source brokenRss = Source.builder()
+                .id("rss-source")
+                .nomSource("Broken RSS")
+                .url("::invalid")
+                .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.RSS)
+                .build();
+
+        when(sourceRepository.findByActiveTrue()).thenReturn(List.of(apiSource, brokenRss));
+
+        // When
+        ScrapingService.ScrapingRunReport report = scrapingService.runAllSources();
+
+        // Then
+        assertThat(report.sourcesProcessed()).isEqualTo(2);
+        assertThat(report.failedSources()).isEqualTo(1);
+        assertThat(report.timings())
+                .extracting(ScrapingService.ScrapingRunReport.SourceTiming::sourceId)
+                .containsExactlyInAnyOrder("api-source", "rss-source");
+        assertThat(brokenRss.getConsecutiveFailures()).isEqualTo(1);
+        verify(sourceRepository).save(brokenRss);
+    }
+
+    @Test
+    @DisplayName("Scrape Via RSS - Feed Unchanged (304) -> Parsing And Save Skipped")
+    void scrapeViaRss_NotModified_SkipsParsingAndSave() throws Exception {
+        // Given : un flux local qui répond 304 quand l'ETag correspond
+        String feed = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <rss version="2.0"><channel><title>Local</title>
+                <item><title>Local item</title><link>http://local.test/1</link><description>Desc</description></item>
+                </channel></rss>
+                """;
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feed", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                byte[] body = feed.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.getResponseHeaders().add("Content-Type", "application/rss+xml");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            Source rssSource = Source.builder()
+                    .id("rss-local")
+                    .nomSource("Local RSS")
+                    .url("http://127.0.0.1:" + server.getAddress().getPort() + "/feed")
+                    .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.RSS)
+                    .build();
+            when(articleRepository.findUrlsIn(anyList())).thenReturn(List.of());
+            when(ingestionPipeline.submit(any(Article.class), eq(rssSource))).thenReturn(true);
+
+            // When
+            List<Article> first = scrapingService.scrapeViaRss(rssSource);
+            List<Article> second = scrapingService.scrapeViaRss(rssSource);
+
+            // Then
+            assertThat(first).hasSize(1);
+            assertThat(rssSource.getFeedEtag()).isEqualTo("\"v1\"");
+            assertThat(second).isEmpty();
+            verify(ingestionPipeline, times(1)).submit(any(Article.class), eq(rssSource));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Scrape Via RSS - Large Feed -> Streaming Stops At maxArticlesPerSync")
+    void scrapeViaRss_LargeFeed_StopsAtLimit() throws Exception {
+        // Given
+        StringBuilder items = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            items.append("<item><title>Item ").append(i).append("</title><link>http://local.test/")
+                    .append(i).append("</link></item>");
+        }
+        HttpServer server = serveFeed("<rss version=\"2.0\"><channel><title>Local</title>" + items
+                + "</channel></rss>");
+
+        try {
+            Source rssSource = Source.builder()
+                    .id("rss-large")
+                    .nomSource("Large RSS")
+                    .url("http://127.0.0.1:" + server.getAddress().getPort() + "/feed")
+                    .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.RSS)
+                    .maxArticlesPerSync(2)
+                    .build();
+            when(ingestionPipeline.submit(any(Article.class), eq(rssSource))).thenReturn(true);
+
+            // When
+            List<Article> result = scrapingService.scrapeViaRss(rssSource);
+
+            // Then
+            assertThat(result).extracting(Article::getUrlOrigine)
+                    .containsExactly("http://local.test/1", "http://local.test/2");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Scrape Via RSS - HTML Entity Not Valid XML -> ROME Fallback Parses Feed")
+    void scrapeViaRss_MalformedForStax_FallsBackToRome() throws Exception {
+        // Given : &nbsp; n'est pas une entité XML (StAX échoue, ROME la corrige)
+        HttpServer server = serveFeed("<rss version=\"2.0\"><channel><title>Local</title>"
+                + "<item><title>Caf&eacute;&nbsp;sécurité</title><link>http://local.test/nbsp</link></item>"
+                + "</channel></rss>");
+
+        try {
+            Source rssSource = Source.builder()
+                    .id("rss-malformed")
+                    .nomSource("Malformed RSS")
+                    .url("http://127.0.0.1:" + server.getAddress().getPort() + "/feed")
+                    .methodeCollecte(sn.ssi.veille.models.entities.MethodeCollecte.RSS)
+                    .build();
+            when(ingestionPipeline.submit(any(Article.class), eq(rssSource))).thenReturn(true);
+
+            // When
+            List<Article> result = scrapingService.scrapeViaRss(rssSource);
+
+            // Then
+            assertThat(result).extracting(Article::getUrlOrigine).containsExactly("http://local.test/nbsp");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private HttpServer serveFeed(String feed) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/feed", exchange -> {
+            byte[] body = feed.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/rss+xml; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        return server;
     }
 }
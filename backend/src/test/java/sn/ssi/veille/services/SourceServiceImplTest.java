@@ -56,7 +56,7 @@ class SourceServiceImplTest {
                 5,
                 true,
                 Source.SourceType.MEDIA,
-                null, null, null);
+                null, null, null, null);
     }
 
     @Test
@@ -104,7 +104,7 @@ class SourceServiceImplTest {
 
         SourceRequest updateRequest = new SourceRequest(
                 null, "New Name", null, null, null, true, null, null, null, null, null, null, null, null, null, null,
-                null, null, null, null, null, null);
+                null, null, null, null, null, null, null);
 
         // When
         SourceResponse response = sourceService.updateSource("source1", updateRequest);
@@ -0,0 +1,114 @@
+package sn.ssi.veille.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sn.ssi.veille.config.ScrapingConfig;
+import sn.ssi.veille.models.entities.Article;
+import sn.ssi.veille.models.repositories.ArticleRepository;
+import sn.ssi.veille.services.implementation.UrlDeduplicationService;
+
+@ExtendWith(MockitoExtension.class)
+class UrlDeduplicationServiceTest {
+
+    @Mock
+    private ArticleRepository articleRepository;
+
+    private UrlDeduplicationService deduplicationService;
+
+    @BeforeEach
+    void setUp() {
+        deduplicationService = new UrlDeduplicationService(articleRepository, new ScrapingConfig());
+    }
+
+    @Test
+    @DisplayName("Find Known Urls - Filter Not Warmed -> Single $in Query For All Candidates")
+    void findKnownUrls_NotWarmed_QueriesAllOnce() {
+        // Given
+        when(articleRepository.findUrlsIn(List.of("http://a.com/1", "http://a.com/2")))
+                .thenReturn(List.of(Article.builder().urlOrigine("http://a.com/1").build()));
+
+        // When
+        Set<String> known = deduplicationService.findKnownUrls(
+                List.of("http://a.com/1", "http://a.com/2", "http://a.com/1"));
+
+        // Then
+        assertThat(known).containsExactly("http://a.com/1");
+        verify(articleRepository, times(1)).findUrlsIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Find Known Urls - Warmed Filter -> Only Bloom Positives Are Confirmed")
+    void findKnownUrls_Warmed_QueriesOnlyPositives() {
+        // Given
+        when(articleRepository.streamAllUrls())
+                .thenReturn(Stream.of(Article.builder().urlOrigine("http://known.com/1").build()));
+        deduplicationService.warmUp();
+        when(articleRepository.findUrlsIn(List.of("http://known.com/1")))
+                .thenReturn(List.of(Article.builder().urlOrigine("http://known.com/1").build()));
+
+        // When
+        Set<String> known = deduplicationService.findKnownUrls(
+                List.of("http://known.com/1", "http://new.com/1"));
+
+        // Then
+        assertThat(known).containsExactly("http://known.com/1");
+    }
+
+    @Test
+    @DisplayName("Find Known Urls - Warmed Filter, All New -> No Query")
+    void findKnownUrls_WarmedAllNew_NoQuery() {
+        // Given
+        when(articleRepository.streamAllUrls()).thenReturn(Stream.empty());
+        deduplicationService.warmUp();
+
+        // When
+        Set<String> known = deduplicationService.findKnownUrls(List.of("http://new.com/1", "http://new.com/2"));
+        deduplicationService.register("http://new.com/1");
+
+        // Then
+        assertThat(known).isEmpty();
+        verify(articleRepository, never()).findUrlsIn(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Might Be Known - Filter Not Warmed -> False Without Query")
+    void mightBeKnown_NotWarmed_FalseWithoutQuery() {
+        // When
+        boolean known = deduplicationService.mightBeKnown("http://a.com/1");
+
+        // Then
+        assertThat(known).isFalse();
+        verifyNoInteractions(articleRepository);
+    }
+
+    @Test
+    @DisplayName("Might Be Known - Warmed Filter -> Answered By The Filter Alone, No Query")
+    void mightBeKnown_Warmed_NoQuery() {
+        // Given
+        when(articleRepository.streamAllUrls())
+                .thenReturn(Stream.of(Article.builder().urlOrigine("http://known.com/1").build()));
+        deduplicationService.warmUp();
+
+        // When
+        boolean known = deduplicationService.mightBeKnown("http://known.com/1");
+        boolean unknown = deduplicationService.mightBeKnown("http://new.com/1");
+
+        // Then
+        assertThat(known).isTrue();
+        assertThat(unknown).isFalse();
+        verify(articleRepository, never()).findUrlsIn(anyCollection());
+    }
+}
@@ -0,0 +1,91 @@
+package sn.ssi.veille.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ContentContainerDetectorTest {
+
+    /**
+     * Corpus de pages (src/test/resources/extraction) : le conteneur attendu
+     * porte l'attribut data-expected.
+     */
+    private static final List<String> CORPUS = List.of(
+            "blog-sidebar.html",
+            "deep-nesting.html",
+            "link-farm.html",
+            "split-sections.html",
+            "table-layout.html");
+
+    @Test
+    @DisplayName("Find Best - Corpus Pages -> Expected Container")
+    void findBest_CorpusPages_ExpectedContainer() throws IOException {
+        for (String page : CORPUS) {
+            // Given
+            Document doc = load(page);
+
+            // When
+            Element best = ContentContainerDetector.findBest(doc.body());
+
+            // Then
+            assertThat(best).as(page).isNotNull();
+            assertThat(best.hasAttr("data-expected")).as("%s -> %s", page, best.cssSelector()).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Find Best - Link List Only -> No Container Preferred Over Content")
+    void findBest_LinkHeavyBlock_Penalized() {
+        // Given
+        Document doc = Jsoup.parse("<div id='links'>"
+                + "<p><a href='/1'>Premier lien vers une autre page du site</a></p>".repeat(20)
+                + "</div><div id='text'>"
+                + "<p>Un seul paragraphe de contenu, assez long pour compter, avec quelques virgules.</p>"
+                + "</div>");
+
+        // When
+        Element best = ContentContainerDetector.findBest(doc.body());
+
+        // Then
+        assertThat(best.id()).isEqualTo("text");
+    }
+
+    @Test
+    @DisplayName("Find Best - No Paragraph -> Null")
+    void findBest_NoParagraph_Null() {
+        Document doc = Jsoup.parse("<div><span>Court</span><ul><li>Menu</li></ul></div>");
+
+        assertThat(ContentContainerDetector.findBest(doc.body())).isNull();
+    }
+
+    @Test
+    @DisplayName("Find Best - Very Deep Nesting -> Innermost Content Found")
+    void findBest_VeryDeepNesting_InnermostContent() {
+        // Given : 400 niveaux, l'ancienne heuristique relançait select("p") à chaque niveau
+        String html = "<div>".repeat(400)
+                + "<div id='target'>" + "<p>Paragraphe de contenu suffisamment long, avec une virgule.</p>".repeat(5)
+                + "</div>" + "</div>".repeat(400);
+
+        // When
+        Element best = ContentContainerDetector.findBest(Jsoup.parse(html).body());
+
+        // Then
+        assertThat(best.id()).isEqualTo("target");
+    }
+
+    private static Document load(String page) throws IOException {
+        try (InputStream in = ContentContainerDetectorTest.class.getResourceAsStream("/extraction/" + page)) {
+            assertThat(in).as(page).isNotNull();
+            return Jsoup.parse(in, StandardCharsets.UTF_8.name(), "https://exemple.com/");
+        }
+    }
+}
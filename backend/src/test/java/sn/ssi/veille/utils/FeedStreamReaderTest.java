@@ -0,0 +1,112 @@
+package sn.ssi.veille.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sn.ssi.veille.utils.FeedStreamReader.FeedEntry;
+
+class FeedStreamReaderTest {
+
+    @Test
+    @DisplayName("Read - Media RSS Extensions -> Item Title And Description Kept")
+    void read_MediaRss_ItemValuesKept() throws Exception {
+        // Given : media:title et media:description après les valeurs de l'item
+        String xml = """
+                <rss version="2.0" xmlns:media="http://search.yahoo.com/mrss/">
+                  <channel>
+                    <item>
+                      <title>Faille critique dans OpenSSL</title>
+                      <link>https://exemple.com/openssl</link>
+                      <description>Correctif disponible</description>
+                      <pubDate>Tue, 14 Oct 2025 08:00:00 GMT</pubDate>
+                      <media:content url="https://exemple.com/image.jpg">
+                        <media:title>Légende de l'image</media:title>
+                        <media:description>Crédit photo</media:description>
+                      </media:content>
+                      <media:title>Titre vidéo</media:title>
+                      <media:description>Description vidéo</media:description>
+                    </item>
+                  </channel>
+                </rss>
+                """;
+
+        // When
+        List<FeedEntry> entries = readAll(xml);
+
+        // Then
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.title()).isEqualTo("Faille critique dans OpenSSL");
+            assertThat(entry.link()).isEqualTo("https://exemple.com/openssl");
+            assertThat(entry.description()).isEqualTo("Correctif disponible");
+            assertThat(entry.published()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Read - RDF Feed With Dublin Core Date -> Entry Read")
+    void read_RdfDublinCore_EntryRead() throws Exception {
+        // Given
+        String xml = """
+                <rdf:RDF xmlns:rdf="http://www.w3.org/1999/02/22-rdf-syntax-ns#"
+                         xmlns="http://purl.org/rss/1.0/"
+                         xmlns:dc="http://purl.org/dc/elements/1.1/">
+                  <item rdf:about="https://exemple.com/cve">
+                    <title>Nouvelle CVE</title>
+                    <link>https://exemple.com/cve</link>
+                    <description>Détails</description>
+                    <dc:title>Titre Dublin Core</dc:title>
+                    <dc:date>2025-10-14T08:00:00Z</dc:date>
+                  </item>
+                </rdf:RDF>
+                """;
+
+        // When
+        List<FeedEntry> entries = readAll(xml);
+
+        // Then
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.title()).isEqualTo("Nouvelle CVE");
+            assertThat(entry.published()).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Read - Atom Feed -> Alternate Link And Summary")
+    void read_Atom_AlternateLinkAndSummary() throws Exception {
+        // Given
+        String xml = """
+                <feed xmlns="http://www.w3.org/2005/Atom" xmlns:media="http://search.yahoo.com/mrss/">
+                  <entry>
+                    <title>Rançongiciel</title>
+                    <link rel="self" href="https://exemple.com/self"/>
+                    <link rel="alternate" href="https://exemple.com/article"/>
+                    <summary>Résumé</summary>
+                    <media:group><media:description>Vidéo</media:description></media:group>
+                    <updated>2025-10-14T08:00:00Z</updated>
+                  </entry>
+                </feed>
+                """;
+
+        // When
+        List<FeedEntry> entries = readAll(xml);
+
+        // Then
+        assertThat(entries).singleElement().satisfies(entry -> {
+            assertThat(entry.link()).isEqualTo("https://exemple.com/article");
+            assertThat(entry.description()).isEqualTo("Résumé");
+        });
+    }
+
+    private static List<FeedEntry> readAll(String xml) throws Exception {
+        List<FeedEntry> entries = new ArrayList<>();
+        FeedStreamReader.read(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)), entries::add);
+        return entries;
+    }
+}
@@ -0,0 +1,132 @@
+package sn.ssi.veille.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MicroBatcherTest {
+
+    /** Lots reçus par l'appel groupé */
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+
+    private CompletableFuture<List<String>> upperCase(List<String> items) {
+        batches.add(items);
+        return CompletableFuture.completedFuture(items.stream().map(String::toUpperCase).toList());
+    }
+
+    @Test
+    @DisplayName("Submit - Batch Full -> Sent Immediately, Results Mapped Back")
+    void submit_BatchFull_SentImmediately() {
+        // Given : attente très longue, seule la taille déclenche l'envoi
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(3, 60_000, this::upperCase)) {
+
+            // When
+            CompletableFuture<String> a = batcher.submit("a");
+            CompletableFuture<String> b = batcher.submit("b");
+            CompletableFuture<String> c = batcher.submit("c");
+
+            // Then
+            assertThat(List.of(a.join(), b.join(), c.join())).containsExactly("A", "B", "C");
+            assertThat(batches).containsExactly(List.of("a", "b", "c"));
+        }
+    }
+
+    @Test
+    @DisplayName("Submit - Partial Batch -> Sent After Linger Delay")
+    void submit_PartialBatch_SentAfterLinger() {
+        // Given
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(100, 20, this::upperCase)) {
+
+            // When
+            CompletableFuture<String> a = batcher.submit("a");
+            CompletableFuture<String> b = batcher.submit("b");
+
+            // Then
+            assertThat(b.orTimeout(5, TimeUnit.SECONDS).join()).isEqualTo("B");
+            assertThat(a.join()).isEqualTo("A");
+            assertThat(batches).containsExactly(List.of("a", "b"));
+        }
+    }
+
+    @Test
+    @DisplayName("Submit - Concurrent Callers -> Few Batches, Each Caller Gets Its Own Result")
+    void submit_ConcurrentCallers_FewBatches() throws Exception {
+        // Given
+        int callers = 100;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(32, 50, this::upperCase)) {
+            List<CompletableFuture<CompletableFuture<String>>> submitted = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                String item = "item-" + i;
+                submitted.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return batcher.submit(item);
+                }, pool));
+            }
+
+            // When
+            start.countDown();
+
+            // Then
+            for (int i = 0; i < callers; i++) {
+                assertThat(submitted.get(i).join().orTimeout(5, TimeUnit.SECONDS).join()).isEqualTo("ITEM-" + i);
+            }
+            assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(callers);
+            assertThat(batches).hasSizeLessThanOrEqualTo(8).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(32));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Submit - Batch Call Fails -> Every Caller Fails")
+    void submit_BatchCallFails_EveryCallerFails() {
+        // Given
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(2, 60_000,
+                items -> CompletableFuture.failedFuture(new IllegalStateException("Fournisseur indisponible")))) {
+
+            // When
+            CompletableFuture<String> a = batcher.submit("a");
+            CompletableFuture<String> b = batcher.submit("b");
+
+            // Then
+            assertThatThrownBy(a::join).isInstanceOf(CompletionException.class)
+                    .hasRootCauseMessage("Fournisseur indisponible");
+            assertThatThrownBy(b::join).isInstanceOf(CompletionException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("Submit - Short Result List -> Missing Callers Fail")
+    void submit_ShortResult_MissingCallersFail() {
+        // Given
+        try (MicroBatcher<String, String> batcher = new MicroBatcher<>(2, 60_000,
+                items -> CompletableFuture.completedFuture(List.of("seul")))) {
+
+            // When
+            CompletableFuture<String> a = batcher.submit("a");
+            CompletableFuture<String> b = batcher.submit("b");
+
+            // Then
+            assertThat(a.join()).isEqualTo("seul");
+            assertThatThrownBy(b::join).hasCauseInstanceOf(IllegalStateException.class);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package sn.ssi.veille.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TextSanitizerTest {
+
+    /** Corpus de référence : cas limites des anciennes expressions régulières */
+    private static final List<String> GOLDEN_CORPUS = List.of(
+            "",
+            "   ",
+            "Titre simple",
+            "  Ligne indentée\n\tTabulée\n \t Mixte",
+            "Para 1\n\n\n\nPara 2",
+            "Para 1\n  \n \t\n\nPara 2",
+            "Para 1\r\n\r\n\r\nPara 2",
+            "A\u00A0\u00A0B\t\tC\u00A0\tD",
+            "  \n  \n  \n  texte  \n",
+            "Article utile. Read more: https://exemple.com\nSuite",
+            "READ MORE\nContinue Reading the story\nalso read this\nShare This Post now",
+            "Ligne\u2028  après séparateur\u0085  après NEL\r  après CR",
+            "Fin\n\n\n",
+            "<p>Contenu</p><script>alert(1)</script> après",
+            "<script src=x>\n</script> reste",
+            "<script>a</script><script>b</script>",
+            "<scriptx>y</script>z</script>",
+            "href=\"javascript:alert(1)\"",
+            "javajavascript:script:",
+            "java<script>x</script>script:void(0)",
+            "<script>sans fermeture");
+
+    private static final String[] FUZZ_TOKENS = { " ", "\t", "\u00A0", "\n", "\r", "\r\n", "\u000B", "\f",
+            "\u0085", "\u2028", "\u2029", "x", "A", "é", "a b", "read more", "READ More", "continue reading",
+            "also read", "share this post", "read", "more", "<script", ">", "</script>", "<script>",
+            "javascript:", "java", "script:", "<", "/" };
+
+    @Test
+    @DisplayName("Clean Text - Golden Corpus -> Identical To Regex Chain")
+    void cleanText_GoldenCorpus_IdenticalToRegexChain() {
+        for (String text : GOLDEN_CORPUS) {
+            assertThat(TextSanitizer.cleanText(text)).as("cleanText(%s)", text).isEqualTo(legacyCleanText(text));
+        }
+    }
+
+    @Test
+    @DisplayName("Strip Scripts - Golden Corpus -> Identical To Regex Chain")
+    void stripScripts_GoldenCorpus_IdenticalToRegexChain() {
+        for (String text : GOLDEN_CORPUS) {
+            assertThat(TextSanitizer.stripScripts(text)).as("stripScripts(%s)", text)
+                    .isEqualTo(legacySanitize(text));
+        }
+    }
+
+    @Test
+    @DisplayName("Clean Text And Strip Scripts - Random Inputs -> Identical To Regex Chains")
+    void randomInputs_IdenticalToRegexChains() {
+        // Given : graine fixe, entrées reproductibles
+        Random random = new Random(42);
+
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int tokens = random.nextInt(25);
+            for (int t = 0; t < tokens; t++) {
+                sb.append(FUZZ_TOKENS[random.nextInt(FUZZ_TOKENS.length)]);
+            }
+            String text = sb.toString();
+
+            // When / Then
+            assertThat(TextSanitizer.cleanText(text)).as("cleanText(%s)", text).isEqualTo(legacyCleanText(text));
+            assertThat(TextSanitizer.stripScripts(text)).as("stripScripts(%s)", text)
+                    .isEqualTo(legacySanitize(text));
+        }
+    }
+
+    @Test
+    @DisplayName("Null Input -> Empty String")
+    void nullInput_EmptyString() {
+        assertThat(TextSanitizer.cleanText(null)).isEmpty();
+        assertThat(TextSanitizer.stripScripts(null)).isEmpty();
+    }
+
+    // Anciennes implémentations (JsoupContentExtractionService.cleanText, ScrapingServiceImpl.sanitizeContent)
+
+    private static String legacyCleanText(String text) {
+        String cleaned = text.replaceAll("[\\t\\u00A0]+", " ");
+        cleaned = cleaned.replaceAll("\\n\\s*\\n\\s*\\n+", "\n\n");
+        cleaned = cleaned.replaceAll("(?m)^[ \\t]+$", "");
+        cleaned = cleaned.replaceAll("(?m)^[ \\t]+", "");
+        cleaned = cleaned.replaceAll("(?i)(read more|continue reading|also read|share this post).*", "");
+        return cleaned.trim();
+    }
+
+    private static String legacySanitize(String content) {
+        return content.replaceAll("<script.*?>.*?</script>", "").replaceAll("javascript:", "");
+    }
+}
@@ -27,7 +27,7 @@ import tools.jackson.databind.ObjectMapper;
 import sn.ssi.veille.models.entities.Gravite;
 import sn.ssi.veille.services.AIService;
 import sn.ssi.veille.services.ContentExtractionService;
-import sn.ssi.veille.services.ScrapingService;
+import sn.ssi.veille.services.ScrapeJobService;
 import sn.ssi.veille.services.implementation.ArticleServiceImpl;
 import sn.ssi.veille.web.controllers.implementation.ArticleControllerImpl;
 import sn.ssi.veille.web.dto.requests.ArticleRequest;
@@ -53,7 +53,7 @@ class ArticleControllerTest {
         private ContentExtractionService contentExtractionService;
 
         @MockitoBean
-        private ScrapingService scrapingService;
+        private ScrapeJobService scrapeJobService;
 
         @Autowired
         private ObjectMapper objectMapper;
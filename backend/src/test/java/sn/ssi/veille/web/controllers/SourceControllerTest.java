@@ -37,7 +37,7 @@ class SourceControllerTest {
     private sn.ssi.veille.models.repositories.CategorieRepository categorieRepository;
 
     @MockitoBean
-    private sn.ssi.veille.services.ScrapingService scrapingService;
+    private sn.ssi.veille.services.ScrapeJobService scrapeJobService;
 
     @Test
     @DisplayName("Get All Sources - Returns List")
@@ -47,7 +47,7 @@ class SourceControllerTest {
                 "src1", "http://nist.gov", "NIST", "National Vulnerability Database", "http://logo.url",
                 sn.ssi.veille.models.entities.MethodeCollecte.API, true, 60, null, null,
                 "en", 10, "Security", 10, true, sn.ssi.veille.models.entities.Source.SourceType.OFFICIAL,
-                100L, 10, null, null, 0, java.time.LocalDateTime.now());
+                100L, 10, null, null, 0, false, java.time.LocalDateTime.now());
         given(sourceService.getAllSources()).willReturn(List.of(src));
 
         // When/Then